@@ -664,6 +664,8 @@ INSERT INTO `plugin_handle` VALUES ('1529402613199978536', '2', 'model', 'model'
 INSERT INTO `plugin_handle` VALUES ('1529402613199978537', '6', 'register', 'register', 2, 3, 1, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978538', '4', 'algorithmName', 'algorithmName', 3, 2, 1, '{\"required\":\"1\",\"defaultValue\":\"slidingWindow\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978539', '4', 'keyResolverName', 'keyResolverName', 3, 2, 4, '{\"required\":\"1\",\"defaultValue\":\"WHOLE_KEY_RESOLVER\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172913', '4', 'leaseRatio', 'leaseRatio', 1, 2, 5, '{\"required\":\"0\",\"defaultValue\":\"0\",\"rule\":\"\"}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172914', '4', 'local', 'local', 3, 2, 6, '{\"required\":\"0\",\"defaultValue\":\"false\",\"rule\":\"\"}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978540', '5', 'upstreamHost', 'host', 2, 1, 0, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978541', '5', 'protocol', 'protocol', 2, 1, 2, '{\"required\":\"0\",\"defaultValue\":\"\",\"placeholder\":\"http://\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978542', '5', 'upstreamUrl', 'ip:port', 2, 1, 1, '{\"required\":\"1\",\"placeholder\":\"\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
@@ -678,6 +680,13 @@ INSERT INTO `plugin_handle` VALUES ('1529402613199978550', '5', 'multiSelectorHa
 INSERT INTO `plugin_handle` VALUES ('1529402613199978551', '5', 'multiRuleHandle', 'multiRuleHandle', 3, 3, 1, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978552', '5', 'headerMaxSize', 'headerMaxSize', 1, 2, 3, '{\"defaultValue\":\"10240\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978553', '5', 'requestMaxSize', 'requestMaxSize', 1, 2, 4, '{\"defaultValue\":\"102400\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172906', '5', 'maxConnections', 'maxConnections', 1, 2, 5, '{\"required\":\"0\",\"defaultValue\":\"0\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172907', '5', 'pendingAcquireMaxCount', 'pendingAcquireMaxCount', 1, 2, 6, '{\"required\":\"0\",\"defaultValue\":\"0\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172908', '5', 'maxIdleTime', 'maxIdleTime', 1, 2, 7, '{\"required\":\"0\",\"defaultValue\":\"0\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172909', '5', 'httpProtocol', 'httpProtocol', 3, 2, 8, '{\"required\":\"0\",\"defaultValue\":\"http1.1\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172910', '5', 'hedgePercentile', 'hedgePercentile', 1, 2, 9, '{\"required\":\"0\",\"defaultValue\":\"0\",\"rule\":\"\"}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172911', '5', 'hedgeBudget', 'hedgeBudget', 1, 2, 10, '{\"required\":\"0\",\"defaultValue\":\"10\",\"rule\":\"\"}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `plugin_handle` VALUES ('1529402613204172912', '5', 'idempotent', 'idempotent', 3, 2, 11, '{\"required\":\"0\",\"defaultValue\":\"false\",\"rule\":\"\"}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978554', '5', 'retryStrategy', 'retryStrategy', 3, 2, 0, '{\"required\":\"0\",\"defaultValue\":\"current\",\"placeholder\":\"retryStrategy\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978555', '13', 'upstreamHost', 'host', 2, 1, 0, NULL, '2022-05-25 18:02:53', '2022-05-25 18:02:53');
 INSERT INTO `plugin_handle` VALUES ('1529402613199978556', '13', 'protocol', 'protocol', 2, 1, 2, '{\"defaultValue\":\"\",\"rule\":\"\"}', '2022-05-25 18:02:53', '2022-05-25 18:02:53');
@@ -1328,9 +1337,20 @@ INSERT INTO `shenyu_dict` VALUES ('1529402613191589899', 'algorithmName', 'ALGOR
 INSERT INTO `shenyu_dict` VALUES ('1529402613191589900', 'algorithmName', 'ALGORITHM_LEAKYBUCKET', 'leakyBucket', 'leakyBucket', 'Leaky bucket algorithm', 1, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613191589901', 'algorithmName', 'ALGORITHM_CONCURRENT', 'concurrent', 'concurrent', 'Concurrent algorithm', 2, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784192', 'algorithmName', 'ALGORITHM_TOKENBUCKET', 'tokenBucket', 'tokenBucket', 'Token bucket algorithm', 3, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784259', 'algorithmName', 'ALGORITHM_ADAPTIVE', 'adaptive', 'adaptive', 'Adaptive concurrency algorithm', 4, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784193', 'loadBalance', 'LOAD_BALANCE', 'roundRobin', 'roundRobin', 'roundRobin', 2, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784194', 'loadBalance', 'LOAD_BALANCE', 'random', 'random', 'random', 1, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784195', 'loadBalance', 'LOAD_BALANCE', 'hash', 'hash', 'hash', 0, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784249', 'loadBalance', 'LOAD_BALANCE', 'leastActive', 'leastActive', 'leastActive', 3, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784250', 'loadBalance', 'LOAD_BALANCE', 'peakEwma', 'peakEwma', 'peakEwma', 4, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784251', 'loadBalance', 'LOAD_BALANCE', 'p2c', 'p2c', 'p2c', 5, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784252', 'httpProtocol', 'HTTP_PROTOCOL', 'http1.1', 'http1.1', 'http1.1', 0, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784253', 'httpProtocol', 'HTTP_PROTOCOL', 'h2', 'h2', 'h2', 1, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784254', 'httpProtocol', 'HTTP_PROTOCOL', 'h2c', 'h2c', 'h2c', 2, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784255', 'idempotent', 'IDEMPOTENT', 'close', 'false', 'close', 1, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784256', 'idempotent', 'IDEMPOTENT', 'open', 'true', 'open', 0, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784257', 'local', 'LOCAL', 'close', 'false', 'close', 1, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO `shenyu_dict` VALUES ('1529402613195784258', 'local', 'LOCAL', 'open', 'true', 'open', 0, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784196', 'status', 'DIVIDE_STATUS', 'close', 'false', 'close', 1, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784197', 'status', 'DIVIDE_STATUS', 'open', 'true', 'open', 0, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
 INSERT INTO `shenyu_dict` VALUES ('1529402613195784198', 'multiRuleHandle', 'MULTI_RULE_HANDLE', 'multiple rule', '1', 'multiple rule', 1, 1, '2022-05-25 18:02:52', '2022-05-25 18:02:52');
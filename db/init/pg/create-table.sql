@@ -749,6 +749,8 @@ INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136291', '2', 'model'
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136292', '6', 'register', 'register', 2, 3, 1, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136293', '4', 'algorithmName', 'algorithmName', 3, 2, 1, '{"required":"1","defaultValue":"slidingWindow","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136294', '4', 'keyResolverName', 'keyResolverName', 3, 2, 4, '{"required":"1","defaultValue":"WHOLE_KEY_RESOLVER","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524979', '4', 'leaseRatio', 'leaseRatio', 1, 2, 5, '{"required":"0","defaultValue":"0","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524980', '4', 'local', 'local', 3, 2, 6, '{"required":"0","defaultValue":"false","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136295', '5', 'upstreamHost', 'host', 2, 1, 0, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136296', '5', 'protocol', 'protocol', 2, 1, 2, '{"required":"0","defaultValue":"","placeholder":"http://","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902775136297', '5', 'upstreamUrl', 'ip:port', 2, 1, 1, '{"required":"1","placeholder":"","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
@@ -763,6 +765,13 @@ INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330563', '5', 'multiS
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330564', '5', 'multiRuleHandle', 'multiRuleHandle', 3, 3, 1, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330565', '5', 'headerMaxSize', 'headerMaxSize', 1, 2, 3, '{"defaultValue":"10240","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330566', '5', 'requestMaxSize', 'requestMaxSize', 1, 2, 4, '{"defaultValue":"102400","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524972', '5', 'maxConnections', 'maxConnections', 1, 2, 5, '{"required":"0","defaultValue":"0","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524973', '5', 'pendingAcquireMaxCount', 'pendingAcquireMaxCount', 1, 2, 6, '{"required":"0","defaultValue":"0","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524974', '5', 'maxIdleTime', 'maxIdleTime', 1, 2, 7, '{"required":"0","defaultValue":"0","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524975', '5', 'httpProtocol', 'httpProtocol', 3, 2, 8, '{"required":"0","defaultValue":"http1.1","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524976', '5', 'hedgePercentile', 'hedgePercentile', 1, 2, 9, '{"required":"0","defaultValue":"0","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524977', '5', 'hedgeBudget', 'hedgeBudget', 1, 2, 10, '{"required":"0","defaultValue":"10","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524978', '5', 'idempotent', 'idempotent', 3, 2, 11, '{"required":"0","defaultValue":"false","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330567', '5', 'retryStrategy', 'retryStrategy', 3, 2, 0, '{"required":"0","defaultValue":"current","placeholder":"retryStrategy","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330568', '13', 'upstreamHost', 'host', 2, 1, 0, NULL, '2022-05-25 18:08:01', '2022-05-25 18:08:01');
 INSERT INTO "public"."plugin_handle" VALUES ('1529403902779330569', '13', 'protocol', 'protocol', 2, 1, 2, '{"defaultValue":"","rule":""}', '2022-05-25 18:08:01', '2022-05-25 18:08:01');
@@ -1486,9 +1495,20 @@ INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107787', 'algorithmName
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107788', 'algorithmName', 'ALGORITHM_LEAKYBUCKET', 'leakyBucket', 'leakyBucket', 'Leaky bucket algorithm', 1, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107789', 'algorithmName', 'ALGORITHM_CONCURRENT', 'concurrent', 'concurrent', 'Concurrent algorithm', 2, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107790', 'algorithmName', 'ALGORITHM_TOKENBUCKET', 'tokenBucket', 'tokenBucket', 'Token bucket algorithm', 3, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302111', 'algorithmName', 'ALGORITHM_ADAPTIVE', 'adaptive', 'adaptive', 'Adaptive concurrency algorithm', 4, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107791', 'loadBalance', 'LOAD_BALANCE', 'roundRobin', 'roundRobin', 'roundRobin', 2, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107792', 'loadBalance', 'LOAD_BALANCE', 'random', 'random', 'random', 1, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107793', 'loadBalance', 'LOAD_BALANCE', 'hash', 'hash', 'hash', 0, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302101', 'loadBalance', 'LOAD_BALANCE', 'leastActive', 'leastActive', 'leastActive', 3, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302102', 'loadBalance', 'LOAD_BALANCE', 'peakEwma', 'peakEwma', 'peakEwma', 4, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302103', 'loadBalance', 'LOAD_BALANCE', 'p2c', 'p2c', 'p2c', 5, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302104', 'httpProtocol', 'HTTP_PROTOCOL', 'http1.1', 'http1.1', 'http1.1', 0, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302105', 'httpProtocol', 'HTTP_PROTOCOL', 'h2', 'h2', 'h2', 1, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302106', 'httpProtocol', 'HTTP_PROTOCOL', 'h2c', 'h2c', 'h2c', 2, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302107', 'idempotent', 'IDEMPOTENT', 'close', 'false', 'close', 1, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302108', 'idempotent', 'IDEMPOTENT', 'open', 'true', 'open', 0, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302109', 'local', 'LOCAL', 'close', 'false', 'close', 1, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."shenyu_dict" VALUES ('1529403902800302110', 'local', 'LOCAL', 'open', 'true', 'open', 0, 1, '2022-07-20 10:00:00', '2022-07-20 10:00:00');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107794', 'status', 'DIVIDE_STATUS', 'close', 'false', 'close', 1, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107795', 'status', 'DIVIDE_STATUS', 'open', 'true', 'open', 0, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
 INSERT INTO "public"."shenyu_dict" VALUES ('1529403902796107796', 'multiRuleHandle', 'MULTI_RULE_HANDLE', 'multiple rule', '1', 'multiple rule', 1, 1, '2022-05-25 18:08:02', '2022-05-25 18:08:02');
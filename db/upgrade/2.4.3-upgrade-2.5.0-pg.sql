@@ -135,6 +135,38 @@ INSERT INTO "public"."plugin_handle" VALUES ('1529402613204172884', '1', 'signRe
 INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529402613195784247', 'signRequestBody', 'SIGN_REQUEST_BODY', 'close', 'false', 'close', 1, 1);
 INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529402613195784248', 'signRequestBody', 'SIGN_REQUEST_BODY', 'open', 'true', 'open', 0, 1);
 
+-- insert shenyu_dict data for load balance
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302101', 'loadBalance', 'LOAD_BALANCE', 'leastActive', 'leastActive', 'leastActive', 3, 1);
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302102', 'loadBalance', 'LOAD_BALANCE', 'peakEwma', 'peakEwma', 'peakEwma', 4, 1);
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302103', 'loadBalance', 'LOAD_BALANCE', 'p2c', 'p2c', 'p2c', 5, 1);
+
+-- insert plugin_handle data for the connection pool of the divide rule
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524972', '5', 'maxConnections', 'maxConnections', 1, 2, 5, '{"required":"0","defaultValue":"0","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524973', '5', 'pendingAcquireMaxCount', 'pendingAcquireMaxCount', 1, 2, 6, '{"required":"0","defaultValue":"0","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524974', '5', 'maxIdleTime', 'maxIdleTime', 1, 2, 7, '{"required":"0","defaultValue":"0","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524975', '5', 'httpProtocol', 'httpProtocol', 3, 2, 8, '{"required":"0","defaultValue":"http1.1","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524976', '5', 'hedgePercentile', 'hedgePercentile', 1, 2, 9, '{"required":"0","defaultValue":"0","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524977', '5', 'hedgeBudget', 'hedgeBudget', 1, 2, 10, '{"required":"0","defaultValue":"10","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524978', '5', 'idempotent', 'idempotent', 3, 2, 11, '{"required":"0","defaultValue":"false","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+
+-- insert plugin_handle data for the rateLimiter rule
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524979', '4', 'leaseRatio', 'leaseRatio', 1, 2, 5, '{"required":"0","defaultValue":"0","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+INSERT INTO "public"."plugin_handle" VALUES ('1529403902783524980', '4', 'local', 'local', 3, 2, 6, '{"required":"0","defaultValue":"false","rule":""}', '2022-07-20 10:00:00', '2022-07-20 10:00:00');
+
+-- insert shenyu_dict data for the http protocol of the divide rule
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302104', 'httpProtocol', 'HTTP_PROTOCOL', 'http1.1', 'http1.1', 'http1.1', 0, 1);
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302105', 'httpProtocol', 'HTTP_PROTOCOL', 'h2', 'h2', 'h2', 1, 1);
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302106', 'httpProtocol', 'HTTP_PROTOCOL', 'h2c', 'h2c', 'h2c', 2, 1);
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302107', 'idempotent', 'IDEMPOTENT', 'close', 'false', 'close', 1, 1);
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302108', 'idempotent', 'IDEMPOTENT', 'open', 'true', 'open', 0, 1);
+
+-- insert shenyu_dict data for the local rate limiting of the rateLimiter rule
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302109', 'local', 'LOCAL', 'close', 'false', 'close', 1, 1);
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302110', 'local', 'LOCAL', 'open', 'true', 'open', 0, 1);
+
+-- insert shenyu_dict data for the adaptive algorithm of the rateLimiter rule
+INSERT INTO shenyu_dict ("id", "type", "dict_code", "dict_name", "dict_value", "desc", "sort", "enabled") VALUES ('1529403902800302111', 'algorithmName', 'ALGORITHM_ADAPTIVE', 'adaptive', 'adaptive', 'Adaptive concurrency algorithm', 4, 1);
+
 -- use shared thread pool as default
 UPDATE plugin SET config='{"multiSelectorHandle":"1","multiRuleHandle":"0","threadpool":"shared"}' WHERE "name" = 'grpc';
 UPDATE plugin SET config='{"multiSelectorHandle":"1","multiRuleHandle":"0","threadpool":"shared"}' WHERE "name" = 'tars';
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The entry of the benchmark jar.
+ * It accepts the same arguments as the jmh command line, and writes the results
+ * as json into {@code jmh-result.json} unless another result format is given.
+ *
+ * <p>e.g. {@code java -jar shenyu-benchmark/target/benchmarks.jar PluginMatchBenchmark -rff shenyu-2.5.0.json}
+ */
+public final class BenchmarkRunner {
+
+    private static final String SHUTDOWN_TIMEOUT = "-Djmh.shutdownTimeout=0";
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args the jmh command line arguments
+     * @throws CommandLineOptionException if the arguments are illegal
+     * @throws RunnerException if the benchmarks fail to run
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        // the background threads of the gateway, e.g. the memory limit calculator, are not daemons,
+        // the forked vm exits once the benchmark is over instead of waiting for them
+        List<String> jvmArgsAppend = new ArrayList<>();
+        if (commandLineOptions.getJvmArgsAppend().hasValue()) {
+            jvmArgsAppend.addAll(commandLineOptions.getJvmArgsAppend().get());
+        }
+        jvmArgsAppend.add(SHUTDOWN_TIMEOUT);
+        builder.jvmArgsAppend(jvmArgsAppend.toArray(new String[0]));
+        new Runner(builder.build()).run();
+    }
+}
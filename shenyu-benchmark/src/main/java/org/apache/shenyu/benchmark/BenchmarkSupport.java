@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark;
+
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.plugin.api.RemoteAddressResolver;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * The shared fixtures of the benchmarks.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Register the beans looked up by the plugins through {@link SpringBeanUtils}.
+     *
+     * @param shenyuConfig the shenyu config
+     */
+    public static void initApplicationContext(final ShenyuConfig shenyuConfig) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(ShenyuConfig.class, () -> shenyuConfig);
+        context.registerBean(RemoteAddressResolver.class, () -> new RemoteAddressResolver() {
+        });
+        context.refresh();
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+    }
+}
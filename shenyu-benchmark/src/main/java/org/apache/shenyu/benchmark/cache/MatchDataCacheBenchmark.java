@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.cache;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the selector and rule lookups of {@link MatchDataCache}.
+ * the paths are spread over {@code pathCount} keys, so a small count is all hits
+ * and a count above the cache capacity keeps evicting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchDataCacheBenchmark {
+
+    private static final String PLUGIN_NAME = "benchmarkCache";
+
+    private static final String SELECTOR_ID = "benchmarkCache";
+
+    private static final int MAX_MEMORY = 256 * 1024 * 1024;
+
+    @Param({"1024", "262144"})
+    private int pathCount;
+
+    private String[] paths;
+
+    private SelectorData selectorData;
+
+    private RuleData ruleData;
+
+    private int index;
+
+    /**
+     * Build the paths and fill the cache.
+     */
+    @Setup
+    public void setup() {
+        paths = new String[pathCount];
+        for (int i = 0; i < pathCount; i++) {
+            paths[i] = "/service/api/" + i;
+        }
+        selectorData = SelectorData.builder().id(SELECTOR_ID).pluginName(PLUGIN_NAME).build();
+        ruleData = RuleData.builder().id(SELECTOR_ID).selectorId(SELECTOR_ID).build();
+        for (String path : paths) {
+            MatchDataCache.getInstance().cacheSelectorData(path, selectorData, MAX_MEMORY);
+            MatchDataCache.getInstance().cacheRuleData(SELECTOR_ID, path, ruleData, MAX_MEMORY);
+        }
+    }
+
+    /**
+     * Clean the cache.
+     */
+    @TearDown
+    public void tearDown() {
+        MatchDataCache.getInstance().cleanSelectorData();
+        MatchDataCache.getInstance().cleanRuleData();
+    }
+
+    /**
+     * Look up the selector of a path, and cache it on a miss.
+     *
+     * @return the selector data
+     */
+    @Benchmark
+    public SelectorData obtainSelectorData() {
+        return lookupSelectorData(paths[index++ & (pathCount - 1)]);
+    }
+
+    /**
+     * Look up the selector of a path from four threads.
+     *
+     * @return the selector data
+     */
+    @Benchmark
+    @Threads(4)
+    public SelectorData obtainSelectorDataConcurrently() {
+        return lookupSelectorData(paths[(int) (System.nanoTime() & (pathCount - 1))]);
+    }
+
+    /**
+     * Look up the rule of a path, and cache it on a miss.
+     *
+     * @return the rule data
+     */
+    @Benchmark
+    public RuleData obtainRuleData() {
+        String path = paths[index++ & (pathCount - 1)];
+        RuleData cached = MatchDataCache.getInstance().obtainRuleData(SELECTOR_ID, path);
+        if (cached == null) {
+            MatchDataCache.getInstance().cacheRuleData(SELECTOR_ID, path, ruleData, MAX_MEMORY);
+            return ruleData;
+        }
+        return cached;
+    }
+
+    private SelectorData lookupSelectorData(final String path) {
+        SelectorData cached = MatchDataCache.getInstance().obtainSelectorData(PLUGIN_NAME, path);
+        if (cached == null) {
+            MatchDataCache.getInstance().cacheSelectorData(path, selectorData, MAX_MEMORY);
+            return selectorData;
+        }
+        return cached;
+    }
+}
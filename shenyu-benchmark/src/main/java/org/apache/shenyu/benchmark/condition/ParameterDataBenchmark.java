@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.condition;
+
+import org.apache.shenyu.benchmark.BenchmarkSupport;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link org.apache.shenyu.plugin.base.condition.data.ParameterData} implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParameterDataBenchmark {
+
+    @Param({"uri", "header", "query", "host", "ip", "req_method", "cookie", "domain", "post"})
+    private String paramType;
+
+    private String paramName;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the exchange carrying every kind of parameter.
+     */
+    @Setup
+    public void setup() {
+        BenchmarkSupport.initApplicationContext(new ShenyuConfig());
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:9195/order/api/findById")
+                .queryParam("id", "10086")
+                .header("X-Request-Id", "benchmark")
+                .cookie(new HttpCookie("session", "benchmark"))
+                .remoteAddress(new InetSocketAddress("192.168.1.1", 10086))
+                .build());
+        ShenyuContext shenyuContext = new ShenyuContext();
+        shenyuContext.setModule("order");
+        exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
+        paramName = paramName(paramType);
+    }
+
+    /**
+     * Resolve the parameter through {@link ParameterDataFactory}.
+     *
+     * @return the parameter value
+     */
+    @Benchmark
+    public String builderData() {
+        return ParameterDataFactory.builderData(paramType, paramName, exchange);
+    }
+
+    private static String paramName(final String paramType) {
+        switch (paramType) {
+            case "header":
+                return "X-Request-Id";
+            case "query":
+                return "id";
+            case "cookie":
+                return "session";
+            case "post":
+                return "module";
+            default:
+                return "/";
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.condition;
+
+import org.apache.shenyu.benchmark.BenchmarkSupport;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.apache.shenyu.plugin.base.condition.matcher.CompiledCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link org.apache.shenyu.plugin.base.condition.judge.PredicateJudge} implementations,
+ * looked up by the factory for every call and precompiled by {@link CompiledCondition}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredicateJudgeBenchmark {
+
+    private static final String PATH = "/order/api/findById/10086";
+
+    @Param({"=", "match", "regex", "contains", "startsWith", "endsWith", "exclude"})
+    private String operator;
+
+    private ConditionData conditionData;
+
+    private CompiledCondition compiledCondition;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the condition of the operator.
+     */
+    @Setup
+    public void setup() {
+        BenchmarkSupport.initApplicationContext(new ShenyuConfig());
+        conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setOperator(operator);
+        conditionData.setParamName("/");
+        conditionData.setParamValue(paramValue(operator));
+        compiledCondition = CompiledCondition.compile(conditionData);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH).build());
+    }
+
+    /**
+     * Judge through {@link PredicateJudgeFactory}.
+     *
+     * @return the judge result
+     */
+    @Benchmark
+    public Boolean factoryJudge() {
+        return PredicateJudgeFactory.judge(conditionData, PATH);
+    }
+
+    /**
+     * Test the compiled condition, including the parameter resolving.
+     *
+     * @return the test result
+     */
+    @Benchmark
+    public boolean compiledTest() {
+        return compiledCondition.test(exchange);
+    }
+
+    private static String paramValue(final String operator) {
+        switch (operator) {
+            case "match":
+                return "/order/api/**";
+            case "regex":
+                return "^/order/api/\\w+/\\d+$";
+            case "contains":
+                return "findById";
+            case "startsWith":
+                return "/order";
+            case "endsWith":
+                return "10086";
+            case "exclude":
+                return "/user/**";
+            default:
+                return PATH;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.disruptor;
+
+import org.apache.shenyu.disruptor.DisruptorProviderManage;
+import org.apache.shenyu.disruptor.consumer.QueueConsumerExecutor;
+import org.apache.shenyu.disruptor.consumer.QueueConsumerFactory;
+import org.apache.shenyu.disruptor.provider.DisruptorProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark of the publish path of {@link DisruptorProviderManage}, with consumers doing nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DisruptorPublishBenchmark {
+
+    @Param({"false", "true"})
+    private boolean orderly;
+
+    private final LongAdder consumed = new LongAdder();
+
+    private DisruptorProvider<String> provider;
+
+    /**
+     * Start the disruptor.
+     */
+    @Setup
+    public void setup() {
+        DisruptorProviderManage<String> manage = new DisruptorProviderManage<>(new NoopConsumerFactory(consumed));
+        manage.startup(orderly);
+        provider = manage.getProvider();
+    }
+
+    /**
+     * Shutdown the disruptor.
+     */
+    @TearDown
+    public void tearDown() {
+        provider.shutdown();
+    }
+
+    /**
+     * Publish one event.
+     *
+     * @return the consumed count
+     */
+    @Benchmark
+    public LongAdder publish() {
+        if (orderly) {
+            provider.onOrderlyData("benchmark", "benchmark");
+        } else {
+            provider.onData("benchmark");
+        }
+        return consumed;
+    }
+
+    /**
+     * Publish one event from four threads.
+     *
+     * @return the consumed count
+     */
+    @Benchmark
+    @Threads(4)
+    public LongAdder publishConcurrently() {
+        return publish();
+    }
+
+    private static final class NoopConsumerFactory implements QueueConsumerFactory<String> {
+
+        private final LongAdder consumed;
+
+        NoopConsumerFactory(final LongAdder consumed) {
+            this.consumed = consumed;
+        }
+
+        @Override
+        public QueueConsumerExecutor<String> create() {
+            return new QueueConsumerExecutor<String>() {
+                @Override
+                public void run() {
+                    consumed.increment();
+                }
+            };
+        }
+
+        @Override
+        public String fixName() {
+            return "benchmark";
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.loadbalancer;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
+import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link org.apache.shenyu.loadbalancer.spi.LoadBalancer} implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBalancerBenchmark {
+
+    private static final int IP_SIZE = 256;
+
+    @Param({"random", "roundRobin", "hash", "leastActive", "peakEwma", "p2c"})
+    private String algorithm;
+
+    @Param({"3", "50"})
+    private int upstreamCount;
+
+    @Param({"true", "false"})
+    private boolean sameWeight;
+
+    private List<Upstream> upstreamList;
+
+    private String[] ips;
+
+    private int index;
+
+    /**
+     * Build the upstream list.
+     */
+    @Setup
+    public void setup() {
+        final List<Upstream> upstreams = new ArrayList<>(upstreamCount);
+        for (int i = 0; i < upstreamCount; i++) {
+            upstreams.add(Upstream.builder()
+                    .url("192.168.0." + i + ":8080")
+                    .weight(sameWeight ? 50 : 10 + i * 10)
+                    .status(true)
+                    .timestamp(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1))
+                    .warmup(0)
+                    .build());
+        }
+        // the same snapshot type UpstreamCacheManager hands out.
+        upstreamList = new UpstreamSnapshot(upstreams);
+        ips = new String[IP_SIZE];
+        for (int i = 0; i < IP_SIZE; i++) {
+            ips[i] = "10.0." + (i >> 4) + "." + (i & 15);
+        }
+    }
+
+    /**
+     * Select one upstream.
+     *
+     * @return the selected upstream
+     */
+    @Benchmark
+    public Upstream select() {
+        return LoadBalancerFactory.selector(upstreamList, algorithm, ips[index++ & (IP_SIZE - 1)]);
+    }
+
+    /**
+     * Select one upstream from four threads.
+     *
+     * @return the selected upstream
+     */
+    @Benchmark
+    @Threads(4)
+    public Upstream selectConcurrently() {
+        return LoadBalancerFactory.selector(upstreamList, algorithm, ips[(int) (Thread.currentThread().getId() & (IP_SIZE - 1))]);
+    }
+}
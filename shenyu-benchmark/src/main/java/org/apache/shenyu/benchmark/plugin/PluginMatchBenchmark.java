@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.plugin;
+
+import org.apache.shenyu.benchmark.BenchmarkSupport;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.CommonPluginDataSubscriber;
+import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the selector and rule matching of {@link org.apache.shenyu.plugin.base.AbstractShenyuPlugin}.
+ * every selector matches {@code /service-i/**} and has two rules, the request paths are spread over all selectors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluginMatchBenchmark {
+
+    private static final String PLUGIN_NAME = "benchmarkMatch";
+
+    private static final int EXCHANGE_SIZE = 1024;
+
+    @Param({"10", "1000", "10000"})
+    private int selectorCount;
+
+    @Param({"false", "true"})
+    private boolean matchCache;
+
+    private final ShenyuPluginChain chain = exchange -> Mono.empty();
+
+    private CommonPluginDataSubscriber subscriber;
+
+    private MatchPlugin plugin;
+
+    private ServerWebExchange[] exchanges;
+
+    private int index;
+
+    /**
+     * Load the selectors and rules.
+     */
+    @Setup
+    public void setup() {
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getMatchCache().setEnabled(matchCache);
+        BenchmarkSupport.initApplicationContext(shenyuConfig);
+        subscriber = new CommonPluginDataSubscriber(Collections.emptyList(), event -> {
+        });
+        subscriber.onSubscribe(PluginData.builder().name(PLUGIN_NAME).enabled(true).build());
+        for (int i = 0; i < selectorCount; i++) {
+            subscriber.onSelectorSubscribe(selector(i));
+            subscriber.onRuleSubscribe(rule(i, "/service-" + i + "/order/**", 1));
+            subscriber.onRuleSubscribe(rule(i, "/service-" + i + "/**", 2));
+        }
+        Random random = new Random(selectorCount);
+        exchanges = new ServerWebExchange[EXCHANGE_SIZE];
+        for (int i = 0; i < EXCHANGE_SIZE; i++) {
+            String path = "/service-" + random.nextInt(selectorCount) + (i % 2 == 0 ? "/order/" : "/user/") + i;
+            exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        }
+        plugin = new MatchPlugin(PLUGIN_NAME);
+    }
+
+    /**
+     * Clean the selectors and rules.
+     */
+    @TearDown
+    public void tearDown() {
+        subscriber.refreshRuleDataAll();
+        subscriber.refreshSelectorDataAll();
+        subscriber.refreshPluginDataAll();
+        MatchDataCache.getInstance().cleanSelectorData();
+        BaseDataCache.getInstance().cleanPluginData();
+    }
+
+    /**
+     * Match the selector and the rule of one request.
+     *
+     * @return the matched rule
+     */
+    @Benchmark
+    public Object match() {
+        ServerWebExchange exchange = exchanges[index++ & (EXCHANGE_SIZE - 1)];
+        plugin.execute(exchange, chain);
+        return plugin.getMatched();
+    }
+
+    private static SelectorData selector(final int i) {
+        return SelectorData.builder()
+                .id(String.valueOf(i))
+                .pluginName(PLUGIN_NAME)
+                .name("selector-" + i)
+                .matchMode(MatchModeEnum.AND.getCode())
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                .sort(i)
+                .enabled(true)
+                .logged(false)
+                .continued(true)
+                .conditionList(Collections.singletonList(condition("/service-" + i + "/**")))
+                .build();
+    }
+
+    private static RuleData rule(final int i, final String path, final int sort) {
+        return RuleData.builder()
+                .id(i + "-" + sort)
+                .name("rule-" + i + "-" + sort)
+                .pluginName(PLUGIN_NAME)
+                .selectorId(String.valueOf(i))
+                .matchMode(MatchModeEnum.AND.getCode())
+                .sort(sort)
+                .enabled(true)
+                .loged(false)
+                .conditionDataList(Collections.singletonList(condition(path)))
+                .build();
+    }
+
+    private static ConditionData condition(final String path) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setOperator(OperatorEnum.MATCH.getAlias());
+        conditionData.setParamName("/");
+        conditionData.setParamValue(path);
+        return conditionData;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.timer;
+
+import org.apache.shenyu.common.timer.HierarchicalWheelTimer;
+import org.apache.shenyu.common.timer.TaskEntity;
+import org.apache.shenyu.common.timer.TimerTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of adding and cancelling the tasks of {@link HierarchicalWheelTimer},
+ * the way the retry and the health check tasks use it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HierarchicalWheelTimerBenchmark {
+
+    @Param({"100", "60000"})
+    private long delayMs;
+
+    private HierarchicalWheelTimer timer;
+
+    /**
+     * Start the timer.
+     */
+    @Setup
+    public void setup() {
+        timer = new HierarchicalWheelTimer("benchmark-timer");
+    }
+
+    /**
+     * Shutdown the timer.
+     */
+    @TearDown
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    /**
+     * Add a task and cancel it.
+     *
+     * @return the task
+     */
+    @Benchmark
+    public TimerTask addAndCancel() {
+        TimerTask task = new NoopTimerTask(delayMs);
+        timer.add(task);
+        task.cancel();
+        return task;
+    }
+
+    /**
+     * Add a task and cancel it from four threads.
+     *
+     * @return the task
+     */
+    @Benchmark
+    @Threads(4)
+    public TimerTask addAndCancelConcurrently() {
+        return addAndCancel();
+    }
+
+    private static final class NoopTimerTask extends TimerTask {
+
+        NoopTimerTask(final long delayMs) {
+            super(delayMs);
+        }
+
+        @Override
+        public void run(final TaskEntity taskEntity) {
+        }
+    }
+}
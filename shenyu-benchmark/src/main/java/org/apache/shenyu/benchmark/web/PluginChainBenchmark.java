@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.benchmark.web;
+
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.web.handler.ShenyuWebHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the overhead of the plugin chain of {@link ShenyuWebHandler}.
+ * the first plugin builds the context like the global plugin, half of the others are bound
+ * to the rpc types like the proxy plugins, and the rest only pass the request on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluginChainBenchmark {
+
+    private static final int PLUGIN_COUNT = 40;
+
+    @Param({"http", "dubbo"})
+    private String rpcType;
+
+    private ShenyuWebHandler handler;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the plugins.
+     */
+    @Setup
+    public void setup() {
+        RpcTypeEnum[] rpcTypes = RpcTypeEnum.values();
+        List<ShenyuPlugin> plugins = new ArrayList<>(PLUGIN_COUNT);
+        plugins.add(new ContextPlugin(rpcType));
+        for (int i = 1; i < PLUGIN_COUNT; i++) {
+            plugins.add(new PassPlugin(i, i % 2 == 0 ? rpcTypes[i % rpcTypes.length] : null));
+        }
+        handler = new ShenyuWebHandler(plugins, new ShenyuConfig());
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/order/findById").build());
+    }
+
+    /**
+     * Handle one request through the chain.
+     *
+     * @return the exchange
+     */
+    @Benchmark
+    public ServerWebExchange handle() {
+        handler.handle(exchange).block();
+        return exchange;
+    }
+
+    private static final class ContextPlugin implements ShenyuPlugin {
+
+        private final String rpcType;
+
+        ContextPlugin(final String rpcType) {
+            this.rpcType = rpcType;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            ShenyuContext shenyuContext = new ShenyuContext();
+            shenyuContext.setRpcType(rpcType);
+            exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return "context";
+        }
+    }
+
+    private static final class PassPlugin implements ShenyuPlugin {
+
+        private final int order;
+
+        private final RpcTypeEnum rpcType;
+
+        PassPlugin(final int order, final RpcTypeEnum rpcType) {
+            this.order = order;
+            this.rpcType = rpcType;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public String named() {
+            return "pass-" + order;
+        }
+
+        @Override
+        public boolean skipRpcType(final RpcTypeEnum rpcType) {
+            return this.rpcType != null && this.rpcType != rpcType;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.cache;
+
+import org.apache.shenyu.common.concurrent.MemoryLimitCalculator;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A concurrent cache bounded by entry count, estimated weight and free memory.
+ * Reads are lock-free on a {@link ConcurrentHashMap}; writes lock one of the stripes, each of which
+ * evicts with the CLOCK (second chance) algorithm, an approximation of LRU that does not reorder on read.
+ * Like {@link MemorySafeLRUMap}, an entry is evicted before a new one is added when the free memory
+ * is less than {@code maxFreeMemory}.
+ */
+public class MemorySafeClockCache<K, V> {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+
+    private final Stripe<K, V>[] stripes;
+
+    private final int stripeMask;
+
+    private final int maxFreeMemory;
+
+    private final ToLongBiFunction<K, V> weigher;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public MemorySafeClockCache(final int maxFreeMemory, final int maximumSize) {
+        this(maxFreeMemory, maximumSize, Long.MAX_VALUE, MemorySafeClockCache::estimateWeight);
+    }
+
+    @SuppressWarnings("unchecked")
+    public MemorySafeClockCache(final int maxFreeMemory, final int maximumSize, final long maximumWeight, final ToLongBiFunction<K, V> weigher) {
+        if (maximumSize <= 0 || maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumSize and maximumWeight must be positive");
+        }
+        this.maxFreeMemory = maxFreeMemory;
+        this.weigher = Objects.requireNonNull(weigher);
+        int stripeCount = Math.min(Integer.highestOneBit(Math.min(maximumSize, MAX_STRIPES)),
+                Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2)));
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        int stripeSize = (maximumSize + stripeCount - 1) / stripeCount;
+        long stripeWeight = maximumWeight == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(1, maximumWeight / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(stripeSize, stripeWeight);
+        }
+        this.map = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+    }
+
+    /**
+     * Get the value of the key, lock-free.
+     *
+     * @param key the key
+     * @return the value, null if absent
+     */
+    public V get(final K key) {
+        Node<K, V> node = map.get(key);
+        if (Objects.isNull(node)) {
+            missCount.increment();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hitCount.increment();
+        return node.value;
+    }
+
+    /**
+     * Put the value of the key, evicting entries of the same stripe when a bound is exceeded.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(final K key, final V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Node<K, V> node = new Node<>(key, value, weigher.applyAsLong(key, value));
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            Node<K, V> old = map.get(key);
+            if (Objects.nonNull(old)) {
+                stripe.replace(old, node);
+                map.put(key, node);
+            } else {
+                if (stripe.count > 0 && isMemoryFull()) {
+                    evict(stripe, null);
+                }
+                stripe.add(node, this);
+                map.put(key, node);
+            }
+            while (stripe.weight > stripe.maximumWeight && stripe.count > 1) {
+                evict(stripe, node);
+            }
+        }
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key the key
+     * @return the removed value, null if absent
+     */
+    public V remove(final K key) {
+        Stripe<K, V> stripe = stripeOf(key);
+        synchronized (stripe) {
+            Node<K, V> node = map.remove(key);
+            if (Objects.isNull(node)) {
+                return null;
+            }
+            stripe.release(node);
+            return node.value;
+        }
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                while (stripe.count > 0) {
+                    Node<K, V> node = stripe.ring[stripe.count - 1];
+                    map.remove(node.key, node);
+                    stripe.release(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return the size
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Gets the estimated weight of all the entries.
+     *
+     * @return the weighted size
+     */
+    public long weightedSize() {
+        long weight = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                weight += stripe.weight;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Gets the hit count.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the miss count.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the eviction count.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Whether the free memory is less than {@code maxFreeMemory}, in which case an entry is evicted before adding a new one.
+     *
+     * @return true if full
+     */
+    protected boolean isMemoryFull() {
+        return MemoryLimitCalculator.maxAvailable() < maxFreeMemory;
+    }
+
+    private Stripe<K, V> stripeOf(final K key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    private void evict(final Stripe<K, V> stripe, final Node<K, V> keep) {
+        Node<K, V> victim = stripe.victim(keep);
+        map.remove(victim.key, victim);
+        stripe.release(victim);
+        evictionCount.increment();
+    }
+
+    /**
+     * Estimate the retained size of an entry, the value is considered shared and not counted.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param <K>   the key type
+     * @param <V>   the value type
+     * @return the estimated bytes
+     */
+    public static <K, V> long estimateWeight(final K key, final V value) {
+        // node, map entry and reference overhead
+        long weight = 96;
+        if (key instanceof CharSequence) {
+            weight += 40 + 2L * ((CharSequence) key).length();
+        } else {
+            weight += 16;
+        }
+        return weight;
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+
+        private final V value;
+
+        private final long weight;
+
+        private volatile boolean referenced;
+
+        private int slot;
+
+        Node(final K key, final V value, final long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Stripe<K, V> {
+
+        /**
+         * the live nodes are kept in {@code ring[0, count)}, so the clock hand never walks empty slots.
+         */
+        private final Node<K, V>[] ring;
+
+        private final long maximumWeight;
+
+        private int hand;
+
+        private int count;
+
+        private long weight;
+
+        @SuppressWarnings("unchecked")
+        Stripe(final int capacity, final long maximumWeight) {
+            this.ring = new Node[capacity];
+            this.maximumWeight = maximumWeight;
+        }
+
+        void add(final Node<K, V> node, final MemorySafeClockCache<K, V> cache) {
+            if (count == ring.length) {
+                cache.evict(this, null);
+            }
+            node.slot = count;
+            ring[count++] = node;
+            weight += node.weight;
+        }
+
+        void replace(final Node<K, V> old, final Node<K, V> node) {
+            node.slot = old.slot;
+            node.referenced = true;
+            ring[old.slot] = node;
+            weight += node.weight - old.weight;
+        }
+
+        void release(final Node<K, V> node) {
+            if (node.slot >= count || ring[node.slot] != node) {
+                return;
+            }
+            Node<K, V> last = ring[--count];
+            last.slot = node.slot;
+            ring[node.slot] = last;
+            ring[count] = null;
+            weight -= node.weight;
+        }
+
+        Node<K, V> victim(final Node<K, V> keep) {
+            while (true) {
+                if (hand >= count) {
+                    hand = 0;
+                }
+                Node<K, V> node = ring[hand++];
+                if (node == keep) {
+                    continue;
+                }
+                if (node.referenced) {
+                    node.referenced = false;
+                    continue;
+                }
+                return node;
+            }
+        }
+    }
+}
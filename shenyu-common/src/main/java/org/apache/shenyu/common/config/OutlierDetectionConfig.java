@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.config;
+
+/**
+ * The outlier detection config, passive health check of the upstreams from the live traffic.
+ */
+public class OutlierDetectionConfig {
+
+    private boolean enabled;
+
+    /**
+     * Consecutive 5xx, connect errors or timeouts which eject an upstream.
+     */
+    private Integer consecutiveErrors = 5;
+
+    /**
+     * Ejection time in milliseconds, doubled on each ejection in a row.
+     */
+    private Integer baseEjectionTime = 30000;
+
+    private Integer maxEjectionTime = 300000;
+
+    /**
+     * Max percent of the upstreams of a selector which may be unhealthy at once.
+     */
+    private Integer maxEjectionPercent = 50;
+
+    /**
+     * Gets enabled.
+     *
+     * @return the enabled
+     */
+    public boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets enabled.
+     *
+     * @param enabled the enabled
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets consecutive errors.
+     *
+     * @return the consecutive errors
+     */
+    public Integer getConsecutiveErrors() {
+        return consecutiveErrors;
+    }
+
+    /**
+     * Sets consecutive errors.
+     *
+     * @param consecutiveErrors the consecutive errors
+     */
+    public void setConsecutiveErrors(final Integer consecutiveErrors) {
+        this.consecutiveErrors = consecutiveErrors;
+    }
+
+    /**
+     * Gets base ejection time.
+     *
+     * @return the base ejection time
+     */
+    public Integer getBaseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    /**
+     * Sets base ejection time.
+     *
+     * @param baseEjectionTime the base ejection time
+     */
+    public void setBaseEjectionTime(final Integer baseEjectionTime) {
+        this.baseEjectionTime = baseEjectionTime;
+    }
+
+    /**
+     * Gets max ejection time.
+     *
+     * @return the max ejection time
+     */
+    public Integer getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    /**
+     * Sets max ejection time.
+     *
+     * @param maxEjectionTime the max ejection time
+     */
+    public void setMaxEjectionTime(final Integer maxEjectionTime) {
+        this.maxEjectionTime = maxEjectionTime;
+    }
+
+    /**
+     * Gets max ejection percent.
+     *
+     * @return the max ejection percent
+     */
+    public Integer getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    /**
+     * Sets max ejection percent.
+     *
+     * @param maxEjectionPercent the max ejection percent
+     */
+    public void setMaxEjectionPercent(final Integer maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+}
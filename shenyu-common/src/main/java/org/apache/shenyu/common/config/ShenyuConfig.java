@@ -51,6 +51,10 @@ public class ShenyuConfig {
     
     private UpstreamCheck upstreamCheck = new UpstreamCheck();
 
+    private LoadBalance loadBalance = new LoadBalance();
+
+    private OutlierDetectionConfig outlierDetection = new OutlierDetectionConfig();
+
     private CrossFilterConfig cross = new CrossFilterConfig();
     
     private InstanceConfig instance = new InstanceConfig();
@@ -317,6 +321,42 @@ public class ShenyuConfig {
         this.upstreamCheck = upstreamCheck;
     }
     
+    /**
+     * Gets load balance.
+     *
+     * @return the load balance
+     */
+    public LoadBalance getLoadBalance() {
+        return loadBalance;
+    }
+    
+    /**
+     * Sets load balance.
+     *
+     * @param loadBalance the load balance
+     */
+    public void setLoadBalance(final LoadBalance loadBalance) {
+        this.loadBalance = loadBalance;
+    }
+    
+    /**
+     * Gets outlier detection.
+     *
+     * @return the outlier detection
+     */
+    public OutlierDetectionConfig getOutlierDetection() {
+        return outlierDetection;
+    }
+    
+    /**
+     * Sets outlier detection.
+     *
+     * @param outlierDetection the outlier detection
+     */
+    public void setOutlierDetection(final OutlierDetectionConfig outlierDetection) {
+        this.outlierDetection = outlierDetection;
+    }
+    
     /**
      * Gets cross.
      *
@@ -804,6 +844,12 @@ public class ShenyuConfig {
         private boolean printEnabled;
         
         private Integer printInterval = 60000;
+        
+        private String healthPath;
+        
+        private String expectedStatus = "2xx";
+        
+        private String expectedBody;
     
         /**
          * Gets enabled.
@@ -930,6 +976,112 @@ public class ShenyuConfig {
         public void setPrintInterval(final Integer printInterval) {
             this.printInterval = printInterval;
         }
+    
+        /**
+         * Gets health path, probe with a http get of this path instead of a tcp connect when set.
+         *
+         * @return the health path
+         */
+        public String getHealthPath() {
+            return healthPath;
+        }
+    
+        /**
+         * Sets health path.
+         *
+         * @param healthPath the health path
+         */
+        public void setHealthPath(final String healthPath) {
+            this.healthPath = healthPath;
+        }
+    
+        /**
+         * Gets expected status, comma separated codes where x matches any digit, such as 2xx,301.
+         *
+         * @return the expected status
+         */
+        public String getExpectedStatus() {
+            return expectedStatus;
+        }
+    
+        /**
+         * Sets expected status.
+         *
+         * @param expectedStatus the expected status
+         */
+        public void setExpectedStatus(final String expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+    
+        /**
+         * Gets expected body, the response body must contain it when set.
+         *
+         * @return the expected body
+         */
+        public String getExpectedBody() {
+            return expectedBody;
+        }
+    
+        /**
+         * Sets expected body.
+         *
+         * @param expectedBody the expected body
+         */
+        public void setExpectedBody(final String expectedBody) {
+            this.expectedBody = expectedBody;
+        }
+    }
+    
+    /**
+     * The type Load balance.
+     */
+    public static class LoadBalance {
+    
+        /**
+         * Virtual node count of each upstream on the hash ring.
+         */
+        private Integer hashVirtualNodes = 5;
+    
+        /**
+         * Hash algorithm of the hash ring, md5 or murmur3.
+         */
+        private String hashAlgorithm = "md5";
+    
+        /**
+         * Gets hash virtual nodes.
+         *
+         * @return the hash virtual nodes
+         */
+        public Integer getHashVirtualNodes() {
+            return hashVirtualNodes;
+        }
+    
+        /**
+         * Sets hash virtual nodes.
+         *
+         * @param hashVirtualNodes the hash virtual nodes
+         */
+        public void setHashVirtualNodes(final Integer hashVirtualNodes) {
+            this.hashVirtualNodes = hashVirtualNodes;
+        }
+    
+        /**
+         * Gets hash algorithm.
+         *
+         * @return the hash algorithm
+         */
+        public String getHashAlgorithm() {
+            return hashAlgorithm;
+        }
+    
+        /**
+         * Sets hash algorithm.
+         *
+         * @param hashAlgorithm the hash algorithm
+         */
+        public void setHashAlgorithm(final String hashAlgorithm) {
+            this.hashAlgorithm = hashAlgorithm;
+        }
     }
     
     /**
@@ -117,6 +117,21 @@ public interface Constants {
      */
     String DIVIDE_SELECTOR_ID = "divideSelectorId";
 
+    /**
+     * the upstream selected by the load balancer.
+     */
+    String LOAD_BALANCE_UPSTREAM = "loadBalanceUpstream";
+
+    /**
+     * the divide rule handle which asks for its own connection pool or http protocol.
+     */
+    String HTTP_CONNECTION_POOL = "httpConnectionPool";
+
+    /**
+     * the hedge policy of the route, only set for the requests which can be hedged.
+     */
+    String HEDGE_POLICY = "hedgePolicy";
+
     /**
      * Original response Content-Type attribute name.
      */
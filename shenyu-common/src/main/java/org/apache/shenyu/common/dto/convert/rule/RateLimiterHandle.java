@@ -54,6 +54,18 @@ public class RateLimiterHandle {
      */
     private String keyResolverName;
 
+    /**
+     * the share of the burst capacity leased from redis at once, served by a local bucket.
+     * 0 asks redis for each request, a larger share means less redis calls but a coarser limit across the nodes.
+     * only the token bucket algorithm leases.
+     */
+    private double leaseRatio;
+
+    /**
+     * limit in the memory of each gateway node instead of redis.
+     */
+    private boolean local;
+
     /**
      * get algorithmName.
      *
@@ -162,6 +174,42 @@ public class RateLimiterHandle {
         this.keyResolverName = keyResolverName;
     }
 
+    /**
+     * get leaseRatio.
+     *
+     * @return leaseRatio
+     */
+    public double getLeaseRatio() {
+        return leaseRatio;
+    }
+
+    /**
+     * set leaseRatio.
+     *
+     * @param leaseRatio leaseRatio
+     */
+    public void setLeaseRatio(final double leaseRatio) {
+        this.leaseRatio = leaseRatio;
+    }
+
+    /**
+     * get local.
+     *
+     * @return local
+     */
+    public boolean isLocal() {
+        return local;
+    }
+
+    /**
+     * set local.
+     *
+     * @param local local
+     */
+    public void setLocal(final boolean local) {
+        this.local = local;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -173,12 +221,13 @@ public class RateLimiterHandle {
         RateLimiterHandle that = (RateLimiterHandle) o;
         return Double.compare(that.replenishRate, replenishRate) == 0 && Double.compare(that.burstCapacity, burstCapacity) == 0
                 && Double.compare(that.requestCount, requestCount) == 0 && loged == that.loged
-                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName);
+                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName)
+                && Double.compare(that.leaseRatio, leaseRatio) == 0 && local == that.local;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName);
+        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName, leaseRatio, local);
     }
 
     @Override
@@ -198,6 +247,10 @@ public class RateLimiterHandle {
                 + ", keyResolverName='"
                 + keyResolverName
                 + '\''
+                + ", leaseRatio="
+                + leaseRatio
+                + ", local="
+                + local
                 + '}';
     }
 }
@@ -19,6 +19,7 @@ package org.apache.shenyu.common.dto.convert.rule.impl;
 
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.convert.rule.RuleHandle;
+import org.apache.shenyu.common.enums.HttpProtocolEnum;
 import org.apache.shenyu.common.enums.LoadBalanceEnum;
 import org.apache.shenyu.common.enums.RetryEnum;
 
@@ -61,6 +62,42 @@ public class DivideRuleHandle implements RuleHandle {
      */
     private long requestMaxSize;
 
+    /**
+     * max connections of the connection pool to each upstream, the shared pool is used when it is not positive.
+     */
+    private int maxConnections;
+
+    /**
+     * max pending acquires of the connection pool to each upstream, twice the max connections when it is not positive.
+     */
+    private int pendingAcquireMaxCount;
+
+    /**
+     * max idle time in milliseconds of the pooled connections, never evicted when it is not positive.
+     */
+    private long maxIdleTime;
+
+    /**
+     * httpProtocol to the upstreams.
+     * {@linkplain HttpProtocolEnum}
+     */
+    private String httpProtocol = HttpProtocolEnum.HTTP11.getName();
+
+    /**
+     * the latency percentile after which an idempotent request is hedged to another upstream, no hedge when it is not positive.
+     */
+    private int hedgePercentile;
+
+    /**
+     * the max hedged requests in percent of the requests.
+     */
+    private int hedgeBudget = 10;
+
+    /**
+     * whether the requests of the rule are idempotent, so that any method can be hedged, only GET and HEAD otherwise.
+     */
+    private boolean idempotent;
+
     /**
      * get loadBalance.
      *
@@ -169,6 +206,132 @@ public class DivideRuleHandle implements RuleHandle {
         this.requestMaxSize = requestMaxSize;
     }
 
+    /**
+     * get maxConnections.
+     *
+     * @return maxConnections
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * set maxConnections.
+     *
+     * @param maxConnections maxConnections
+     */
+    public void setMaxConnections(final int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * get pendingAcquireMaxCount.
+     *
+     * @return pendingAcquireMaxCount
+     */
+    public int getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    /**
+     * set pendingAcquireMaxCount.
+     *
+     * @param pendingAcquireMaxCount pendingAcquireMaxCount
+     */
+    public void setPendingAcquireMaxCount(final int pendingAcquireMaxCount) {
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+    }
+
+    /**
+     * get maxIdleTime.
+     *
+     * @return maxIdleTime
+     */
+    public long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    /**
+     * set maxIdleTime.
+     *
+     * @param maxIdleTime maxIdleTime
+     */
+    public void setMaxIdleTime(final long maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    /**
+     * get httpProtocol.
+     *
+     * @return httpProtocol
+     */
+    public String getHttpProtocol() {
+        return httpProtocol;
+    }
+
+    /**
+     * set httpProtocol.
+     *
+     * @param httpProtocol httpProtocol
+     */
+    public void setHttpProtocol(final String httpProtocol) {
+        this.httpProtocol = httpProtocol;
+    }
+
+    /**
+     * get hedgePercentile.
+     *
+     * @return hedgePercentile
+     */
+    public int getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * set hedgePercentile.
+     *
+     * @param hedgePercentile hedgePercentile
+     */
+    public void setHedgePercentile(final int hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    /**
+     * get hedgeBudget.
+     *
+     * @return hedgeBudget
+     */
+    public int getHedgeBudget() {
+        return hedgeBudget;
+    }
+
+    /**
+     * set hedgeBudget.
+     *
+     * @param hedgeBudget hedgeBudget
+     */
+    public void setHedgeBudget(final int hedgeBudget) {
+        this.hedgeBudget = hedgeBudget;
+    }
+
+    /**
+     * get idempotent.
+     *
+     * @return idempotent
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /**
+     * set idempotent.
+     *
+     * @param idempotent idempotent
+     */
+    public void setIdempotent(final boolean idempotent) {
+        this.idempotent = idempotent;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -179,13 +342,18 @@ public class DivideRuleHandle implements RuleHandle {
         }
         DivideRuleHandle that = (DivideRuleHandle) o;
         return retry == that.retry && timeout == that.timeout && headerMaxSize == that.headerMaxSize
-                && requestMaxSize == that.requestMaxSize && Objects.equals(loadBalance, that.loadBalance)
-                && Objects.equals(retryStrategy, that.retryStrategy);
+                && requestMaxSize == that.requestMaxSize && maxConnections == that.maxConnections
+                && pendingAcquireMaxCount == that.pendingAcquireMaxCount && maxIdleTime == that.maxIdleTime
+                && hedgePercentile == that.hedgePercentile && hedgeBudget == that.hedgeBudget && idempotent == that.idempotent
+                && Objects.equals(loadBalance, that.loadBalance)
+                && Objects.equals(retryStrategy, that.retryStrategy)
+                && Objects.equals(httpProtocol, that.httpProtocol);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(loadBalance, retryStrategy, retry, timeout, headerMaxSize, requestMaxSize);
+        return Objects.hash(loadBalance, retryStrategy, retry, timeout, headerMaxSize, requestMaxSize,
+                maxConnections, pendingAcquireMaxCount, maxIdleTime, httpProtocol, hedgePercentile, hedgeBudget, idempotent);
     }
 
     @Override
@@ -205,6 +373,21 @@ public class DivideRuleHandle implements RuleHandle {
                 + headerMaxSize
                 + ", requestMaxSize="
                 + requestMaxSize
+                + ", maxConnections="
+                + maxConnections
+                + ", pendingAcquireMaxCount="
+                + pendingAcquireMaxCount
+                + ", maxIdleTime="
+                + maxIdleTime
+                + ", httpProtocol='"
+                + httpProtocol
+                + '\''
+                + ", hedgePercentile="
+                + hedgePercentile
+                + ", hedgeBudget="
+                + hedgeBudget
+                + ", idempotent="
+                + idempotent
                 + '}';
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.enums;
+
+import java.util.Arrays;
+
+/**
+ * the http protocol to the upstreams.
+ */
+public enum HttpProtocolEnum {
+
+    /**
+     * HTTP/1.1.
+     */
+    HTTP11(1, "http1.1"),
+
+    /**
+     * HTTP/2 negotiated by TLS ALPN, falls back to HTTP/1.1 when the upstream does not offer it.
+     */
+    H2(2, "h2"),
+
+    /**
+     * cleartext HTTP/2 with prior knowledge.
+     */
+    H2C(3, "h2c");
+
+    private final int code;
+
+    private final String name;
+
+    /**
+     * all args constructor.
+     *
+     * @param code code
+     * @param name name
+     */
+    HttpProtocolEnum(final int code, final String name) {
+        this.code = code;
+        this.name = name;
+    }
+
+    /**
+     * get code.
+     *
+     * @return code
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * get name.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * acquire the http protocol by name, HTTP/1.1 for the unknown names.
+     *
+     * @param name name
+     * @return the http protocol
+     */
+    public static HttpProtocolEnum acquireByName(final String name) {
+        return Arrays.stream(HttpProtocolEnum.values())
+                .filter(e -> e.getName().equals(name))
+                .findFirst()
+                .orElse(HTTP11);
+    }
+}
@@ -21,6 +21,8 @@ import org.apache.shenyu.common.exception.ShenyuException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -68,6 +70,8 @@ public enum RpcTypeEnum {
      */
     GRPC("grpc", true);
 
+    private static final Map<String, RpcTypeEnum> NAMES = Arrays.stream(RpcTypeEnum.values())
+            .collect(Collectors.toMap(RpcTypeEnum::getName, Function.identity()));
 
     private final String name;
 
@@ -149,4 +153,14 @@ public enum RpcTypeEnum {
             .filter(e -> e.support && e.name.equals(name)).findFirst()
             .orElseThrow(() -> new ShenyuException(String.format(" this rpc type can not support %s", name)));
     }
+
+    /**
+     * find the rpc type by name, the supported or not.
+     *
+     * @param name the name of the rpc type, may be null
+     * @return the rpc type, null when the name is null or unknown
+     */
+    public static RpcTypeEnum findByName(final String name) {
+        return NAMES.get(name);
+    }
 }
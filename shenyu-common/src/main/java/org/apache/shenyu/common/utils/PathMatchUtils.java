@@ -18,18 +18,36 @@
 package org.apache.shenyu.common.utils;
 
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import org.apache.shenyu.common.cache.MemorySafeClockCache;
+import org.apache.shenyu.common.constant.Constants;
 import org.springframework.util.AntPathMatcher;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * The type Path match utils.
+ *
+ * <p>The patterns are ant style, matched by the {@link AntPathMatcher}, which keeps its own cache of the tokenized patterns.
+ * They are not compiled to the {@code PathPattern} of spring web: it rejects the {@code **} in the middle of a pattern,
+ * such as <code>/a/**&#47;b</code>, and takes a trailing separator as optional, so the rules and the registry paths
+ * synced from the admin would match differently or not at all. {@link #compile(String)} caches the split patterns instead,
+ * the callers holding them skip the split and the cache lookup on each match.
  */
 public class PathMatchUtils {
 
     private static final AntPathMatcher MATCHER = new AntPathMatcher();
 
+    private static final Splitter SPLITTER = Splitter.on(",").omitEmptyStrings().trimResults();
+
+    /**
+     * comma separated patterns -> split patterns.
+     */
+    private static final MemorySafeClockCache<String, List<String>> PATTERNS_CACHE = new MemorySafeClockCache<>(Constants.THE_256_MB, 1 << 12);
+
     /**
      * replace url {id} to real param.
      *
@@ -50,7 +68,38 @@ public class PathMatchUtils {
      * @return the boolean
      */
     public static boolean match(final String matchUrls, final String path) {
-        return Splitter.on(",").omitEmptyStrings().trimResults().splitToList(matchUrls).stream().anyMatch(url -> reg(url, path));
+        return match(compile(matchUrls), path);
+    }
+
+    /**
+     * Match boolean.
+     *
+     * @param patterns the patterns compiled by {@link #compile(String)}
+     * @param path     the path
+     * @return the boolean
+     */
+    public static boolean match(final List<String> patterns, final String path) {
+        for (String pattern : patterns) {
+            if (reg(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compile the comma separated patterns, the result is cached and shared.
+     *
+     * @param matchUrls the comma separated patterns
+     * @return the trimmed, non-empty patterns
+     */
+    public static List<String> compile(final String matchUrls) {
+        List<String> patterns = PATTERNS_CACHE.get(matchUrls);
+        if (Objects.isNull(patterns)) {
+            patterns = ImmutableList.copyOf(SPLITTER.split(matchUrls));
+            PATTERNS_CACHE.put(matchUrls, patterns);
+        }
+        return patterns;
     }
 
     private static boolean reg(final String pattern, final String path) {
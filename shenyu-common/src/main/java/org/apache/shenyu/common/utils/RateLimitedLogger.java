@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.utils;
+
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A logger for the hot paths, e.g. the rejected requests, which logs each message format once per interval.
+ * The messages in between are dropped and counted, the count is appended to the next logged message.
+ */
+public final class RateLimitedLogger {
+
+    private static final String SUPPRESSED = " ({} similar messages suppressed)";
+
+    private final Logger logger;
+
+    private final long intervalNanos;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new rate limited logger.
+     *
+     * @param logger the logger
+     * @param intervalMillis the interval of a message format in milliseconds
+     */
+    public RateLimitedLogger(final Logger logger, final long intervalMillis) {
+        this.logger = logger;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    /**
+     * error log.
+     *
+     * @param format the format, also the key of the rate limit, so it should be a constant
+     */
+    public void error(final String format) {
+        if (logger.isErrorEnabled()) {
+            final long suppressed = acquire(format);
+            if (suppressed == 0) {
+                logger.error(format);
+            } else if (suppressed > 0) {
+                logger.error(format + SUPPRESSED, suppressed);
+            }
+        }
+    }
+
+    /**
+     * error log.
+     *
+     * @param format the format, also the key of the rate limit, so it should be a constant
+     * @param arg the argument
+     */
+    public void error(final String format, final Object arg) {
+        if (logger.isErrorEnabled()) {
+            final long suppressed = acquire(format);
+            if (suppressed == 0) {
+                logger.error(format, arg);
+            } else if (suppressed > 0) {
+                logger.error(format + SUPPRESSED, arg, suppressed);
+            }
+        }
+    }
+
+    /**
+     * error log.
+     *
+     * @param format the format, also the key of the rate limit, so it should be a constant
+     * @param arg1 the first argument
+     * @param arg2 the second argument
+     */
+    public void error(final String format, final Object arg1, final Object arg2) {
+        if (logger.isErrorEnabled()) {
+            final long suppressed = acquire(format);
+            if (suppressed == 0) {
+                logger.error(format, arg1, arg2);
+            } else if (suppressed > 0) {
+                logger.error(format + SUPPRESSED, arg1, arg2, suppressed);
+            }
+        }
+    }
+
+    /**
+     * Try to log the message format.
+     *
+     * @param format the format
+     * @return -1 if the message is dropped, else the count of the messages dropped since the last one
+     */
+    private long acquire(final String format) {
+        Window window = windows.get(format);
+        if (window == null) {
+            window = windows.computeIfAbsent(format, key -> new Window());
+        }
+        return window.acquire(System.nanoTime(), intervalNanos);
+    }
+
+    private static final class Window {
+
+        private final AtomicLong next = new AtomicLong(Long.MIN_VALUE);
+
+        private final AtomicLong dropped = new AtomicLong();
+
+        long acquire(final long now, final long interval) {
+            final long current = next.get();
+            if ((current == Long.MIN_VALUE || now - current >= 0) && next.compareAndSet(current, now + interval)) {
+                return dropped.getAndSet(0);
+            }
+            dropped.incrementAndGet();
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for MemorySafeClockCache.
+ */
+public final class MemorySafeClockCacheTest {
+
+    @Test
+    public void testPutAndGet() {
+        MemorySafeClockCache<String, String> cache = new MemorySafeClockCache<>(1 << 10, 16);
+        cache.put("1", "1");
+        cache.put("1", "2");
+        assertEquals("2", cache.get("1"));
+        assertNull(cache.get("2"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals("2", cache.remove("1"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    public void testMaximumSize() {
+        MemorySafeClockCache<Integer, Integer> cache = new MemorySafeClockCache<>(1 << 10, 1);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.get(3));
+        assertEquals(2, cache.evictionCount());
+    }
+
+    @Test
+    public void testMaximumWeight() {
+        MemorySafeClockCache<Integer, Integer> cache = new MemorySafeClockCache<>(1 << 10, 1024, 10, (key, value) -> 4L);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        assertTrue(cache.weightedSize() <= 10);
+        assertEquals(9, cache.get(9));
+    }
+
+    @Test
+    public void testRemoveThenEvict() {
+        MemorySafeClockCache<Integer, Integer> cache = new MemorySafeClockCache<>(1 << 10, 1);
+        cache.put(1, 1);
+        assertEquals(1, cache.remove(1));
+        assertNull(cache.remove(1));
+        cache.put(2, 2);
+        cache.put(3, 3);
+        assertNull(cache.get(2));
+        assertEquals(3, cache.get(3));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    public void testMemoryFull() {
+        MemorySafeClockCache<Integer, Integer> cache = new MemorySafeClockCache<Integer, Integer>(1, 1024) {
+
+            @Override
+            protected boolean isMemoryFull() {
+                return true;
+            }
+        };
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        assertTrue(cache.size() < 3);
+        assertEquals(3, cache.get(3));
+    }
+
+    @Test
+    public void testClear() {
+        MemorySafeClockCache<Integer, Integer> cache = new MemorySafeClockCache<>(1 << 10, 64);
+        for (int i = 0; i < 32; i++) {
+            cache.put(i, i);
+        }
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    public void testIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new MemorySafeClockCache<>(1 << 10, 0));
+    }
+
+    @Test
+    public void testConcurrentPut() throws InterruptedException {
+        MemorySafeClockCache<Integer, Integer> cache = new MemorySafeClockCache<>(1 << 10, 128);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch latch = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    cache.put(i % 512, i);
+                    cache.get(i % 256);
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(cache.size() <= 128 + 64);
+    }
+}
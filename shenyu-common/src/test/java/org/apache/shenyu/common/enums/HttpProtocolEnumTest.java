@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpProtocolEnumTest {
+
+    @Test
+    public void testHttpProtocolName() {
+        assertEquals("http1.1", HttpProtocolEnum.HTTP11.getName());
+        assertEquals("h2", HttpProtocolEnum.H2.getName());
+        assertEquals("h2c", HttpProtocolEnum.H2C.getName());
+    }
+
+    @Test
+    public void testAcquireByName() {
+        assertEquals(HttpProtocolEnum.H2, HttpProtocolEnum.acquireByName("h2"));
+        assertEquals(HttpProtocolEnum.H2C, HttpProtocolEnum.acquireByName("h2c"));
+        assertEquals(HttpProtocolEnum.HTTP11, HttpProtocolEnum.acquireByName("http1.1"));
+        assertEquals(HttpProtocolEnum.HTTP11, HttpProtocolEnum.acquireByName(null));
+    }
+}
@@ -19,9 +19,13 @@ package org.apache.shenyu.common.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -47,6 +51,16 @@ public final class PathMatchUtilsTest {
         assertTrue(PathMatchUtils.match("/test/**", "/test/test"));
     }
 
+    @Test
+    public void testCompiledPatterns() {
+        List<String> patterns = PathMatchUtils.compile(" /http/** , ,/dubbo/*");
+        assertThat(patterns, is(Arrays.asList("/http/**", "/dubbo/*")));
+        assertSame(patterns, PathMatchUtils.compile(" /http/** , ,/dubbo/*"));
+        assertTrue(PathMatchUtils.match(patterns, "/dubbo/test"));
+        assertTrue(PathMatchUtils.match(" /http/** , ,/dubbo/*", "/http/test/test"));
+        assertFalse(PathMatchUtils.match(patterns, "/dubbo/test/test"));
+    }
+
     @Test
     public void testPathVariableHandle() {
         //test filter PathVariable
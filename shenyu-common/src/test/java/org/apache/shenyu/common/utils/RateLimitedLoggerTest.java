@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for {@link RateLimitedLogger}.
+ */
+public final class RateLimitedLoggerTest {
+
+    private Logger logger;
+
+    @BeforeEach
+    public void setUp() {
+        logger = mock(Logger.class);
+        when(logger.isErrorEnabled()).thenReturn(true);
+    }
+
+    @Test
+    public void testError() throws InterruptedException {
+        final RateLimitedLogger rateLimitedLogger = new RateLimitedLogger(logger, 100L);
+        for (int i = 0; i < 3; i++) {
+            rateLimitedLogger.error("rejected: {}", "a");
+        }
+        rateLimitedLogger.error("other");
+        verify(logger, times(1)).error("rejected: {}", "a");
+        verify(logger, times(1)).error("other");
+        Thread.sleep(150L);
+        rateLimitedLogger.error("rejected: {}", "a");
+        verify(logger, times(1)).error("rejected: {} ({} similar messages suppressed)", "a", 2L);
+    }
+
+    @Test
+    public void testErrorDisabled() {
+        when(logger.isErrorEnabled()).thenReturn(false);
+        new RateLimitedLogger(logger, 100L).error("rejected: {}, {}", "a", "b");
+        verify(logger, never()).error("rejected: {}, {}", "a", "b");
+    }
+}
@@ -21,6 +21,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.config.OutlierDetectionConfig;
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.config.ShenyuConfig.UpstreamCheck;
 import org.apache.shenyu.common.utils.Singleton;
@@ -58,6 +59,12 @@ public final class UpstreamCacheManager {
 
     private int unhealthyThreshold;
 
+    private String healthPath;
+
+    private String expectedStatus;
+
+    private String expectedBody;
+
     /**
      * healthy upstream print parameters.
      */
@@ -65,6 +72,19 @@ public final class UpstreamCacheManager {
 
     private Integer printInterval;
 
+    /**
+     * outlier detection parameters.
+     */
+    private boolean outlierEnable;
+
+    private int consecutiveErrors;
+
+    private long baseEjectionTime;
+
+    private long maxEjectionTime;
+
+    private int maxEjectionPercent;
+
     private UpstreamCacheManager() {
         initHealthCheck();
     }
@@ -77,8 +97,17 @@ public final class UpstreamCacheManager {
         healthyThreshold = upstreamCheck.getHealthyThreshold();
         unhealthyThreshold = upstreamCheck.getUnhealthyThreshold();
         checkInterval = upstreamCheck.getInterval();
+        healthPath = upstreamCheck.getHealthPath();
+        expectedStatus = upstreamCheck.getExpectedStatus();
+        expectedBody = upstreamCheck.getExpectedBody();
         printEnable = upstreamCheck.getPrintEnabled();
         printInterval = upstreamCheck.getPrintInterval();
+        OutlierDetectionConfig outlierDetection = shenyuConfig.getOutlierDetection();
+        outlierEnable = outlierDetection.getEnabled();
+        consecutiveErrors = Math.max(outlierDetection.getConsecutiveErrors(), 1);
+        baseEjectionTime = outlierDetection.getBaseEjectionTime();
+        maxEjectionTime = outlierDetection.getMaxEjectionTime();
+        maxEjectionPercent = outlierDetection.getMaxEjectionPercent();
         createTask();
         scheduleHealthCheck();
     }
@@ -88,6 +117,9 @@ public final class UpstreamCacheManager {
         task.setCheckTimeout(checkTimeout);
         task.setHealthyThreshold(healthyThreshold);
         task.setUnhealthyThreshold(unhealthyThreshold);
+        task.setHealthPath(healthPath);
+        task.setExpectedStatus(expectedStatus);
+        task.setExpectedBody(expectedBody);
     }
 
     private void scheduleHealthCheck() {
@@ -115,12 +147,31 @@ public final class UpstreamCacheManager {
      * Find upstream list by selector id list.
      *
      * @param selectorId the selector id
-     * @return the list
+     * @return the upstream snapshot, it never changes once returned
      */
     public List<Upstream> findUpstreamListBySelectorId(final String selectorId) {
         return task.getHealthyUpstream().get(selectorId);
     }
 
+    /**
+     * Report the outcome of a request to the upstream from the live traffic.
+     * An upstream which fails consecutive requests is ejected from the healthy upstream for a while.
+     *
+     * @param upstream the upstream
+     * @param success false for a 5xx response, a connect error or a timeout
+     */
+    public void report(final Upstream upstream, final boolean success) {
+        if (!outlierEnable) {
+            return;
+        }
+        if (success) {
+            upstream.getStats().recordSuccess();
+        } else if (upstream.getStats().recordFailure() % consecutiveErrors == 0) {
+            // try again every consecutive errors when the ejection is refused.
+            task.triggerEject(upstream, baseEjectionTime, maxEjectionTime, maxEjectionPercent);
+        }
+    }
+
     /**
      * Remove by key.
      *
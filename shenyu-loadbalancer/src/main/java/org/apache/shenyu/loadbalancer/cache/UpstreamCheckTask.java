@@ -17,30 +17,31 @@
 
 package org.apache.shenyu.loadbalancer.cache;
 
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.utils.GsonUtils;
-import org.apache.shenyu.common.utils.UpstreamCheckUtils;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
  * Health check manager for upstream servers.
+ *
+ * <p>Every upstream is probed on its own jittered schedule by a non-blocking {@link UpstreamProber},
+ * and each result is published to the healthy and unhealthy snapshots as soon as it arrives.
  */
 public final class UpstreamCheckTask implements Runnable {
 
@@ -49,25 +50,41 @@ public final class UpstreamCheckTask implements Runnable {
      */
     private static final Logger LOG = LoggerFactory.getLogger(UpstreamCheckTask.class);
 
-    private final Map<String, List<Upstream>> healthyUpstream = Maps.newConcurrentMap();
+    private static final int INITIAL_DELAY = 3000;
+
+    private static final double JITTER = 0.1;
+
+    private final Map<String, UpstreamSnapshot> healthyUpstream = Maps.newConcurrentMap();
 
-    private final Map<String, List<Upstream>> unhealthyUpstream = Maps.newConcurrentMap();
+    private final Map<String, UpstreamSnapshot> unhealthyUpstream = Maps.newConcurrentMap();
+
+    private final Map<String, List<Upstream>> healthyUpstreamView = Collections.unmodifiableMap(healthyUpstream);
+
+    private final Map<String, List<Upstream>> unhealthyUpstreamView = Collections.unmodifiableMap(unhealthyUpstream);
 
     private final Object lock = new Object();
 
     private final AtomicBoolean checkStarted = new AtomicBoolean(false);
 
-    private final List<CompletableFuture<UpstreamWithSelectorId>> futures = Lists.newArrayList();
+    private final Set<UpstreamWithSelectorId> scheduledUpstream = Collections.newSetFromMap(Maps.newConcurrentMap());
 
     private final int checkInterval;
 
-    private ExecutorService executor;
+    private volatile UpstreamProber prober;
+
+    private volatile boolean scheduled;
 
     private int checkTimeout = 3000;
 
     private int healthyThreshold = 1;
 
     private int unhealthyThreshold = 1;
+
+    private String healthPath;
+
+    private String expectedStatus;
+
+    private String expectedBody;
     
     /**
      * Instantiates a new Upstream check task.
@@ -91,14 +108,57 @@ public final class UpstreamCheckTask implements Runnable {
      * Schedule health check task.
      */
     public void schedule() {
-        // executor for health check
-        ThreadFactory healthCheckFactory = ShenyuThreadFactory.create("upstream-health-check", true);
-        new ScheduledThreadPoolExecutor(1, healthCheckFactory)
-                .scheduleWithFixedDelay(this, 3000, checkInterval, TimeUnit.MILLISECONDS);
+        synchronized (lock) {
+            scheduled = true;
+            healthyUpstream.forEach((selectorId, snapshot) -> snapshot.forEach(upstream -> scheduleFirstCheck(selectorId, upstream)));
+            unhealthyUpstream.forEach((selectorId, snapshot) -> snapshot.forEach(upstream -> scheduleFirstCheck(selectorId, upstream)));
+        }
+    }
 
-        // executor for async request, avoid request block health check thread
-        ThreadFactory requestFactory = ShenyuThreadFactory.create("upstream-health-check-request", true);
-        executor = new ScheduledThreadPoolExecutor(10, requestFactory);
+    private void scheduleFirstCheck(final String selectorId, final Upstream upstream) {
+        if (scheduledUpstream.add(new UpstreamWithSelectorId(selectorId, upstream))) {
+            // spread the first probes, so a burst of new upstreams is not probed all at once.
+            long delay = ThreadLocalRandom.current().nextLong(Math.max(1, Math.min(INITIAL_DELAY, checkInterval)));
+            getProber().schedule(() -> scheduledCheck(selectorId, upstream), delay);
+        }
+    }
+
+    private void scheduledCheck(final String selectorId, final Upstream upstream) {
+        synchronized (lock) {
+            if (!contains(selectorId, upstream)) {
+                scheduledUpstream.remove(new UpstreamWithSelectorId(selectorId, upstream));
+                return;
+            }
+        }
+        getProber().probe(probeUrl(upstream)).thenAccept(pass -> {
+            try {
+                putEntityToMap(check(selectorId, upstream, pass));
+            } finally {
+                long jitter = (long) (checkInterval * JITTER);
+                long delay = checkInterval - jitter + ThreadLocalRandom.current().nextLong(2 * jitter + 1);
+                getProber().schedule(() -> scheduledCheck(selectorId, upstream), delay);
+            }
+        });
+    }
+
+    private UpstreamProber getProber() {
+        if (Objects.isNull(prober)) {
+            synchronized (lock) {
+                if (Objects.isNull(prober)) {
+                    prober = new UpstreamProber(checkTimeout, healthPath, expectedStatus, expectedBody);
+                }
+            }
+        }
+        return prober;
+    }
+
+    private static String probeUrl(final Upstream upstream) {
+        String url = upstream.getUrl();
+        String protocol = upstream.getProtocol();
+        if (Objects.isNull(url) || Objects.isNull(protocol) || url.contains("://")) {
+            return url;
+        }
+        return protocol + url;
     }
     
     /**
@@ -127,7 +187,37 @@ public final class UpstreamCheckTask implements Runnable {
     public void setUnhealthyThreshold(final int unhealthyThreshold) {
         this.unhealthyThreshold = unhealthyThreshold;
     }
+    
+    /**
+     * Set health path, upstreams are probed with a http get of it instead of a tcp connect.
+     *
+     * @param healthPath health path
+     */
+    public void setHealthPath(final String healthPath) {
+        this.healthPath = healthPath;
+    }
+    
+    /**
+     * Set expected status of the http probe, such as 2xx,301.
+     *
+     * @param expectedStatus expected status
+     */
+    public void setExpectedStatus(final String expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+    
+    /**
+     * Set the text the body of the http probe must contain.
+     *
+     * @param expectedBody expected body
+     */
+    public void setExpectedBody(final String expectedBody) {
+        this.expectedBody = expectedBody;
+    }
 
+    /**
+     * Probe all upstreams at once and wait for the results.
+     */
     @Override
     public void run() {
         healthCheck();
@@ -135,15 +225,11 @@ public final class UpstreamCheckTask implements Runnable {
 
     private void healthCheck() {
         try {
-            /*
-             * If there is no synchronized. when check is done and all upstream check result is in the futures list.
-             * In the same time, triggerRemoveAll() called before waitFinish(), there will be dirty data stay in map.
-             */
-            synchronized (lock) {
-                if (tryStartHealthCheck()) {
-                    doHealthCheck();
-                    waitFinish();
-                }
+            if (tryStartHealthCheck()) {
+                List<CompletableFuture<UpstreamWithSelectorId>> futures = new ArrayList<>();
+                check(healthyUpstream, futures);
+                check(unhealthyUpstream, futures);
+                waitFinish(futures);
             }
         } catch (Exception e) {
             LOG.error("[Health Check] Meet problem: ", e);
@@ -152,28 +238,20 @@ public final class UpstreamCheckTask implements Runnable {
         }
     }
 
-    private void doHealthCheck() {
-        check(healthyUpstream);
-        check(unhealthyUpstream);
-    }
-
-    private void check(final Map<String, List<Upstream>> map) {
-        for (Map.Entry<String, List<Upstream>> entry : map.entrySet()) {
+    private void check(final Map<String, UpstreamSnapshot> map, final List<CompletableFuture<UpstreamWithSelectorId>> futures) {
+        for (Map.Entry<String, UpstreamSnapshot> entry : map.entrySet()) {
             String key = entry.getKey();
-            List<Upstream> value = entry.getValue();
-            for (Upstream upstream : value) {
-                CompletableFuture<UpstreamWithSelectorId> future = CompletableFuture.supplyAsync(() -> check(key, upstream), executor);
-                futures.add(future);
+            for (Upstream upstream : entry.getValue()) {
+                futures.add(getProber().probe(probeUrl(upstream)).thenApply(pass -> check(key, upstream, pass)));
             }
         }
     }
 
-    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream) {
-        boolean pass = UpstreamCheckUtils.checkUrl(upstream.getUrl(), checkTimeout);
+    private UpstreamWithSelectorId check(final String selectorId, final Upstream upstream, final boolean pass) {
         if (pass) {
             if (upstream.isHealthy()) {
                 upstream.setLastHealthTimestamp(System.currentTimeMillis());
-            } else {
+            } else if (!upstream.getStats().isEjected()) {
                 long now = System.currentTimeMillis();
                 long interval = now - upstream.getLastUnhealthyTimestamp();
                 if (interval >= (long) checkInterval * healthyThreshold) {
@@ -204,26 +282,35 @@ public final class UpstreamCheckTask implements Runnable {
         return checkStarted.compareAndSet(false, true);
     }
 
-    private void waitFinish() throws ExecutionException, InterruptedException {
+    private void waitFinish(final List<CompletableFuture<UpstreamWithSelectorId>> futures) throws ExecutionException, InterruptedException {
         for (CompletableFuture<UpstreamWithSelectorId> future : futures) {
-            UpstreamWithSelectorId entity = future.get();
-            putEntityToMap(entity);
+            putEntityToMap(future.get());
         }
-
-        futures.clear();
     }
 
     private void putEntityToMap(final UpstreamWithSelectorId entity) {
         Upstream upstream = entity.getUpstream();
-        if (upstream.isHealthy()) {
-            putToMap(healthyUpstream, entity.getSelectorId(), upstream);
-            removeFromMap(unhealthyUpstream, entity.getSelectorId(), upstream);
-        } else {
-            putToMap(unhealthyUpstream, entity.getSelectorId(), upstream);
-            removeFromMap(healthyUpstream, entity.getSelectorId(), upstream);
+        synchronized (lock) {
+            // the upstream may be removed while it was probed, do not bring it back.
+            if (!contains(entity.getSelectorId(), upstream)) {
+                return;
+            }
+            if (upstream.isHealthy()) {
+                putToMap(healthyUpstream, entity.getSelectorId(), upstream);
+                removeFromMap(unhealthyUpstream, entity.getSelectorId(), upstream);
+            } else {
+                putToMap(unhealthyUpstream, entity.getSelectorId(), upstream);
+                removeFromMap(healthyUpstream, entity.getSelectorId(), upstream);
+            }
         }
     }
 
+    private boolean contains(final String selectorId, final Upstream upstream) {
+        UpstreamSnapshot healthy = healthyUpstream.get(selectorId);
+        UpstreamSnapshot unhealthy = unhealthyUpstream.get(selectorId);
+        return Objects.nonNull(healthy) && healthy.contains(upstream) || Objects.nonNull(unhealthy) && unhealthy.contains(upstream);
+    }
+
     private void finishHealthCheck() {
         checkStarted.set(false);
     }
@@ -235,7 +322,12 @@ public final class UpstreamCheckTask implements Runnable {
      * @param upstream upstream
      */
     public void triggerAddOne(final String selectorId, final Upstream upstream) {
-        putToMap(healthyUpstream, selectorId, upstream);
+        synchronized (lock) {
+            putToMap(healthyUpstream, selectorId, upstream);
+            if (scheduled) {
+                scheduleFirstCheck(selectorId, upstream);
+            }
+        }
     }
     
     /**
@@ -249,20 +341,29 @@ public final class UpstreamCheckTask implements Runnable {
         removeFromMap(unhealthyUpstream, selectorId, upstream);
     }
 
-    private void putToMap(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
+    private void putToMap(final Map<String, UpstreamSnapshot> map, final String selectorId, final Upstream upstream) {
         synchronized (lock) {
-            List<Upstream> list = map.computeIfAbsent(selectorId, k -> Lists.newArrayList());
-            if (!list.contains(upstream)) {
-                list.add(upstream);
+            // copy on write, readers always see a complete snapshot.
+            UpstreamSnapshot snapshot = map.get(selectorId);
+            if (Objects.isNull(snapshot)) {
+                map.put(selectorId, new UpstreamSnapshot(Collections.singletonList(upstream)));
+            } else {
+                UpstreamSnapshot added = snapshot.with(upstream);
+                if (added != snapshot) {
+                    map.put(selectorId, added);
+                }
             }
         }
     }
 
-    private void removeFromMap(final Map<String, List<Upstream>> map, final String selectorId, final Upstream upstream) {
+    private void removeFromMap(final Map<String, UpstreamSnapshot> map, final String selectorId, final Upstream upstream) {
         synchronized (lock) {
-            List<Upstream> list = map.get(selectorId);
-            if (CollectionUtils.isNotEmpty(list)) {
-                list.remove(upstream);
+            UpstreamSnapshot snapshot = map.get(selectorId);
+            if (CollectionUtils.isNotEmpty(snapshot)) {
+                UpstreamSnapshot removed = snapshot.without(upstream);
+                if (removed != snapshot) {
+                    map.put(selectorId, removed);
+                }
             }
         }
     }
@@ -279,6 +380,65 @@ public final class UpstreamCheckTask implements Runnable {
         }
     }
     
+    /**
+     * Eject an upstream which keeps failing the live traffic, it is moved to the unhealthy upstream
+     * of every selector which can spare it, and moved back once the ejection time is over.
+     *
+     * @param upstream upstream
+     * @param baseEjectionTime base ejection time in milliseconds
+     * @param maxEjectionTime max ejection time in milliseconds
+     * @param maxEjectionPercent max percent of the upstreams of a selector which may be unhealthy
+     */
+    public void triggerEject(final Upstream upstream, final long baseEjectionTime, final long maxEjectionTime, final int maxEjectionPercent) {
+        synchronized (lock) {
+            if (upstream.getStats().isEjected()) {
+                return;
+            }
+            boolean ejected = false;
+            for (Map.Entry<String, UpstreamSnapshot> entry : healthyUpstream.entrySet()) {
+                UpstreamSnapshot healthy = entry.getValue();
+                if (!healthy.contains(upstream)) {
+                    continue;
+                }
+                UpstreamSnapshot unhealthy = unhealthyUpstream.get(entry.getKey());
+                int unhealthyCount = Objects.isNull(unhealthy) ? 0 : unhealthy.size();
+                if ((unhealthyCount + 1) * 100L > (long) (healthy.size() + unhealthyCount) * maxEjectionPercent) {
+                    continue;
+                }
+                putToMap(unhealthyUpstream, entry.getKey(), upstream);
+                removeFromMap(healthyUpstream, entry.getKey(), upstream);
+                ejected = true;
+            }
+            if (!ejected) {
+                return;
+            }
+            long ejectionTime = upstream.getStats().eject(baseEjectionTime, maxEjectionTime);
+            final long ejectedUntil = upstream.getStats().getEjectedUntil();
+            upstream.setHealthy(false);
+            upstream.setLastUnhealthyTimestamp(System.currentTimeMillis());
+            LOG.warn("[Outlier Detection] upstream {} keeps failing, ejected for {} ms.", upstream.getUrl(), ejectionTime);
+            getProber().schedule(() -> restore(upstream, ejectedUntil), ejectionTime);
+        }
+    }
+
+    private void restore(final Upstream upstream, final long ejectedUntil) {
+        synchronized (lock) {
+            // ejected again in the meantime, the later ejection restores it.
+            if (upstream.getStats().getEjectedUntil() != ejectedUntil || upstream.isHealthy()) {
+                return;
+            }
+            upstream.setHealthy(true);
+            upstream.setLastHealthTimestamp(System.currentTimeMillis());
+            for (Map.Entry<String, UpstreamSnapshot> entry : unhealthyUpstream.entrySet()) {
+                if (entry.getValue().contains(upstream)) {
+                    putToMap(healthyUpstream, entry.getKey(), upstream);
+                    removeFromMap(unhealthyUpstream, entry.getKey(), upstream);
+                }
+            }
+            LOG.info("[Outlier Detection] upstream {} ejection is over, it is back online.", upstream.getUrl());
+        }
+    }
+    
     /**
      * Print healthy and unhealthy check log.
      */
@@ -306,20 +466,20 @@ public final class UpstreamCheckTask implements Runnable {
     }
     
     /**
-     * Get healthy upstream map.
+     * Get healthy upstream map, a read only view whose lists are immutable snapshots.
      *
      * @return healthy map.
      */
     public Map<String, List<Upstream>> getHealthyUpstream() {
-        return healthyUpstream;
+        return healthyUpstreamView;
     }
     
     /**
-     * Get unhealthy upstream map.
+     * Get unhealthy upstream map, a read only view whose lists are immutable snapshots.
      *
      * @return unhealthy map.
      */
     public Map<String, List<Upstream>> getUnhealthyUpstream() {
-        return unhealthyUpstream;
+        return unhealthyUpstreamView;
     }
 }
@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import com.google.common.net.InetAddresses;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.constant.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking upstream prober, all probes and timers run on a single selector thread.
+ *
+ * <p>A probe is a tcp connect, or a http get of the health path when it is configured.
+ * Https upstreams are always probed with a tcp connect.
+ */
+final class UpstreamProber {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamProber.class);
+
+    private static final String HTTP = "http://";
+
+    private static final String HTTPS = "https://";
+
+    private static final int MAX_RESPONSE_SIZE = 8192;
+
+    private static final byte[] HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+
+    private final int timeout;
+
+    private final String healthPath;
+
+    private final String[] expectedStatus;
+
+    private final String expectedBody;
+
+    private final Selector selector;
+
+    private long timerSequence;
+
+    /**
+     * Instantiates a new Upstream prober and starts its selector thread.
+     *
+     * @param timeout the probe timeout in milliseconds
+     * @param healthPath the http health path, probe with a tcp connect when it is blank
+     * @param expectedStatus the expected status, such as 2xx,301
+     * @param expectedBody the text the response body must contain, not checked when it is empty
+     */
+    UpstreamProber(final int timeout, final String healthPath, final String expectedStatus, final String expectedBody) {
+        this.timeout = timeout;
+        this.healthPath = StringUtils.isBlank(healthPath) ? null
+                : healthPath.startsWith(Constants.PATH_SEPARATOR) ? healthPath : Constants.PATH_SEPARATOR + healthPath;
+        this.expectedStatus = StringUtils.split(StringUtils.defaultIfBlank(expectedStatus, "2xx"), ',');
+        this.expectedBody = StringUtils.isEmpty(expectedBody) ? null : expectedBody;
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new IllegalStateException("open health check selector error", e);
+        }
+        ShenyuThreadFactory.create("upstream-health-check", true).newThread(this::loop).start();
+    }
+
+    /**
+     * Probe the url.
+     *
+     * @param url the url, such as http://127.0.0.1:8080 or 127.0.0.1:8080
+     * @return the future completed on the selector thread with the probe result, it never fails
+     */
+    CompletableFuture<Boolean> probe(final String url) {
+        Probe probe = new Probe(url);
+        execute(() -> start(probe));
+        return probe.result;
+    }
+
+    /**
+     * Run the task on the selector thread after the delay, the task must not block.
+     *
+     * @param task the task
+     * @param delay the delay in milliseconds
+     */
+    void schedule(final Runnable task, final long delay) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        execute(() -> timers.add(new Timer(deadline, timerSequence++, task)));
+    }
+
+    private void execute(final Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    private void loop() {
+        while (true) {
+            try {
+                Timer next = timers.peek();
+                if (next == null) {
+                    selector.select();
+                } else {
+                    long wait = TimeUnit.NANOSECONDS.toMillis(next.deadline - System.nanoTime());
+                    if (wait > 0) {
+                        selector.select(wait);
+                    } else {
+                        selector.selectNow();
+                    }
+                }
+                processSelectedKeys();
+                runTasks();
+                runTimers();
+            } catch (Exception e) {
+                LOG.error("[Health Check] Meet problem: ", e);
+            }
+        }
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            Probe probe = (Probe) key.attachment();
+            try {
+                if (!key.isValid()) {
+                    probe.complete(false);
+                } else if (key.isConnectable()) {
+                    probe.channel.finishConnect();
+                    connected(probe);
+                } else if (key.isWritable()) {
+                    write(probe);
+                } else if (key.isReadable()) {
+                    read(probe);
+                }
+            } catch (IOException e) {
+                probe.fail(e);
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void runTimers() {
+        long now = System.nanoTime();
+        while (!timers.isEmpty() && timers.peek().deadline - now <= 0) {
+            Runnable task = timers.poll().task;
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOG.error("[Health Check] Meet problem: ", e);
+            }
+        }
+    }
+
+    private void start(final Probe probe) {
+        String url = probe.url;
+        boolean https = url.startsWith(HTTPS);
+        String authority = https ? url.substring(HTTPS.length()) : url.startsWith(HTTP) ? url.substring(HTTP.length()) : url;
+        authority = StringUtils.substringBefore(authority, Constants.PATH_SEPARATOR);
+        boolean hasPort = authority.lastIndexOf(Constants.COLONS) > authority.lastIndexOf(']');
+        String host = StringUtils.strip((hasPort ? StringUtils.substringBeforeLast(authority, Constants.COLONS) : authority).trim(), "[]");
+        String port = hasPort ? StringUtils.substringAfterLast(authority, Constants.COLONS).trim() : "";
+        if (StringUtils.isBlank(host) || !StringUtils.isNumeric(port) && !port.isEmpty()) {
+            probe.complete(false);
+            return;
+        }
+        probe.host = authority;
+        probe.http = !https && healthPath != null;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        timers.add(new Timer(deadline, timerSequence++, () -> probe.complete(false)));
+        int portNumber = port.isEmpty() ? https ? 443 : 80 : Integer.parseInt(port);
+        if (InetAddresses.isInetAddress(host)) {
+            connect(probe, new InetSocketAddress(InetAddresses.forString(host), portNumber));
+        } else {
+            // name resolution blocks, keep it off the selector thread.
+            CompletableFuture.supplyAsync(() -> new InetSocketAddress(host, portNumber))
+                    .whenComplete((address, error) -> execute(() -> connect(probe, address)));
+        }
+    }
+
+    private void connect(final Probe probe, final InetSocketAddress address) {
+        if (probe.result.isDone()) {
+            return;
+        }
+        if (address == null || address.isUnresolved()) {
+            probe.complete(false);
+            return;
+        }
+        try {
+            SocketChannel channel = SocketChannel.open();
+            probe.channel = channel;
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                connected(probe);
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            }
+        } catch (IOException e) {
+            probe.fail(e);
+        }
+    }
+
+    private void connected(final Probe probe) throws IOException {
+        if (!probe.http) {
+            probe.complete(true);
+            return;
+        }
+        String request = "GET " + healthPath + " HTTP/1.1\r\nHost: " + probe.host
+                + "\r\nUser-Agent: shenyu-health-check\r\nAccept: */*\r\nConnection: close\r\n\r\n";
+        probe.buffer = ByteBuffer.wrap(request.getBytes(StandardCharsets.ISO_8859_1));
+        probe.channel.register(selector, SelectionKey.OP_WRITE, probe);
+        write(probe);
+    }
+
+    private void write(final Probe probe) throws IOException {
+        probe.channel.write(probe.buffer);
+        if (!probe.buffer.hasRemaining()) {
+            probe.buffer = ByteBuffer.allocate(MAX_RESPONSE_SIZE);
+            probe.channel.register(selector, SelectionKey.OP_READ, probe);
+        }
+    }
+
+    private void read(final Probe probe) throws IOException {
+        ByteBuffer buffer = probe.buffer;
+        int read = probe.channel.read(buffer);
+        Boolean result = evaluate(buffer.array(), buffer.position(), read < 0 || !buffer.hasRemaining());
+        if (result != null) {
+            probe.complete(result);
+        }
+    }
+
+    /**
+     * Evaluate the response read so far.
+     *
+     * @param response the response bytes
+     * @param length the length read
+     * @param finished whether no more bytes will come
+     * @return the result, or null when more bytes are needed
+     */
+    Boolean evaluate(final byte[] response, final int length, final boolean finished) {
+        int lineEnd = indexOf(response, length, HEADER_END, 2);
+        if (lineEnd < 0) {
+            return finished ? false : null;
+        }
+        String[] statusLine = StringUtils.split(new String(response, 0, lineEnd, StandardCharsets.ISO_8859_1), ' ');
+        if (statusLine.length < 2 || !matchStatus(statusLine[1])) {
+            return false;
+        }
+        if (expectedBody == null) {
+            return true;
+        }
+        int headerEnd = indexOf(response, length, HEADER_END, HEADER_END.length);
+        if (headerEnd >= 0) {
+            int bodyStart = headerEnd + HEADER_END.length;
+            if (new String(response, bodyStart, length - bodyStart, StandardCharsets.UTF_8).contains(expectedBody)) {
+                return true;
+            }
+        }
+        return finished ? false : null;
+    }
+
+    private boolean matchStatus(final String status) {
+        for (String expected : expectedStatus) {
+            String pattern = expected.trim();
+            if (pattern.length() != status.length()) {
+                continue;
+            }
+            boolean match = true;
+            for (int i = 0; i < pattern.length() && match; i++) {
+                char c = pattern.charAt(i);
+                match = c == 'x' || c == 'X' || c == status.charAt(i);
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(final byte[] bytes, final int length, final byte[] target, final int targetLength) {
+        for (int i = 0; i <= length - targetLength; i++) {
+            int j = 0;
+            while (j < targetLength && bytes[i + j] == target[j]) {
+                j++;
+            }
+            if (j == targetLength) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Probe {
+
+        private final String url;
+
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private String host;
+
+        private boolean http;
+
+        private SocketChannel channel;
+
+        private ByteBuffer buffer;
+
+        Probe(final String url) {
+            this.url = StringUtils.defaultString(url).trim();
+        }
+
+        void fail(final IOException e) {
+            // a down upstream fails every probe, the check task logs once when its health changes
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("[Health Check] probe upstream {} failed: {}", url, e.getMessage());
+            }
+            complete(false);
+        }
+
+        void complete(final boolean pass) {
+            if (result.isDone()) {
+                return;
+            }
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // closing a probe channel never matters.
+                }
+            }
+            result.complete(pass);
+        }
+    }
+
+    private static final class Timer implements Comparable<Timer> {
+
+        private final long deadline;
+
+        private final long sequence;
+
+        private final Runnable task;
+
+        Timer(final long deadline, final long sequence, final Runnable task) {
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(final Timer other) {
+            int compare = Long.compare(deadline - other.deadline, 0);
+            return compare != 0 ? compare : Long.compare(sequence, other.sequence);
+        }
+    }
+}
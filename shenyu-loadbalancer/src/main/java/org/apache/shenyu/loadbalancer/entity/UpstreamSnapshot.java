@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.entity;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * An immutable version of the upstream list of a selector.
+ * A change of the list publishes a new snapshot, so the state the load balancers
+ * derive from a snapshot, like weights or a hash ring, never has to be validated.
+ */
+public final class UpstreamSnapshot extends AbstractList<Upstream> implements RandomAccess {
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private final Upstream[] upstreams;
+
+    private final long version;
+
+    private final ConcurrentMap<Object, Object> states = new ConcurrentHashMap<>(4);
+
+    /**
+     * Instantiates a new Upstream snapshot.
+     *
+     * @param upstreams the upstreams
+     */
+    public UpstreamSnapshot(final Collection<Upstream> upstreams) {
+        this(upstreams.toArray(new Upstream[0]));
+    }
+
+    private UpstreamSnapshot(final Upstream[] upstreams) {
+        this.upstreams = upstreams;
+        this.version = VERSION.incrementAndGet();
+    }
+
+    /**
+     * Get a new snapshot with the upstream added.
+     *
+     * @param upstream the upstream
+     * @return the new snapshot, or this one if the upstream is already present
+     */
+    public UpstreamSnapshot with(final Upstream upstream) {
+        if (contains(upstream)) {
+            return this;
+        }
+        final Upstream[] added = Arrays.copyOf(upstreams, upstreams.length + 1);
+        added[upstreams.length] = upstream;
+        return new UpstreamSnapshot(added);
+    }
+
+    /**
+     * Get a new snapshot with the upstream removed.
+     *
+     * @param upstream the upstream
+     * @return the new snapshot, or this one if the upstream is absent
+     */
+    public UpstreamSnapshot without(final Upstream upstream) {
+        final int index = indexOf(upstream);
+        if (index < 0) {
+            return this;
+        }
+        final Upstream[] removed = new Upstream[upstreams.length - 1];
+        System.arraycopy(upstreams, 0, removed, 0, index);
+        System.arraycopy(upstreams, index + 1, removed, index, removed.length - index);
+        return new UpstreamSnapshot(removed);
+    }
+
+    /**
+     * Get the version, a newer snapshot always has a greater version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the state derived from this snapshot, it is computed once per key.
+     *
+     * @param key the state key, usually the load balancer
+     * @param factory the state factory
+     * @param <T> the state type
+     * @return the state
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getState(final Object key, final Function<UpstreamSnapshot, T> factory) {
+        Object state = states.get(key);
+        if (Objects.isNull(state)) {
+            state = states.computeIfAbsent(key, k -> factory.apply(this));
+        }
+        return (T) state;
+    }
+
+    /**
+     * Replace the state derived from this snapshot.
+     *
+     * @param key the state key
+     * @param state the state
+     */
+    public void putState(final Object key, final Object state) {
+        states.put(key, state);
+    }
+
+    @Override
+    public Upstream get(final int index) {
+        return upstreams[index];
+    }
+
+    @Override
+    public int size() {
+        return upstreams.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return upstreams.clone();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.entity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The in-flight requests, the peak ewma latency and the outlier state of an upstream.
+ * The in-flight count is a striped counter, so concurrent requests do not contend on it.
+ */
+public final class UpstreamStats {
+
+    /**
+     * the decay time of the latency ewma.
+     */
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * the cost of an upstream with requests in flight but no latency observed yet.
+     */
+    private static final double PENALTY = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder active = new LongAdder();
+
+    private final AtomicLong latency = new AtomicLong(Double.doubleToRawLongBits(0D));
+
+    private volatile long stamp = System.nanoTime();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private volatile long ejectedUntil = System.nanoTime();
+
+    private int ejections;
+
+    /**
+     * Record the start of a request.
+     *
+     * @return the start time in nanoseconds
+     */
+    public long begin() {
+        active.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the end of a request.
+     *
+     * @param start the start time returned by {@link #begin()}
+     */
+    public void end(final long start) {
+        active.decrement();
+        final long now = System.nanoTime();
+        final double rtt = Math.max(now - start, 0L);
+        long prev;
+        double next;
+        do {
+            prev = latency.get();
+            final double ewma = Double.longBitsToDouble(prev);
+            if (rtt > ewma) {
+                // the peak is taken at once, it only decays slowly.
+                next = rtt;
+            } else {
+                final double weight = Math.exp(-Math.max(now - stamp, 0L) / DECAY_NANOS);
+                next = ewma * weight + rtt * (1D - weight);
+            }
+        } while (!latency.compareAndSet(prev, Double.doubleToRawLongBits(next)));
+        stamp = now;
+    }
+
+    /**
+     * Get the count of requests in flight.
+     *
+     * @return the active count
+     */
+    public long getActive() {
+        return Math.max(active.sum(), 0L);
+    }
+
+    /**
+     * Get the peak ewma latency.
+     *
+     * @return the latency in nanoseconds
+     */
+    public double getLatency() {
+        return Double.longBitsToDouble(latency.get());
+    }
+
+    /**
+     * Get the load cost, the latency weighted by the requests in flight.
+     *
+     * @return the cost
+     */
+    public double getCost() {
+        final long inflight = getActive();
+        final double ewma = getLatency();
+        if (ewma == 0D && inflight != 0L) {
+            return PENALTY + inflight;
+        }
+        return ewma * (inflight + 1);
+    }
+
+    /**
+     * Record a successful response, it breaks the run of failures.
+     */
+    public void recordSuccess() {
+        // skip the write in the common case, so the cache line stays shared.
+        if (failures.get() != 0) {
+            failures.set(0);
+        }
+    }
+
+    /**
+     * Record a 5xx response, a connect error or a timeout.
+     *
+     * @return the consecutive failures
+     */
+    public int recordFailure() {
+        return failures.incrementAndGet();
+    }
+
+    /**
+     * Whether the upstream is ejected by the outlier detection now.
+     *
+     * @return true when ejected
+     */
+    public boolean isEjected() {
+        return ejectedUntil - System.nanoTime() > 0;
+    }
+
+    /**
+     * Get the end of the current or last ejection.
+     *
+     * @return the nano time the ejection ends
+     */
+    public long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    /**
+     * Eject the upstream, the ejection time doubles for each ejection in a row,
+     * and starts over once the upstream stays healthy for the max ejection time.
+     * The caller must hold the lock of the outlier detection.
+     *
+     * @param baseEjectionTime the base ejection time in milliseconds
+     * @param maxEjectionTime the max ejection time in milliseconds
+     * @return the ejection time in milliseconds
+     */
+    public long eject(final long baseEjectionTime, final long maxEjectionTime) {
+        final long now = System.nanoTime();
+        if (ejections > 0 && now - ejectedUntil > TimeUnit.MILLISECONDS.toNanos(maxEjectionTime)) {
+            ejections = 0;
+        }
+        final long ejectionTime = Math.min(baseEjectionTime << Math.min(ejections, 20), maxEjectionTime);
+        ejections++;
+        failures.set(0);
+        ejectedUntil = now + TimeUnit.MILLISECONDS.toNanos(ejectionTime);
+        return ejectionTime;
+    }
+}
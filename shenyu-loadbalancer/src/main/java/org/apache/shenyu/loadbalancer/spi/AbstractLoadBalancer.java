@@ -18,14 +18,18 @@
 package org.apache.shenyu.loadbalancer.spi;
 
 import java.util.List;
+import java.util.Objects;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
 
 /**
  * The type Abstract load balancer.
  */
 public abstract class AbstractLoadBalancer implements LoadBalancer {
 
+    private static final Object WEIGHTS = new Object();
+
     /**
      * Do select upstream.
      *
@@ -63,6 +67,66 @@ public abstract class AbstractLoadBalancer implements LoadBalancer {
         return weight;
     }
 
+    /**
+     * Get the weights of the upstream list by index.
+     * The weights of a snapshot are computed once, as soon as no upstream of it is warming up.
+     *
+     * @param upstreamList the upstream list
+     * @return the weights
+     */
+    protected int[] getWeights(final List<Upstream> upstreamList) {
+        if (upstreamList instanceof UpstreamSnapshot) {
+            final int[] weights = ((UpstreamSnapshot) upstreamList).getState(WEIGHTS, this::getWarmedWeights);
+            if (Objects.nonNull(weights)) {
+                return weights;
+            }
+        }
+        final int[] weights = new int[upstreamList.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = getWeight(upstreamList.get(i));
+        }
+        return weights;
+    }
+
+    /**
+     * Whether the weight of the upstream is still growing by warmup.
+     *
+     * @param upstream the upstream
+     * @param now the current time millis
+     * @return true if warming up
+     */
+    protected boolean isWarmingUp(final Upstream upstream, final long now) {
+        return upstream.isStatus() && upstream.getWeight() > 0 && upstream.getTimestamp() > 0
+                && now - upstream.getTimestamp() < upstream.getWarmup();
+    }
+
+    /**
+     * Get the load cost of the upstream per unit of weight.
+     *
+     * @param upstream the upstream
+     * @param weight the weight of the upstream
+     * @return the cost, infinity when the upstream has no weight
+     */
+    protected double getCost(final Upstream upstream, final int weight) {
+        if (weight <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return upstream.getStats().getCost() / weight;
+    }
+
+    private int[] getWarmedWeights(final List<Upstream> upstreamList) {
+        final long now = System.currentTimeMillis();
+        final int[] weights = new int[upstreamList.size()];
+        for (int i = 0; i < weights.length; i++) {
+            final Upstream upstream = upstreamList.get(i);
+            if (isWarmingUp(upstream, now)) {
+                return null;
+            }
+            weights[i] = getWeight(upstream);
+        }
+        return weights;
+    }
+
     private int calculateWarmupWeight(final int uptime, final int warmup, final int weight) {
         int ww = (int) ((float) uptime / ((float) warmup / (float) weight));
         return ww < 1 ? 1 : (Math.min(ww, weight));
@@ -17,14 +17,23 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.TreeMap;
 import java.util.stream.IntStream;
+import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
 import org.apache.shenyu.spi.Join;
 
 /**
@@ -33,10 +42,44 @@ import org.apache.shenyu.spi.Join;
 @Join
 public class HashLoadBalancer extends AbstractLoadBalancer {
 
+    /**
+     * the murmur3 hash algorithm name.
+     */
+    public static final String MURMUR3 = "murmur3";
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ShenyuException("MD5 not supported", e);
+        }
+    });
+
+    private static final HashFunction MURMUR3_HASH = Hashing.murmur3_32_fixed();
+
     /**
      * virtual node used to solve unbalanced load.
      */
-    private static final int VIRTUAL_NODE_NUM = 5;
+    private final int virtualNodeNum;
+
+    private final boolean murmur3;
+
+    /**
+     * Instantiates a new Hash load balancer with the shenyu config.
+     */
+    public HashLoadBalancer() {
+        this(Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).orElse(new ShenyuConfig()).getLoadBalance());
+    }
+
+    /**
+     * Instantiates a new Hash load balancer.
+     *
+     * @param loadBalance the load balance config
+     */
+    public HashLoadBalancer(final ShenyuConfig.LoadBalance loadBalance) {
+        this.virtualNodeNum = Math.max(Optional.ofNullable(loadBalance.getHashVirtualNodes()).orElse(5), 1);
+        this.murmur3 = MURMUR3.equalsIgnoreCase(loadBalance.getHashAlgorithm());
+    }
 
     /**
      * consistent hash with virtual node to select upstream.
@@ -47,27 +90,34 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
      */
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        final ConcurrentSkipListMap<Long, Upstream> treeMap = new ConcurrentSkipListMap<>();
-        upstreamList.forEach(upstream -> IntStream.range(0, VIRTUAL_NODE_NUM).forEach(i -> {
-            long addressHash = hash("SHENYU-" + upstream.getUrl() + "-HASH-" + i);
+        final HashRing ring;
+        if (upstreamList instanceof UpstreamSnapshot) {
+            ring = ((UpstreamSnapshot) upstreamList).getState(this, this::buildRing);
+        } else {
+            ring = buildRing(upstreamList);
+        }
+        return ring.select(hash(ip, murmur3));
+    }
+
+    private HashRing buildRing(final List<Upstream> upstreamList) {
+        final SortedMap<Long, Upstream> treeMap = new TreeMap<>();
+        upstreamList.forEach(upstream -> IntStream.range(0, virtualNodeNum).forEach(i -> {
+            long addressHash = hash("SHENYU-" + upstream.getUrl() + "-HASH-" + i, murmur3);
             treeMap.put(addressHash, upstream);
         }));
-        long hash = hash(ip);
-        SortedMap<Long, Upstream> lastRing = treeMap.tailMap(hash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
+        return new HashRing(treeMap);
+    }
+
+    private static long hash(final String key, final boolean murmur3) {
+        if (murmur3) {
+            return MURMUR3_HASH.hashString(key, StandardCharsets.UTF_8).asInt() & 0xffffffffL;
         }
-        return treeMap.firstEntry().getValue();
+        return hash(key);
     }
 
     private static long hash(final String key) {
         // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
-        }
+        MessageDigest md5 = MD5.get();
         md5.reset();
         byte[] keyBytes;
         keyBytes = key.getBytes(StandardCharsets.UTF_8);
@@ -80,4 +130,32 @@ public class HashLoadBalancer extends AbstractLoadBalancer {
                 | (digest[0] & 0xFF);
         return hashCode & 0xffffffffL;
     }
+
+    /**
+     * the immutable ring built from one upstream snapshot.
+     */
+    private static final class HashRing {
+
+        private final long[] hashes;
+
+        private final Upstream[] nodes;
+
+        HashRing(final SortedMap<Long, Upstream> treeMap) {
+            this.hashes = new long[treeMap.size()];
+            this.nodes = new Upstream[treeMap.size()];
+            int index = 0;
+            for (Map.Entry<Long, Upstream> entry : treeMap.entrySet()) {
+                hashes[index] = entry.getKey();
+                nodes[index++] = entry.getValue();
+            }
+        }
+
+        Upstream select(final long hash) {
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < nodes.length ? nodes[index] : nodes[0];
+        }
+    }
 }
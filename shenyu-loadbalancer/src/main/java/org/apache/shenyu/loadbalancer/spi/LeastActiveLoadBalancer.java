@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * least active algorithm impl, the upstream with the fewest requests in flight is selected,
+ * ties are broken by weighted random.
+ */
+@Join
+public class LeastActiveLoadBalancer extends AbstractLoadBalancer {
+
+    @Override
+    public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
+        final int length = upstreamList.size();
+        final int[] leastIndexes = new int[length];
+        final int[] weights = getWeights(upstreamList);
+        long leastActive = Long.MAX_VALUE;
+        int leastCount = 0;
+        int totalWeight = 0;
+        boolean sameWeight = true;
+        for (int i = 0; i < length; i++) {
+            final Upstream upstream = upstreamList.get(i);
+            final long active = upstream.getStats().getActive();
+            final int weight = weights[i];
+            if (active < leastActive) {
+                leastActive = active;
+                leastCount = 0;
+                totalWeight = 0;
+                sameWeight = true;
+            } else if (active > leastActive) {
+                continue;
+            } else if (weight != weights[leastIndexes[0]]) {
+                sameWeight = false;
+            }
+            leastIndexes[leastCount++] = i;
+            totalWeight += weight;
+        }
+        if (leastCount == 1) {
+            return upstreamList.get(leastIndexes[0]);
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (!sameWeight && totalWeight > 0) {
+            int offset = random.nextInt(totalWeight);
+            for (int i = 0; i < leastCount; i++) {
+                offset -= weights[leastIndexes[i]];
+                if (offset < 0) {
+                    return upstreamList.get(leastIndexes[i]);
+                }
+            }
+        }
+        return upstreamList.get(leastIndexes[random.nextInt(leastCount)]);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * peak ewma algorithm impl, the upstream with the lowest latency weighted by the requests in flight is selected.
+ */
+@Join
+public class PeakEwmaLoadBalancer extends AbstractLoadBalancer {
+
+    @Override
+    public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        Upstream selected = null;
+        double leastCost = Double.POSITIVE_INFINITY;
+        int leastCount = 0;
+        final int[] weights = getWeights(upstreamList);
+        for (int i = 0; i < weights.length; i++) {
+            final Upstream upstream = upstreamList.get(i);
+            final double cost = getCost(upstream, weights[i]);
+            if (cost < leastCost) {
+                selected = upstream;
+                leastCost = cost;
+                leastCount = 1;
+            } else if (cost == leastCost && cost != Double.POSITIVE_INFINITY && random.nextInt(++leastCount) == 0) {
+                // pick one of the ties with the same chance.
+                selected = upstream;
+            }
+        }
+        if (selected == null) {
+            return upstreamList.get(random.nextInt(upstreamList.size()));
+        }
+        return selected;
+    }
+}
@@ -18,10 +18,11 @@
 package org.apache.shenyu.loadbalancer.spi;
 
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
 import org.apache.shenyu.spi.Join;
 
-import java.security.SecureRandom;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * random algorithm impl.
@@ -29,58 +30,83 @@ import java.util.List;
 @Join
 public class RandomLoadBalancer extends AbstractLoadBalancer {
 
-    private static final SecureRandom RANDOM = new SecureRandom();
-
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
-        int totalWeight = calculateTotalWeight(upstreamList);
-        boolean sameWeight = isAllUpStreamSameWeight(upstreamList);
-        if (totalWeight > 0 && !sameWeight) {
-            return random(totalWeight, upstreamList);
+        if (!(upstreamList instanceof UpstreamSnapshot)) {
+            return new WeightTable(upstreamList).select(ThreadLocalRandom.current());
         }
-        // If the weights are the same or the weights are 0 then random.
-        return random(upstreamList);
-    }
-
-    private boolean isAllUpStreamSameWeight(final List<Upstream> upstreamList) {
-        boolean sameWeight = true;
-        int length = upstreamList.size();
-        for (int i = 0; i < length; i++) {
-            int weight = getWeight(upstreamList.get(i));
-            if (i > 0 && weight != getWeight(upstreamList.get(i - 1))) {
-                // Calculate whether the weight of ownership is the same.
-                sameWeight = false;
-                break;
+        final UpstreamSnapshot snapshot = (UpstreamSnapshot) upstreamList;
+        WeightTable table = snapshot.getState(this, WeightTable::new);
+        if (!table.stable) {
+            // the warmup weights are still changing.
+            table = new WeightTable(upstreamList);
+            if (table.stable) {
+                snapshot.putState(this, table);
             }
         }
-        return sameWeight;
+        return table.select(ThreadLocalRandom.current());
     }
 
-    private int calculateTotalWeight(final List<Upstream> upstreamList) {
-        // total weight.
-        int totalWeight = 0;
-        for (Upstream upstream : upstreamList) {
-            int weight = getWeight(upstream);
-            // Cumulative total weight.
-            totalWeight += weight;
-        }
-        return totalWeight;
-    }
+    /**
+     * the prefix sums of the upstream weights, it is only reused once no upstream is warming up.
+     */
+    private final class WeightTable {
+
+        private final Upstream[] upstreams;
+
+        private final int[] prefixWeights;
 
-    private Upstream random(final int totalWeight, final List<Upstream> upstreamList) {
-        // If the weights are not the same and the weights are greater than 0, then random by the total number of weights.
-        int offset = RANDOM.nextInt(totalWeight);
-        // Determine which segment the random value falls on
-        for (Upstream upstream : upstreamList) {
-            offset -= getWeight(upstream);
-            if (offset < 0) {
-                return upstream;
+        private final boolean sameWeight;
+
+        private final boolean stable;
+
+        WeightTable(final List<Upstream> upstreamList) {
+            this.upstreams = upstreamList.toArray(new Upstream[0]);
+            this.prefixWeights = new int[upstreams.length];
+            final long now = System.currentTimeMillis();
+            boolean same = true;
+            boolean warmed = true;
+            int previousWeight = 0;
+            int totalWeight = 0;
+            for (int i = 0; i < upstreams.length; i++) {
+                final Upstream upstream = upstreams[i];
+                final int weight = getWeight(upstream);
+                if (i > 0 && weight != previousWeight) {
+                    // Calculate whether the weight of ownership is the same.
+                    same = false;
+                }
+                previousWeight = weight;
+                // Cumulative total weight.
+                totalWeight += weight;
+                prefixWeights[i] = totalWeight;
+                if (isWarmingUp(upstream, now)) {
+                    warmed = false;
+                }
             }
+            this.sameWeight = same;
+            this.stable = warmed;
         }
-        return upstreamList.get(0);
-    }
 
-    private Upstream random(final List<Upstream> upstreamList) {
-        return upstreamList.get(RANDOM.nextInt(upstreamList.size()));
+        Upstream select(final ThreadLocalRandom random) {
+            final int totalWeight = prefixWeights[prefixWeights.length - 1];
+            if (totalWeight <= 0 || sameWeight) {
+                // If the weights are the same or the weights are 0 then random.
+                return upstreams[random.nextInt(upstreams.length)];
+            }
+            // If the weights are not the same and the weights are greater than 0, then random by the total number of weights.
+            final int offset = random.nextInt(totalWeight);
+            // Determine which segment the random value falls on
+            int low = 0;
+            int high = prefixWeights.length - 1;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (prefixWeights[mid] > offset) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return upstreams[low];
+        }
     }
 }
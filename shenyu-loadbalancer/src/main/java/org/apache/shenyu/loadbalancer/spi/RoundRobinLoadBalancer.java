@@ -18,6 +18,7 @@
 package org.apache.shenyu.loadbalancer.spi;
 
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
 import org.apache.shenyu.spi.Join;
 
 import java.util.List;
@@ -41,32 +42,59 @@ public class RoundRobinLoadBalancer extends AbstractLoadBalancer {
 
     @Override
     public Upstream doSelect(final List<Upstream> upstreamList, final String ip) {
+        if (upstreamList instanceof UpstreamSnapshot) {
+            // the snapshot never changes, so the state is kept by index.
+            final WeightedRoundRobin[] weightedRoundRobins = ((UpstreamSnapshot) upstreamList).getState(this, this::newWeightedRoundRobins);
+            return select(upstreamList, weightedRoundRobins);
+        }
         String key = upstreamList.get(0).getUrl();
         ConcurrentMap<String, WeightedRoundRobin> map = methodWeightMap.get(key);
         if (Objects.isNull(map)) {
             methodWeightMap.putIfAbsent(key, new ConcurrentHashMap<>(16));
             map = methodWeightMap.get(key);
         }
+        long now = System.currentTimeMillis();
+        final WeightedRoundRobin[] weightedRoundRobins = new WeightedRoundRobin[upstreamList.size()];
+        for (int i = 0; i < weightedRoundRobins.length; i++) {
+            weightedRoundRobins[i] = map.computeIfAbsent(upstreamList.get(i).getUrl(), k -> new WeightedRoundRobin());
+            weightedRoundRobins[i].setLastUpdate(now);
+        }
+        if (!updateLock.get() && upstreamList.size() != map.size() && updateLock.compareAndSet(false, true)) {
+            try {
+                // copy -> modify -> update reference.
+                ConcurrentMap<String, WeightedRoundRobin> newMap = new ConcurrentHashMap<>(map);
+                newMap.entrySet().removeIf(item -> now - item.getValue().getLastUpdate() > recyclePeriod);
+                methodWeightMap.put(key, newMap);
+            } finally {
+                updateLock.set(false);
+            }
+        }
+        return select(upstreamList, weightedRoundRobins);
+    }
+
+    private WeightedRoundRobin[] newWeightedRoundRobins(final List<Upstream> upstreamList) {
+        final WeightedRoundRobin[] weightedRoundRobins = new WeightedRoundRobin[upstreamList.size()];
+        for (int i = 0; i < weightedRoundRobins.length; i++) {
+            weightedRoundRobins[i] = new WeightedRoundRobin();
+        }
+        return weightedRoundRobins;
+    }
+
+    private Upstream select(final List<Upstream> upstreamList, final WeightedRoundRobin[] weightedRoundRobins) {
+        final int[] weights = getWeights(upstreamList);
         int totalWeight = 0;
         long maxCurrent = Long.MIN_VALUE;
-        long now = System.currentTimeMillis();
         Upstream selectedInvoker = null;
         WeightedRoundRobin selectedWeightedRoundRobin = null;
-        for (Upstream upstream : upstreamList) {
-            String rKey = upstream.getUrl();
-            WeightedRoundRobin weightedRoundRobin = map.get(rKey);
-            int weight = getWeight(upstream);
-            if (Objects.isNull(weightedRoundRobin)) {
-                weightedRoundRobin = new WeightedRoundRobin();
-                weightedRoundRobin.setWeight(weight);
-                map.putIfAbsent(rKey, weightedRoundRobin);
-            }
+        for (int i = 0; i < weightedRoundRobins.length; i++) {
+            Upstream upstream = upstreamList.get(i);
+            WeightedRoundRobin weightedRoundRobin = weightedRoundRobins[i];
+            int weight = weights[i];
             if (weight != weightedRoundRobin.getWeight()) {
                 // weight changed.
                 weightedRoundRobin.setWeight(weight);
             }
             long cur = weightedRoundRobin.increaseCurrent();
-            weightedRoundRobin.setLastUpdate(now);
             if (cur > maxCurrent) {
                 maxCurrent = cur;
                 selectedInvoker = upstream;
@@ -74,16 +102,6 @@ public class RoundRobinLoadBalancer extends AbstractLoadBalancer {
             }
             totalWeight += weight;
         }
-        if (!updateLock.get() && upstreamList.size() != map.size() && updateLock.compareAndSet(false, true)) {
-            try {
-                // copy -> modify -> update reference.
-                ConcurrentMap<String, WeightedRoundRobin> newMap = new ConcurrentHashMap<>(map);
-                newMap.entrySet().removeIf(item -> now - item.getValue().getLastUpdate() > recyclePeriod);
-                methodWeightMap.put(key, newMap);
-            } finally {
-                updateLock.set(false);
-            }
-        }
         if (Objects.nonNull(selectedInvoker)) {
             selectedWeightedRoundRobin.sel(totalWeight);
             return selectedInvoker;
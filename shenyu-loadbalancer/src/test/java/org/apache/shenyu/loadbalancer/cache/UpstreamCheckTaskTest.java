@@ -122,4 +122,36 @@ public class UpstreamCheckTaskTest {
         healthCheckTask.triggerRemoveAll(selectorId);
         assertFalse(healthCheckTask.getHealthyUpstream().containsKey(selectorId));
     }
+    
+    /**
+     * Test trigger eject.
+     */
+    @Test
+    public void testTriggerEject() {
+        final String selectorId = "s1";
+        Upstream upstream1 = Upstream.builder().url("127.0.0.1:8081").build();
+        Upstream upstream2 = Upstream.builder().url("127.0.0.1:8082").build();
+        Upstream upstream3 = Upstream.builder().url("127.0.0.1:8083").build();
+        healthCheckTask.triggerAddOne(selectorId, upstream1);
+        healthCheckTask.triggerAddOne(selectorId, upstream2);
+        healthCheckTask.triggerAddOne(selectorId, upstream3);
+
+        healthCheckTask.triggerEject(upstream1, 200, 1000, 50);
+        assertFalse(healthCheckTask.getHealthyUpstream().get(selectorId).contains(upstream1));
+        assertTrue(healthCheckTask.getUnhealthyUpstream().get(selectorId).contains(upstream1));
+        assertTrue(upstream1.getStats().isEjected());
+
+        // one more ejection would leave less than half of the upstreams healthy.
+        healthCheckTask.triggerEject(upstream2, 200, 1000, 50);
+        assertThat(healthCheckTask.getHealthyUpstream().get(selectorId).size(), is(2));
+        assertFalse(upstream2.getStats().isEjected());
+
+        Awaitility.await().atMost(3, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertTrue(healthCheckTask.getHealthyUpstream().get(selectorId).contains(upstream1)));
+        assertTrue(upstream1.isHealthy());
+        assertFalse(healthCheckTask.getUnhealthyUpstream().get(selectorId).contains(upstream1));
+
+        // ejected again in a row, the ejection time doubles.
+        assertThat(upstream1.getStats().eject(200, 1000), is(400L));
+    }
 }
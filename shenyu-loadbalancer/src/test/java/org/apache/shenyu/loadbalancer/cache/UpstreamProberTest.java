@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The type Upstream prober test.
+ */
+public class UpstreamProberTest {
+
+    private ServerSocket server;
+
+    private volatile String response;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new ServerSocket(0);
+        response = "HTTP/1.1 200 OK\r\nContent-Length: 15\r\n\r\n{\"status\":\"UP\"}";
+        Thread thread = new Thread(this::serve);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testTcpProbe() throws Exception {
+        UpstreamProber prober = new UpstreamProber(3000, null, null, null);
+        assertTrue(prober.probe("127.0.0.1:" + server.getLocalPort()).get(5, TimeUnit.SECONDS));
+        assertTrue(prober.probe("http://127.0.0.1:" + server.getLocalPort()).get(5, TimeUnit.SECONDS));
+        assertTrue(prober.probe("http://localhost:" + server.getLocalPort() + "/context").get(5, TimeUnit.SECONDS));
+        assertFalse(prober.probe("").get(5, TimeUnit.SECONDS));
+        assertFalse(prober.probe("127.0.0.1:port").get(5, TimeUnit.SECONDS));
+        int closedPort = closedPort();
+        assertFalse(prober.probe("127.0.0.1:" + closedPort).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testHttpProbe() throws Exception {
+        String url = "127.0.0.1:" + server.getLocalPort();
+        assertTrue(new UpstreamProber(3000, "/health", "2xx", "UP").probe(url).get(5, TimeUnit.SECONDS));
+        assertFalse(new UpstreamProber(3000, "health", "2xx", "DOWN").probe(url).get(5, TimeUnit.SECONDS));
+        assertFalse(new UpstreamProber(3000, "/health", "301,5xx", null).probe(url).get(5, TimeUnit.SECONDS));
+        response = "HTTP/1.1 503 Service Unavailable\r\nContent-Length: 0\r\n\r\n";
+        assertFalse(new UpstreamProber(3000, "/health", null, null).probe(url).get(5, TimeUnit.SECONDS));
+        assertTrue(new UpstreamProber(3000, "/health", "200,503", null).probe(url).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        // the server never answers, so the http probe must time out.
+        response = null;
+        UpstreamProber prober = new UpstreamProber(200, "/health", null, null);
+        assertFalse(prober.probe("127.0.0.1:" + server.getLocalPort()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        UpstreamProber prober = new UpstreamProber(3000, null, null, null);
+        prober.schedule(latch::countDown, 100);
+        prober.schedule(latch::countDown, 0);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testEvaluate() {
+        UpstreamProber prober = new UpstreamProber(3000, "/health", "2xx", "UP");
+        byte[] partial = "HTTP/1.1 200 OK\r\nContent-Le".getBytes(StandardCharsets.ISO_8859_1);
+        assertNull(prober.evaluate(partial, partial.length, false));
+        assertFalse(prober.evaluate(partial, partial.length, true));
+        byte[] full = "HTTP/1.1 200 OK\r\n\r\nUP".getBytes(StandardCharsets.ISO_8859_1);
+        assertTrue(prober.evaluate(full, full.length, false));
+        byte[] error = "HTTP/1.1 404 Not Found\r\n".getBytes(StandardCharsets.ISO_8859_1);
+        assertFalse(prober.evaluate(error, error.length, false));
+    }
+
+    private int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private void serve() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread thread = new Thread(() -> answer(socket));
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException ignored) {
+                // the server is closed.
+            }
+        }
+    }
+
+    private void answer(final Socket socket) {
+        try (Socket client = socket) {
+            InputStream in = client.getInputStream();
+            byte[] buffer = new byte[1024];
+            String answer = response;
+            if (answer == null || in.read(buffer) < 0) {
+                Thread.sleep(1000);
+                return;
+            }
+            OutputStream out = client.getOutputStream();
+            out.write(answer.getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+        } catch (IOException | InterruptedException ignored) {
+            // the probe may close the connection first.
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The type upstream snapshot test.
+ */
+public final class UpstreamSnapshotTest {
+
+    private final Upstream upstream1 = Upstream.builder().url("upstream-1").build();
+
+    private final Upstream upstream2 = Upstream.builder().url("upstream-2").build();
+
+    @Test
+    public void testWithAndWithout() {
+        final UpstreamSnapshot snapshot = new UpstreamSnapshot(Collections.singletonList(upstream1));
+        assertSame(snapshot, snapshot.with(upstream1));
+        final UpstreamSnapshot added = snapshot.with(upstream2);
+        assertEquals(Arrays.asList(upstream1, upstream2), added);
+        assertTrue(added.getVersion() > snapshot.getVersion());
+        assertEquals(Collections.singletonList(upstream1), snapshot);
+        assertSame(added, added.without(Upstream.builder().url("upstream-3").build()));
+        assertEquals(Collections.singletonList(upstream2), added.without(upstream1));
+        assertThrows(UnsupportedOperationException.class, () -> added.add(upstream1));
+    }
+
+    @Test
+    public void testState() {
+        final UpstreamSnapshot snapshot = new UpstreamSnapshot(Arrays.asList(upstream1, upstream2));
+        final Object key = new Object();
+        assertEquals(2, (int) snapshot.getState(key, UpstreamSnapshot::size));
+        assertEquals(2, (int) snapshot.getState(key, s -> 0));
+        snapshot.putState(key, 1);
+        assertEquals(1, (int) snapshot.getState(key, s -> 0));
+    }
+}
@@ -17,7 +17,9 @@
 
 package org.apache.shenyu.loadbalancer.spi;
 
+import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -29,6 +31,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 /**
  * The type Hash balance test.
@@ -131,4 +134,27 @@ public final class HashLoadBalanceTest {
         final Upstream assertUp = lastRing.get(lastRing.firstKey());
         assertEquals(assertUp.getUrl(), divideUpstream.getUrl());
     }
+
+    @Test
+    public void hashLoadBalanceSnapshotTest() {
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer();
+        final UpstreamSnapshot snapshot = new UpstreamSnapshot(hashLoadBalancesOrdered);
+        final Upstream upstream = hashLoadBalance.select(snapshot, "127.0.0.1");
+        assertEquals(upstream, hashLoadBalance.select(hashLoadBalancesOrdered, "127.0.0.1"));
+        assertEquals(upstream, hashLoadBalance.select(snapshot, "127.0.0.1"));
+        final UpstreamSnapshot removed = snapshot.without(upstream);
+        assertNotEquals(upstream, hashLoadBalance.select(removed, "127.0.0.1"));
+        assertEquals(upstream, hashLoadBalance.select(removed.with(upstream), "127.0.0.1"));
+    }
+
+    @Test
+    public void hashLoadBalanceMurmur3Test() {
+        final ShenyuConfig.LoadBalance loadBalance = new ShenyuConfig.LoadBalance();
+        loadBalance.setHashAlgorithm(HashLoadBalancer.MURMUR3);
+        loadBalance.setHashVirtualNodes(160);
+        final HashLoadBalancer hashLoadBalance = new HashLoadBalancer(loadBalance);
+        final Upstream upstream = hashLoadBalance.select(hashLoadBalancesOrdered, "127.0.0.1");
+        assertEquals(upstream, hashLoadBalance.select(hashLoadBalancesDisordered, "127.0.0.1"));
+        assertEquals(upstream, hashLoadBalance.select(hashLoadBalancesReversed, "127.0.0.1"));
+    }
 }
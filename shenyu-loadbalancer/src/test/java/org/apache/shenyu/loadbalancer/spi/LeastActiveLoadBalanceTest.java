@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * The type least active balance test.
+ */
+public final class LeastActiveLoadBalanceTest {
+
+    @Test
+    public void leastActiveLoadBalanceTest() {
+        final List<Upstream> upstreamList = Stream.of(10, 50, 40)
+                .map(weight -> Upstream.builder()
+                        .url("upstream-" + weight)
+                        .weight(weight)
+                        .build())
+                .collect(Collectors.toList());
+        final LeastActiveLoadBalancer leastActiveLoadBalancer = new LeastActiveLoadBalancer();
+        upstreamList.get(0).getStats().begin();
+        upstreamList.get(1).getStats().begin();
+        assertEquals("upstream-40", leastActiveLoadBalancer.select(upstreamList, "").getUrl());
+        upstreamList.get(2).getStats().begin();
+        upstreamList.get(2).getStats().begin();
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals("upstream-40", leastActiveLoadBalancer.select(upstreamList, "").getUrl());
+        }
+        upstreamList.get(1).getStats().end(System.nanoTime());
+        assertEquals("upstream-50", leastActiveLoadBalancer.select(upstreamList, "").getUrl());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.loadbalancer.spi;
+
+import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * The type peak ewma balance test.
+ */
+public final class PeakEwmaLoadBalanceTest {
+
+    @Test
+    public void peakEwmaLoadBalanceTest() {
+        final List<Upstream> upstreamList = Stream.of(1, 2, 3)
+                .map(index -> Upstream.builder()
+                        .url("upstream-" + index)
+                        .build())
+                .collect(Collectors.toList());
+        final PeakEwmaLoadBalancer peakEwmaLoadBalancer = new PeakEwmaLoadBalancer();
+        assertNotNull(peakEwmaLoadBalancer.select(upstreamList, ""));
+        final long now = System.nanoTime();
+        upstreamList.get(0).getStats().begin();
+        upstreamList.get(0).getStats().end(now - TimeUnit.MILLISECONDS.toNanos(300));
+        upstreamList.get(1).getStats().begin();
+        upstreamList.get(1).getStats().end(now - TimeUnit.MILLISECONDS.toNanos(100));
+        upstreamList.get(2).getStats().begin();
+        upstreamList.get(2).getStats().end(now - TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals("upstream-2", peakEwmaLoadBalancer.select(upstreamList, "").getUrl());
+        upstreamList.get(1).getStats().begin();
+        upstreamList.get(1).getStats().begin();
+        assertEquals("upstream-3", peakEwmaLoadBalancer.select(upstreamList, "").getUrl());
+        upstreamList.get(2).setStatus(false);
+        assertEquals("upstream-1", peakEwmaLoadBalancer.select(upstreamList, "").getUrl());
+    }
+}
@@ -21,10 +21,12 @@ import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 /**
@@ -85,4 +87,23 @@ public class RandomLoadBalanceTest {
         final Upstream upstreamReversed = randomLoadBalancer.select(randomLoadBalancesWeightReversed, "");
         assertNotNull(upstreamReversed);
     }
+
+    @Test
+    public void randomLoadBalanceWeightChangedTest() {
+        final RandomLoadBalancer randomLoadBalancer = new RandomLoadBalancer();
+        final List<Upstream> upstreamList = new ArrayList<>(randomLoadBalancesWeightOrdered);
+        upstreamList.add(Upstream.builder().url("upstream-0").weight(0).build());
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(randomLoadBalancer.select(upstreamList, ""));
+        }
+        upstreamList.get(0).setStatus(false);
+        upstreamList.get(1).setStatus(false);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("upstream-50", randomLoadBalancer.select(upstreamList, "").getUrl());
+        }
+        upstreamList.remove(2);
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(randomLoadBalancer.select(upstreamList, ""));
+        }
+    }
 }
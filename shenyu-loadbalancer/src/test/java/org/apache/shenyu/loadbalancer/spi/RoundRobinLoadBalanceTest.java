@@ -18,6 +18,7 @@
 package org.apache.shenyu.loadbalancer.spi;
 
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -96,4 +97,25 @@ public final class RoundRobinLoadBalanceTest {
         });
         assertEquals(60, countMap.get("upstream-50").intValue());
     }
+
+    @Test
+    public void roundRobinLoadBalanceSnapshotTest() {
+        UpstreamSnapshot snapshot = new UpstreamSnapshot(Stream.of(50, 20, 30)
+                .map(weight -> Upstream.builder()
+                        .url("upstream-" + weight)
+                        .weight(weight)
+                        .build())
+                .collect(Collectors.toList()));
+
+        RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer();
+        Map<String, Integer> countMap = new HashMap<>();
+        IntStream.range(0, 100).forEach(i -> {
+            Upstream result = roundRobinLoadBalancer.select(snapshot, "");
+            int count = countMap.getOrDefault(result.getUrl(), 0);
+            countMap.put(result.getUrl(), ++count);
+        });
+        assertEquals(50, countMap.get("upstream-50").intValue());
+        assertEquals(20, countMap.get("upstream-20").intValue());
+        assertEquals(30, countMap.get("upstream-30").intValue());
+    }
 }
@@ -63,12 +63,15 @@ public interface ShenyuPlugin {
     /**
      * plugin is executed.
      * if return true this plugin can not execute.
+     * the default asks {@link #skipRpcType(RpcTypeEnum)} with the rpc type of the request,
+     * so the plugins skipped by rpc type only override that one.
      *
      * @param exchange the current server exchange
-     * @return default false.
+     * @return default the skip of the rpc type of the request.
      */
     default boolean skip(ServerWebExchange exchange) {
-        return false;
+        ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+        return skipRpcType(Objects.isNull(shenyuContext) ? null : RpcTypeEnum.findByName(shenyuContext.getRpcType()));
     }
 
     /**
@@ -132,5 +135,17 @@ public interface ShenyuPlugin {
     default boolean skipExceptHttpLike(ServerWebExchange exchange) {
         return !skip(exchange, RpcTypeEnum.HTTP, RpcTypeEnum.SPRING_CLOUD);
     }
-}
 
+    /**
+     * plugin is never executed for the rpc type.
+     * if return true the plugin is dropped from the chain of this rpc type,
+     * and the default {@link #skip(ServerWebExchange)} skips it as well.
+     * a plugin overriding {@link #skip(ServerWebExchange)} has to skip at least the rpc types skipped here.
+     *
+     * @param rpcType the rpc type of the request, null when the request has none or an unknown one
+     * @return default false.
+     */
+    default boolean skipRpcType(RpcTypeEnum rpcType) {
+        return false;
+    }
+}
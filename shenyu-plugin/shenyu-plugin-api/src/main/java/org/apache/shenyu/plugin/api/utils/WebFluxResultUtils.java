@@ -17,7 +17,11 @@
 
 package org.apache.shenyu.plugin.api.utils;
 
+import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.common.utils.ObjectTypeUtils;
+import org.apache.shenyu.common.utils.RateLimitedLogger;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuEntity;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
@@ -27,8 +31,11 @@ import org.springframework.http.MediaType;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The type Shenyu result utils.
@@ -40,6 +47,21 @@ public final class WebFluxResultUtils {
      */
     private static final Logger LOG = LoggerFactory.getLogger(WebFluxResultUtils.class);
     
+    /**
+     * the rejections can come by the million, log each kind of them once a second.
+     */
+    private static final RateLimitedLogger REJECT_LOG = new RateLimitedLogger(LOG, 1000L);
+    
+    /**
+     * the messages of the prepared error responses at most, so the errors with variable messages do not fill the cache.
+     */
+    private static final int MAX_PREPARED_MESSAGES = 1024;
+    
+    /**
+     * the serialized error responses of the default shenyu result, by message and code.
+     */
+    private static final Map<String, Map<Integer, byte[]>> PREPARED = new ConcurrentHashMap<>();
+    
     private WebFluxResultUtils() {
     }
     
@@ -55,6 +77,15 @@ public final class WebFluxResultUtils {
             return Mono.empty();
         }
         final ShenyuResult<?> shenyuResult = ShenyuResultWrap.shenyuResult();
+        final byte[] prepared = prepared(shenyuResult, result);
+        if (Objects.nonNull(prepared)) {
+            // the default error result is the same json for the same code and message, it is serialized once,
+            // the responses share the cached bytes through a read only view
+            exchange.getResponse().getHeaders().setContentType(shenyuResult.contentType(exchange, prepared));
+            exchange.getResponse().getHeaders().setContentLength(prepared.length);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                .wrap(ByteBuffer.wrap(prepared).asReadOnlyBuffer())));
+        }
         Object resultData = shenyuResult.format(exchange, result);
         // basic data use text/plain
         MediaType mediaType = MediaType.TEXT_PLAIN;
@@ -71,6 +102,33 @@ public final class WebFluxResultUtils {
             .doOnNext(data -> exchange.getResponse().getHeaders().setContentLength(data.readableByteCount())));
     }
     
+    /**
+     * Get the serialized error of the default shenyu result.
+     *
+     * @param shenyuResult the shenyu result
+     * @param result the result
+     * @return the serialized result, null if the result is not a default error or there are too many messages
+     */
+    static byte[] prepared(final ShenyuResult<?> shenyuResult, final Object result) {
+        if (!(result instanceof DefaultShenyuEntity) || shenyuResult.getClass() != DefaultShenyuResult.class) {
+            return null;
+        }
+        final DefaultShenyuEntity entity = (DefaultShenyuEntity) result;
+        if (Objects.nonNull(entity.getData()) || Objects.isNull(entity.getCode()) || Objects.isNull(entity.getMessage())) {
+            return null;
+        }
+        Map<Integer, byte[]> byCode = PREPARED.get(entity.getMessage());
+        if (Objects.isNull(byCode)) {
+            if (PREPARED.size() >= MAX_PREPARED_MESSAGES) {
+                return null;
+            }
+            byCode = PREPARED.computeIfAbsent(entity.getMessage(), key -> new ConcurrentHashMap<>(4));
+        }
+        final byte[] bytes = byCode.get(entity.getCode());
+        return Objects.nonNull(bytes) ? bytes
+                : byCode.computeIfAbsent(entity.getCode(), key -> JsonUtils.toJson(entity).getBytes(StandardCharsets.UTF_8));
+    }
+    
     /**
      * get no selector result.
      *
@@ -79,7 +137,7 @@ public final class WebFluxResultUtils {
      * @return the mono
      */
     public static Mono<Void> noSelectorResult(final String pluginName, final ServerWebExchange exchange) {
-        LOG.error("can not match selector data: {}", pluginName);
+        REJECT_LOG.error("can not match selector data: {}", pluginName);
         Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.SELECTOR_NOT_FOUND.getCode(), pluginName + ":" + ShenyuResultEnum.SELECTOR_NOT_FOUND.getMsg(), null);
         return WebFluxResultUtils.result(exchange, error);
     }
@@ -92,7 +150,7 @@ public final class WebFluxResultUtils {
      * @return the mono
      */
     public static Mono<Void> noRuleResult(final String pluginName, final ServerWebExchange exchange) {
-        LOG.error("can not match rule data: {}", pluginName);
+        REJECT_LOG.error("can not match rule data: {}", pluginName);
         Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.RULE_NOT_FOUND.getCode(), pluginName + ":" + ShenyuResultEnum.RULE_NOT_FOUND.getMsg(), null);
         return WebFluxResultUtils.result(exchange, error);
     }
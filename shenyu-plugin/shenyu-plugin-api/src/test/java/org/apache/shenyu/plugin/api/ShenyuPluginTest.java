@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for the default skip of {@link ShenyuPlugin}.
+ */
+public final class ShenyuPluginTest {
+
+    private final ShenyuPlugin httpPlugin = new TestShenyuPlugin() {
+
+        @Override
+        public boolean skipRpcType(final RpcTypeEnum rpcType) {
+            return rpcType != RpcTypeEnum.HTTP;
+        }
+    };
+
+    private final ShenyuPlugin allPlugin = new TestShenyuPlugin();
+
+    @ParameterizedTest(name = "{index} => skip {0}")
+    @EnumSource(RpcTypeEnum.class)
+    public void testSkipOfRpcType(final RpcTypeEnum rpcType) {
+        ServerWebExchange exchange = exchange(rpcType.getName());
+        assertEquals(httpPlugin.skipRpcType(rpcType), httpPlugin.skip(exchange));
+        assertFalse(allPlugin.skip(exchange));
+    }
+
+    @Test
+    public void testSkipWithoutRpcType() {
+        assertTrue(httpPlugin.skip(exchange(null)));
+        assertTrue(httpPlugin.skip(exchange("unknown")));
+        assertTrue(httpPlugin.skip(mock(ServerWebExchange.class)));
+        assertFalse(allPlugin.skip(mock(ServerWebExchange.class)));
+    }
+
+    private ServerWebExchange exchange(final String rpcType) {
+        ShenyuContext context = new ShenyuContext();
+        context.setRpcType(rpcType);
+        ServerWebExchange exchange = mock(ServerWebExchange.class);
+        when(exchange.getAttribute(Constants.CONTEXT)).thenReturn(context);
+        return exchange;
+    }
+
+    private static class TestShenyuPlugin implements ShenyuPlugin {
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.utils;
+
+import org.apache.shenyu.common.utils.JsonUtils;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuEntity;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for {@link WebFluxResultUtils}.
+ */
+public final class WebFluxResultUtilsTest {
+
+    private final DefaultShenyuResult shenyuResult = new DefaultShenyuResult();
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        final Field field = WebFluxResultUtils.class.getDeclaredField("PREPARED");
+        field.setAccessible(true);
+        ((Map<?, ?>) field.get(null)).clear();
+    }
+
+    @Test
+    public void testPreparedCacheHit() {
+        final byte[] prepared = WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(500, "hit", null));
+        assertNotNull(prepared);
+        assertArrayEquals(JsonUtils.toJson(DefaultShenyuEntity.error(500, "hit", null)).getBytes(StandardCharsets.UTF_8), prepared);
+        assertSame(prepared, WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(500, "hit", null)));
+        final byte[] otherCode = WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(404, "hit", null));
+        assertNotNull(otherCode);
+        assertNotSame(prepared, otherCode);
+    }
+
+    @Test
+    public void testPreparedBypassData() {
+        assertNull(WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(500, "data", "detail")));
+        assertNull(WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(500, null, null)));
+        assertNull(WebFluxResultUtils.prepared(shenyuResult, "error"));
+    }
+
+    @Test
+    public void testPreparedBypassCustomResult() {
+        final ShenyuResult<?> customResult = new DefaultShenyuResult() {
+        };
+        assertNull(WebFluxResultUtils.prepared(customResult, DefaultShenyuEntity.error(500, "custom", null)));
+        assertNull(WebFluxResultUtils.prepared(mock(ShenyuResult.class), DefaultShenyuEntity.error(500, "custom", null)));
+    }
+
+    @Test
+    public void testPreparedMessageCap() {
+        for (int i = 0; i < 1024; i++) {
+            assertNotNull(WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(500, "message" + i, null)));
+        }
+        assertNull(WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(500, "message1024", null)));
+        assertNotNull(WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(500, "message0", null)));
+        assertNotNull(WebFluxResultUtils.prepared(shenyuResult, DefaultShenyuEntity.error(404, "message0", null)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResultWritesReadOnlyView() {
+        final ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(ShenyuResult.class)).thenReturn(shenyuResult);
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        final ServerWebExchange exchange = mock(ServerWebExchange.class);
+        final ServerHttpResponse response = mock(ServerHttpResponse.class);
+        when(exchange.getResponse()).thenReturn(response);
+        when(response.getHeaders()).thenReturn(new HttpHeaders());
+        when(response.bufferFactory()).thenReturn(new DefaultDataBufferFactory());
+        when(response.writeWith(any())).thenReturn(Mono.empty());
+
+        final DefaultShenyuEntity error = DefaultShenyuEntity.error(500, "view", null);
+        WebFluxResultUtils.result(exchange, error).block();
+        final ArgumentCaptor<Publisher<DataBuffer>> captor = ArgumentCaptor.forClass(Publisher.class);
+        verify(response).writeWith(captor.capture());
+        final DataBuffer buffer = Mono.from(captor.getValue()).block();
+        assertNotNull(buffer);
+        assertTrue(buffer.asByteBuffer().isReadOnly());
+        assertEquals(JsonUtils.toJson(error), buffer.toString(StandardCharsets.UTF_8));
+        assertEquals(buffer.readableByteCount(), response.getHeaders().getContentLength());
+    }
+}
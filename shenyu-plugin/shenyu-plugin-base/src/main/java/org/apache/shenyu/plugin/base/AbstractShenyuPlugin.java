@@ -25,26 +25,21 @@ import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
-import org.apache.shenyu.common.enums.MatchModeEnum;
 import org.apache.shenyu.common.enums.SelectorTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.MatchDataCache;
-import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.apache.shenyu.plugin.base.condition.matcher.RuleMatcher;
+import org.apache.shenyu.plugin.base.condition.matcher.SelectorMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * abstract shenyu plugin please extends.
@@ -92,11 +87,11 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             Pair<Boolean, SelectorData> resultSelectorData = obtainSelectorDataCacheIfEnabled(exchange);
             SelectorData selectorData = resultSelectorData.getRight();
             if (Boolean.TRUE.equals(resultSelectorData.getLeft())) {
-                List<SelectorData> selectors = BaseDataCache.getInstance().obtainSelectorData(pluginName);
-                if (CollectionUtils.isEmpty(selectors)) {
+                SelectorMatcher selectorMatcher = BaseDataCache.getInstance().obtainSelectorMatcher(pluginName);
+                if (Objects.isNull(selectorMatcher) || selectorMatcher.isEmpty()) {
                     return handleSelectorIfNull(pluginName, exchange, chain);
                 }
-                Pair<Boolean, SelectorData> matchSelectorData = matchSelector(exchange, selectors);
+                Pair<Boolean, SelectorData> matchSelectorData = selectorMatcher.match(exchange);
                 selectorData = matchSelectorData.getRight();
                 if (matchSelectorData.getLeft()) {
                     cacheSelectorDataIfEnabled(path, selectorData);
@@ -107,16 +102,16 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             }
             selectorLog(selectorData, pluginName);
 
-            List<RuleData> rules = BaseDataCache.getInstance().obtainRuleData(selectorData.getId());
-            if (CollectionUtils.isEmpty(rules)) {
+            RuleMatcher ruleMatcher = BaseDataCache.getInstance().obtainRuleMatcher(selectorData.getId());
+            if (Objects.isNull(ruleMatcher) || ruleMatcher.isEmpty()) {
                 return handleRuleIfNull(pluginName, exchange, chain);
             }
             RuleData rule;
             if (selectorData.getType() == SelectorTypeEnum.FULL_FLOW.getCode()) {
                 //get last
-                rule = rules.get(rules.size() - 1);
+                rule = ruleMatcher.last();
             } else {
-                rule = matchRule(exchange, rules);
+                rule = matchRule(exchange, path, selectorData.getId(), ruleMatcher);
             }
             if (Objects.isNull(rule)) {
                 return handleRuleIfNull(pluginName, exchange, chain);
@@ -149,6 +144,23 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         }
     }
 
+    private RuleData matchRule(final ServerWebExchange exchange, final String path, final String selectorId, final RuleMatcher ruleMatcher) {
+        if (!matchCacheConfig.getEnabled() || !ruleMatcher.isPathOnly()) {
+            return ruleMatcher.match(exchange);
+        }
+        RuleData cachedRuleData = MatchDataCache.getInstance().obtainRuleData(selectorId, path);
+        if (Objects.nonNull(cachedRuleData)) {
+            return StringUtils.isBlank(cachedRuleData.getId()) ? null : cachedRuleData;
+        }
+        RuleData ruleData = ruleMatcher.match(exchange);
+        MatchDataCache.getInstance().cacheRuleData(selectorId, path, ruleData, getMaxFreeMemory());
+        // the rules may be updated while matching, drop what is just cached to avoid keeping a stale result
+        if (BaseDataCache.getInstance().obtainRuleMatcher(selectorId) != ruleMatcher) {
+            MatchDataCache.getInstance().removeRuleData(selectorId);
+        }
+        return ruleData;
+    }
+
     private Integer getMaxFreeMemory() {
         return matchCacheConfig.getMaxFreeMemory() * 1024 * 1024;
     }
@@ -178,51 +190,6 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return chain.execute(exchange);
     }
 
-    private Pair<Boolean, SelectorData> matchSelector(final ServerWebExchange exchange, final Collection<SelectorData> selectors) {
-        List<SelectorData> filterCollectors = selectors.stream()
-                .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange)).collect(Collectors.toList());
-        if (filterCollectors.size() > 1) {
-            return Pair.of(Boolean.FALSE, manyMatchSelector(filterCollectors));
-        } else {
-            return Pair.of(Boolean.TRUE, filterCollectors.stream().findFirst().orElse(null));
-        }
-    }
-
-    private SelectorData manyMatchSelector(final List<SelectorData> filterCollectors) {
-        //What needs to be dealt with here is the and condition. If the number of and conditions is the same and is matched at the same time,
-        // it will be sorted by the sort field.
-        Map<Integer, List<Pair<Integer, SelectorData>>> collect =
-                filterCollectors.stream().map(selector -> {
-                    boolean match = MatchModeEnum.match(selector.getMatchMode(), MatchModeEnum.AND);
-                    int sort = 0;
-                    if (match) {
-                        sort = selector.getConditionList().size();
-                    }
-                    return Pair.of(sort, selector);
-                }).collect(Collectors.groupingBy(Pair::getLeft));
-        Integer max = Collections.max(collect.keySet());
-        List<Pair<Integer, SelectorData>> pairs = collect.get(max);
-        return pairs.stream().map(Pair::getRight).min(Comparator.comparing(SelectorData::getSort)).orElse(null);
-    }
-
-    private Boolean filterSelector(final SelectorData selector, final ServerWebExchange exchange) {
-        if (selector.getType() == SelectorTypeEnum.CUSTOM_FLOW.getCode()) {
-            if (CollectionUtils.isEmpty(selector.getConditionList())) {
-                return false;
-            }
-            return MatchStrategyFactory.match(selector.getMatchMode(), selector.getConditionList(), exchange);
-        }
-        return true;
-    }
-
-    private RuleData matchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
-        return rules.stream().filter(rule -> filterRule(rule, exchange)).findFirst().orElse(null);
-    }
-
-    private Boolean filterRule(final RuleData ruleData, final ServerWebExchange exchange) {
-        return ruleData.getEnabled() && MatchStrategyFactory.match(ruleData.getMatchMode(), ruleData.getConditionDataList(), exchange);
-    }
-
     private void selectorLog(final SelectorData selectorData, final String pluginName) {
         if (selectorData.getLogged()) {
             LOG.info("{} selector success match , selector name :{}", pluginName, selectorData.getName());
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.base;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
@@ -44,6 +45,9 @@ import java.util.Objects;
  */
 public class RpcParamTransformPlugin implements ShenyuPlugin {
 
+    private static final RpcTypeEnum[] RPC_TYPES = {RpcTypeEnum.DUBBO, RpcTypeEnum.GRPC,
+        RpcTypeEnum.TARS, RpcTypeEnum.MOTAN, RpcTypeEnum.SOFA};
+
     @Override
     public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -100,13 +104,8 @@ public class RpcParamTransformPlugin implements ShenyuPlugin {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange,
-                RpcTypeEnum.DUBBO,
-                RpcTypeEnum.GRPC,
-                RpcTypeEnum.TARS,
-                RpcTypeEnum.MOTAN,
-                RpcTypeEnum.SOFA);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return !ArrayUtils.contains(RPC_TYPES, rpcType);
     }
 
     @NonNull
@@ -22,6 +22,8 @@ import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.condition.matcher.RuleMatcher;
+import org.apache.shenyu.plugin.base.condition.matcher.SelectorMatcher;
 
 import java.util.Comparator;
 import java.util.List;
@@ -51,6 +53,16 @@ public final class BaseDataCache {
      */
     private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
 
+    /**
+     * pluginName -> SelectorMatcher, swapped as a whole on every selector change.
+     */
+    private static final ConcurrentMap<String, SelectorMatcher> SELECTOR_MATCHER_MAP = Maps.newConcurrentMap();
+
+    /**
+     * selectorId -> RuleMatcher, swapped as a whole on every rule change.
+     */
+    private static final ConcurrentMap<String, RuleMatcher> RULE_MATCHER_MAP = Maps.newConcurrentMap();
+
     private BaseDataCache() {
     }
     
@@ -132,8 +144,13 @@ public final class BaseDataCache {
      */
     public void removeSelectData(final SelectorData selectorData) {
         Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
-            Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
+            synchronized (SELECTOR_MAP) {
+                final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
+                Optional.ofNullable(selectorDataList).ifPresent(list -> {
+                    list.removeIf(e -> e.getId().equals(data.getId()));
+                    SELECTOR_MATCHER_MAP.put(data.getPluginName(), SelectorMatcher.compile(list));
+                });
+            }
         });
     }
     
@@ -143,14 +160,20 @@ public final class BaseDataCache {
      * @param pluginName the plugin name
      */
     public void removeSelectDataByPluginName(final String pluginName) {
-        SELECTOR_MAP.remove(pluginName);
+        synchronized (SELECTOR_MAP) {
+            SELECTOR_MAP.remove(pluginName);
+            SELECTOR_MATCHER_MAP.remove(pluginName);
+        }
     }
     
     /**
      * Clean selector data.
      */
     public void cleanSelectorData() {
-        SELECTOR_MAP.clear();
+        synchronized (SELECTOR_MAP) {
+            SELECTOR_MAP.clear();
+            SELECTOR_MATCHER_MAP.clear();
+        }
     }
     
     /**
@@ -171,6 +194,16 @@ public final class BaseDataCache {
     public List<SelectorData> obtainSelectorData(final String pluginName) {
         return SELECTOR_MAP.get(pluginName);
     }
+
+    /**
+     * Obtain the selector matcher of the plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the selector matcher, null if absent
+     */
+    public SelectorMatcher obtainSelectorMatcher(final String pluginName) {
+        return SELECTOR_MATCHER_MAP.get(pluginName);
+    }
     
     /**
      * Cache rule data.
@@ -188,8 +221,13 @@ public final class BaseDataCache {
      */
     public void removeRuleData(final RuleData ruleData) {
         Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
-            Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
+            synchronized (RULE_MAP) {
+                final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
+                Optional.ofNullable(ruleDataList).ifPresent(list -> {
+                    list.removeIf(rule -> rule.getId().equals(data.getId()));
+                    RULE_MATCHER_MAP.put(data.getSelectorId(), RuleMatcher.compile(list));
+                });
+            }
         });
     }
     
@@ -199,14 +237,20 @@ public final class BaseDataCache {
      * @param selectorId the selector id
      */
     public void removeRuleDataBySelectorId(final String selectorId) {
-        RULE_MAP.remove(selectorId);
+        synchronized (RULE_MAP) {
+            RULE_MAP.remove(selectorId);
+            RULE_MATCHER_MAP.remove(selectorId);
+        }
     }
     
     /**
      * Clean rule data.
      */
     public void cleanRuleData() {
-        RULE_MAP.clear();
+        synchronized (RULE_MAP) {
+            RULE_MAP.clear();
+            RULE_MATCHER_MAP.clear();
+        }
     }
     
     /**
@@ -228,6 +272,16 @@ public final class BaseDataCache {
         return RULE_MAP.get(selectorId);
     }
 
+    /**
+     * Obtain the rule matcher of the selector.
+     *
+     * @param selectorId the selector id
+     * @return the rule matcher, null if absent
+     */
+    public RuleMatcher obtainRuleMatcher(final String selectorId) {
+        return RULE_MATCHER_MAP.get(selectorId);
+    }
+
     /**
      *  cache rule data.
      *
@@ -245,6 +299,7 @@ public final class BaseDataCache {
             } else {
                 RULE_MAP.put(selectorId, Lists.newArrayList(data));
             }
+            RULE_MATCHER_MAP.put(selectorId, RuleMatcher.compile(RULE_MAP.get(selectorId)));
         }
     }
 
@@ -265,6 +320,7 @@ public final class BaseDataCache {
             } else {
                 SELECTOR_MAP.put(key, Lists.newArrayList(data));
             }
+            SELECTOR_MATCHER_MAP.put(key, SelectorMatcher.compile(SELECTOR_MAP.get(key)));
         }
     }
 }
@@ -123,6 +123,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
     public void refreshSelectorDataAll() {
         BaseDataCache.getInstance().cleanSelectorData();
         MatchDataCache.getInstance().cleanSelectorData();
+        MatchDataCache.getInstance().cleanRuleData();
     }
     
     @Override
@@ -131,6 +132,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             return;
         }
         BaseDataCache.getInstance().cleanSelectorDataSelf(selectorDataList);
+        selectorDataList.forEach(selectorData -> MatchDataCache.getInstance().removeRuleData(selectorData.getId()));
     }
     
     @Override
@@ -146,6 +148,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
     @Override
     public void refreshRuleDataAll() {
         BaseDataCache.getInstance().cleanRuleData();
+        MatchDataCache.getInstance().cleanRuleData();
     }
     
     @Override
@@ -154,6 +157,7 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             return;
         }
         BaseDataCache.getInstance().cleanRuleDataSelf(ruleDataList);
+        ruleDataList.forEach(ruleData -> MatchDataCache.getInstance().removeRuleData(ruleData.getSelectorId()));
     }
     
     private <T> void subscribeDataHandler(final T classData, final DataEventTypeEnum dataType) {
@@ -191,12 +195,14 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             SelectorData selectorData = (SelectorData) data;
             BaseDataCache.getInstance().cacheSelectData(selectorData);
             MatchDataCache.getInstance().removeSelectorData(selectorData.getPluginName());
+            MatchDataCache.getInstance().removeRuleData(selectorData.getId());
             Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
                     .ifPresent(handler -> handler.handlerSelector(selectorData));
             
         } else if (data instanceof RuleData) {
             RuleData ruleData = (RuleData) data;
             BaseDataCache.getInstance().cacheRuleData(ruleData);
+            MatchDataCache.getInstance().removeRuleData(ruleData.getSelectorId());
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.handlerRule(ruleData));
             
@@ -236,12 +242,14 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             SelectorData selectorData = (SelectorData) data;
             BaseDataCache.getInstance().removeSelectData(selectorData);
             MatchDataCache.getInstance().removeSelectorData(selectorData.getPluginName());
+            MatchDataCache.getInstance().removeRuleData(selectorData.getId());
             Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
                     .ifPresent(handler -> handler.removeSelector(selectorData));
             
         } else if (data instanceof RuleData) {
             RuleData ruleData = (RuleData) data;
             BaseDataCache.getInstance().removeRuleData(ruleData);
+            MatchDataCache.getInstance().removeRuleData(ruleData.getSelectorId());
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.removeRule(ruleData));
             
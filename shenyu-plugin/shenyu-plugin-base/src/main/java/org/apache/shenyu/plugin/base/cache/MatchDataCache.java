@@ -18,12 +18,13 @@
 package org.apache.shenyu.plugin.base.cache;
 
 import com.google.common.collect.Maps;
-import org.apache.shenyu.common.cache.MemorySafeLRUMap;
+import org.apache.shenyu.common.cache.MemorySafeClockCache;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 
-import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -33,10 +34,35 @@ public final class MatchDataCache {
 
     private static final MatchDataCache INSTANCE = new MatchDataCache();
 
+    private static final int SELECTOR_CACHE_MAX_SIZE = 1 << 16;
+
+    private static final long SELECTOR_CACHE_MAX_WEIGHT = 32L * 1024 * 1024;
+
+    private static final int RULE_CACHE_MAX_SIZE = 1 << 12;
+
+    private static final long RULE_CACHE_MAX_WEIGHT = 4L * 1024 * 1024;
+
+    /**
+     * pluginName -> path -> SelectorData.
+     */
+    private static final ConcurrentMap<String, MemorySafeClockCache<String, SelectorData>> SELECTOR_DATA_MAP = Maps.newConcurrentMap();
+
     /**
-     * pluginName -> LRUMap.
+     * selectorId -> path -> RuleData, the path of a request which matches no rule is cached with {@link #EMPTY_RULE_DATA}.
      */
-    private static final ConcurrentMap<String, Map<String, SelectorData>> SELECTOR_DATA_MAP = Maps.newConcurrentMap();
+    private static final ConcurrentMap<String, MemorySafeClockCache<String, RuleData>> RULE_DATA_MAP = Maps.newConcurrentMap();
+
+    private static final RuleData EMPTY_RULE_DATA = new RuleData();
+
+    private final LongAdder selectorHitCount = new LongAdder();
+
+    private final LongAdder selectorMissCount = new LongAdder();
+
+    private final LongAdder ruleHitCount = new LongAdder();
+
+    private final LongAdder ruleMissCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
 
     private MatchDataCache() {
     }
@@ -56,14 +82,14 @@ public final class MatchDataCache {
      * @param pluginName the pluginName
      */
     public void removeSelectorData(final String pluginName) {
-        SELECTOR_DATA_MAP.remove(pluginName);
+        recordEviction(SELECTOR_DATA_MAP.remove(pluginName));
     }
 
     /**
      * Clean selector data.
      */
     public void cleanSelectorData() {
-        SELECTOR_DATA_MAP.clear();
+        SELECTOR_DATA_MAP.keySet().forEach(this::removeSelectorData);
     }
 
     /**
@@ -74,7 +100,9 @@ public final class MatchDataCache {
      * @param maxMemory    the max memory
      */
     public void cacheSelectorData(final String path, final SelectorData selectorData, final Integer maxMemory) {
-        SELECTOR_DATA_MAP.computeIfAbsent(selectorData.getPluginName(), map -> new MemorySafeLRUMap<>(maxMemory, 1 << 16)).put(path, selectorData);
+        SELECTOR_DATA_MAP.computeIfAbsent(selectorData.getPluginName(),
+            map -> new MemorySafeClockCache<>(maxMemory, SELECTOR_CACHE_MAX_SIZE, SELECTOR_CACHE_MAX_WEIGHT, MemorySafeClockCache::estimateWeight))
+                .put(path, selectorData);
     }
 
     /**
@@ -85,7 +113,137 @@ public final class MatchDataCache {
      * @return the selector data
      */
     public SelectorData obtainSelectorData(final String pluginName, final String path) {
-        final Map<String, SelectorData> lruMap = SELECTOR_DATA_MAP.get(pluginName);
-        return Optional.ofNullable(lruMap).orElse(Maps.newHashMap()).get(path);
+        final MemorySafeClockCache<String, SelectorData> cache = SELECTOR_DATA_MAP.get(pluginName);
+        SelectorData selectorData = Objects.isNull(cache) ? null : cache.get(path);
+        (Objects.isNull(selectorData) ? selectorMissCount : selectorHitCount).increment();
+        return selectorData;
+    }
+
+    /**
+     * Remove the cached rule data of the selector.
+     *
+     * @param selectorId the selector id
+     */
+    public void removeRuleData(final String selectorId) {
+        if (Objects.isNull(selectorId)) {
+            return;
+        }
+        recordEviction(RULE_DATA_MAP.remove(selectorId));
+    }
+
+    /**
+     * Clean rule data.
+     */
+    public void cleanRuleData() {
+        RULE_DATA_MAP.keySet().forEach(this::removeRuleData);
+    }
+
+    /**
+     * Cache the matched rule data of the path, a null rule data means no rule is matched.
+     *
+     * @param selectorId the selector id
+     * @param path       the path
+     * @param ruleData   the rule data, may be null
+     * @param maxMemory  the max memory
+     */
+    public void cacheRuleData(final String selectorId, final String path, final RuleData ruleData, final Integer maxMemory) {
+        RULE_DATA_MAP.computeIfAbsent(selectorId,
+            map -> new MemorySafeClockCache<>(maxMemory, RULE_CACHE_MAX_SIZE, RULE_CACHE_MAX_WEIGHT, MemorySafeClockCache::estimateWeight))
+                .put(path, Objects.isNull(ruleData) ? EMPTY_RULE_DATA : ruleData);
+    }
+
+    /**
+     * Obtain the cached rule data of the path.
+     *
+     * @param selectorId the selector id
+     * @param path       the path
+     * @return null if absent, a rule data with blank id if it is cached that no rule is matched
+     */
+    public RuleData obtainRuleData(final String selectorId, final String path) {
+        final MemorySafeClockCache<String, RuleData> cache = RULE_DATA_MAP.get(selectorId);
+        RuleData ruleData = Objects.isNull(cache) ? null : cache.get(path);
+        (Objects.isNull(ruleData) ? ruleMissCount : ruleHitCount).increment();
+        return ruleData;
+    }
+
+    /**
+     * Gets the hit count of the selector cache.
+     *
+     * @return the hit count
+     */
+    public long getSelectorHitCount() {
+        return selectorHitCount.sum();
+    }
+
+    /**
+     * Gets the miss count of the selector cache.
+     *
+     * @return the miss count
+     */
+    public long getSelectorMissCount() {
+        return selectorMissCount.sum();
+    }
+
+    /**
+     * Gets the hit count of the rule cache.
+     *
+     * @return the hit count
+     */
+    public long getRuleHitCount() {
+        return ruleHitCount.sum();
+    }
+
+    /**
+     * Gets the miss count of the rule cache.
+     *
+     * @return the miss count
+     */
+    public long getRuleMissCount() {
+        return ruleMissCount.sum();
+    }
+
+    /**
+     * Gets the number of entries evicted by the size, weight or memory bounds.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum()
+                + SELECTOR_DATA_MAP.values().stream().mapToLong(MemorySafeClockCache::evictionCount).sum()
+                + RULE_DATA_MAP.values().stream().mapToLong(MemorySafeClockCache::evictionCount).sum();
+    }
+
+    /**
+     * Gets the number of cached selector entries.
+     *
+     * @return the size
+     */
+    public long getSelectorCacheSize() {
+        return SELECTOR_DATA_MAP.values().stream().mapToLong(MemorySafeClockCache::size).sum();
+    }
+
+    /**
+     * Gets the number of cached rule entries.
+     *
+     * @return the size
+     */
+    public long getRuleCacheSize() {
+        return RULE_DATA_MAP.values().stream().mapToLong(MemorySafeClockCache::size).sum();
+    }
+
+    /**
+     * Gets the estimated bytes of all the cached entries.
+     *
+     * @return the weighted size
+     */
+    public long getWeightedSize() {
+        return SELECTOR_DATA_MAP.values().stream().mapToLong(MemorySafeClockCache::weightedSize).sum()
+                + RULE_DATA_MAP.values().stream().mapToLong(MemorySafeClockCache::weightedSize).sum();
+    }
+
+    private void recordEviction(final MemorySafeClockCache<String, ?> removed) {
+        if (Objects.nonNull(removed)) {
+            evictionCount.add(removed.evictionCount());
+        }
     }
 }
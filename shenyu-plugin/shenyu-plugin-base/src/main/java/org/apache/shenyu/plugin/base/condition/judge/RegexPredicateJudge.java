@@ -17,9 +17,12 @@
 
 package org.apache.shenyu.plugin.base.condition.judge;
 
+import org.apache.shenyu.common.cache.MemorySafeClockCache;
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.spi.Join;
 
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 /**
@@ -28,8 +31,28 @@ import java.util.regex.Pattern;
 @Join
 public class RegexPredicateJudge implements PredicateJudge {
 
+    /**
+     * regex -> compiled pattern, filled when the condition data is synced.
+     */
+    private static final MemorySafeClockCache<String, Pattern> PATTERN_CACHE = new MemorySafeClockCache<>(Constants.THE_256_MB, 1 << 12);
+
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
-        return Pattern.matches(conditionData.getParamValue().trim(), realData);
+        return compile(conditionData.getParamValue().trim()).matcher(realData).matches();
+    }
+
+    /**
+     * Compile the regex, the result is cached and shared.
+     *
+     * @param regex the regex
+     * @return the pattern
+     */
+    public static Pattern compile(final String regex) {
+        Pattern pattern = PATTERN_CACHE.get(regex);
+        if (Objects.isNull(pattern)) {
+            pattern = Pattern.compile(regex);
+            PATTERN_CACHE.put(regex, pattern);
+        }
+        return pattern;
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.apache.shenyu.plugin.base.condition.data.ParameterData;
+import org.apache.shenyu.plugin.base.condition.data.ParameterDataFactory;
+import org.apache.shenyu.plugin.base.condition.data.URIParameterData;
+import org.apache.shenyu.plugin.base.condition.judge.ExcludePredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.MatchPredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+import org.apache.shenyu.plugin.base.condition.judge.RegexPredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.TimerAfterPredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.TimerBeforePredicateJudge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link ConditionData} whose parameter extractor and predicate judge are resolved ahead of time,
+ * so that the request path never touches the SPI loader or re-parses the configured value.
+ */
+public final class CompiledCondition {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledCondition.class);
+
+    private final ConditionData conditionData;
+
+    private final ParameterData parameterData;
+
+    private final PredicateJudge predicateJudge;
+
+    private final Predicate<String> predicate;
+
+    private CompiledCondition(final ConditionData conditionData, final ParameterData parameterData,
+                              final PredicateJudge predicateJudge, final Predicate<String> predicate) {
+        this.conditionData = conditionData;
+        this.parameterData = parameterData;
+        this.predicateJudge = predicateJudge;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Compile the condition data.
+     * when the operator or param type can not be resolved, the condition falls back to the factories,
+     * which keeps the original failure behavior at request time.
+     *
+     * @param conditionData the condition data
+     * @return the compiled condition
+     */
+    public static CompiledCondition compile(final ConditionData conditionData) {
+        if (Objects.isNull(conditionData)) {
+            return new CompiledCondition(null, null, null, realData -> false);
+        }
+        ConditionData trimmed = trim(conditionData);
+        try {
+            ParameterData parameterData = ParameterDataFactory.newInstance(trimmed.getParamType());
+            PredicateJudge judge = PredicateJudgeFactory.newInstance(trimmed.getOperator());
+            return new CompiledCondition(trimmed, parameterData, judge, compilePredicate(trimmed, judge));
+        } catch (RuntimeException e) {
+            LOG.warn("compile condition failed, fallback to dynamic judge, condition: {}", conditionData, e);
+            return new CompiledCondition(trimmed, null, null, realData -> PredicateJudgeFactory.judge(trimmed, realData));
+        }
+    }
+
+    /**
+     * Test the condition against the exchange.
+     *
+     * @param exchange the exchange
+     * @return true if the condition passes
+     */
+    public boolean test(final ServerWebExchange exchange) {
+        if (Objects.isNull(conditionData)) {
+            return false;
+        }
+        String realData = Objects.isNull(parameterData)
+                ? ParameterDataFactory.builderData(conditionData.getParamType(), conditionData.getParamName(), exchange)
+                : parameterData.builder(conditionData.getParamName(), exchange);
+        if (StringUtils.isBlank(realData)) {
+            return false;
+        }
+        return predicate.test(realData);
+    }
+
+    /**
+     * Gets the trimmed condition data.
+     *
+     * @return the condition data
+     */
+    public ConditionData getConditionData() {
+        return conditionData;
+    }
+
+    /**
+     * Whether the condition is judged on the request path, i.e. its real data comes from {@link URIParameterData}.
+     *
+     * @return true if it is a uri condition
+     */
+    public boolean isUriCondition() {
+        return parameterData instanceof URIParameterData;
+    }
+
+    /**
+     * Whether the result of the condition only depends on the request path, so that it can be cached by path.
+     *
+     * @return true if it only depends on the path
+     */
+    public boolean isPathOnly() {
+        return isUriCondition() && !(predicateJudge instanceof TimerAfterPredicateJudge) && !(predicateJudge instanceof TimerBeforePredicateJudge);
+    }
+
+    /**
+     * Gets the resolved predicate judge, null if it could not be resolved at compile time.
+     *
+     * @return the predicate judge
+     */
+    public PredicateJudge getPredicateJudge() {
+        return predicateJudge;
+    }
+
+    private static ConditionData trim(final ConditionData source) {
+        ConditionData target = new ConditionData();
+        target.setParamType(source.getParamType());
+        target.setOperator(source.getOperator());
+        target.setParamName(source.getParamName());
+        target.setParamValue(Objects.isNull(source.getParamValue()) ? null : source.getParamValue().trim());
+        return target;
+    }
+
+    private static Predicate<String> compilePredicate(final ConditionData conditionData, final PredicateJudge judge) {
+        final String paramValue = conditionData.getParamValue();
+        if (Objects.nonNull(paramValue)) {
+            boolean isUri = Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType());
+            if (judge instanceof RegexPredicateJudge) {
+                final Pattern pattern = RegexPredicateJudge.compile(paramValue);
+                return realData -> pattern.matcher(realData).matches();
+            }
+            if (judge instanceof MatchPredicateJudge && isUri) {
+                final List<String> patterns = PathMatchUtils.compile(paramValue);
+                return realData -> PathMatchUtils.match(patterns, realData);
+            }
+            if (judge instanceof ExcludePredicateJudge && isUri) {
+                final List<String> patterns = PathMatchUtils.compile(paramValue);
+                return realData -> !PathMatchUtils.match(patterns, realData);
+            }
+        }
+        return realData -> judge.judge(conditionData, realData);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable compiled form of a {@link RuleData}.
+ */
+public final class CompiledRule {
+
+    private final RuleData ruleData;
+
+    private final ConditionMatcher matcher;
+
+    private final boolean enabled;
+
+    private CompiledRule(final RuleData ruleData) {
+        this.ruleData = ruleData;
+        this.matcher = ConditionMatcher.compile(ruleData.getMatchMode(), ruleData.getConditionDataList());
+        this.enabled = Boolean.TRUE.equals(ruleData.getEnabled());
+    }
+
+    /**
+     * Compile the rule list, the order of the list is kept.
+     *
+     * @param ruleDataList the rule data list
+     * @return the compiled rules
+     */
+    public static CompiledRule[] compile(final List<RuleData> ruleDataList) {
+        if (Objects.isNull(ruleDataList)) {
+            return new CompiledRule[0];
+        }
+        return ruleDataList.stream().filter(Objects::nonNull).map(CompiledRule::new).toArray(CompiledRule[]::new);
+    }
+
+    /**
+     * Match the exchange.
+     *
+     * @param exchange the exchange
+     * @return true if matched
+     */
+    public boolean match(final ServerWebExchange exchange) {
+        return enabled && matcher.match(exchange);
+    }
+
+    /**
+     * Match the exchange, skipping the indexed uri conditions when they are already known to pass.
+     *
+     * @param exchange   the exchange
+     * @param uriMatched whether one of the indexed uri conditions is known to pass
+     * @return true if matched
+     */
+    public boolean match(final ServerWebExchange exchange, final boolean uriMatched) {
+        if (uriMatched) {
+            return enabled && matcher.matchResidual(exchange);
+        }
+        return match(exchange);
+    }
+
+    /**
+     * Gets the uri conditions the rule can be indexed by.
+     *
+     * @return the indexed conditions, empty if the rule is not indexable
+     */
+    public CompiledCondition[] getIndexedConditions() {
+        return matcher.getIndexedConditions();
+    }
+
+    /**
+     * Whether the result only depends on the request path.
+     *
+     * @return true if every condition only depends on the path
+     */
+    public boolean isPathOnly() {
+        return matcher.isPathOnly();
+    }
+
+    /**
+     * Whether the rule is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets rule data.
+     *
+     * @return the rule data
+     */
+    public RuleData getRuleData() {
+        return ruleData;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable compiled form of a {@link SelectorData}.
+ */
+public final class CompiledSelector {
+
+    private final SelectorData selectorData;
+
+    private final ConditionMatcher matcher;
+
+    private final boolean enabled;
+
+    private final boolean customFlow;
+
+    private final int andConditionCount;
+
+    private final int sort;
+
+    private CompiledSelector(final SelectorData selectorData) {
+        this.selectorData = selectorData;
+        this.matcher = ConditionMatcher.compile(selectorData.getMatchMode(), selectorData.getConditionList());
+        this.enabled = Boolean.TRUE.equals(selectorData.getEnabled());
+        this.customFlow = Objects.equals(selectorData.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode());
+        this.andConditionCount = MatchModeEnum.match(selectorData.getMatchMode(), MatchModeEnum.AND) ? matcher.size() : 0;
+        this.sort = Objects.isNull(selectorData.getSort()) ? Integer.MAX_VALUE : selectorData.getSort();
+    }
+
+    /**
+     * Compile the selector list, the order of the list is kept.
+     *
+     * @param selectorDataList the selector data list
+     * @return the compiled selectors
+     */
+    public static CompiledSelector[] compile(final List<SelectorData> selectorDataList) {
+        if (Objects.isNull(selectorDataList)) {
+            return new CompiledSelector[0];
+        }
+        return selectorDataList.stream().filter(Objects::nonNull).map(CompiledSelector::new).toArray(CompiledSelector[]::new);
+    }
+
+    /**
+     * Whether this selector wins over another matched selector.
+     * The one with the most and-conditions wins, then the one with the smallest sort, then the earlier one.
+     *
+     * @param other the other matched selector, may be null
+     * @return true if this selector is preferred
+     */
+    public boolean isPreferredOver(final CompiledSelector other) {
+        if (Objects.isNull(other)) {
+            return true;
+        }
+        if (andConditionCount != other.andConditionCount) {
+            return andConditionCount > other.andConditionCount;
+        }
+        return sort < other.sort;
+    }
+
+    /**
+     * Match the exchange.
+     *
+     * @param exchange the exchange
+     * @return true if matched
+     */
+    public boolean match(final ServerWebExchange exchange) {
+        if (!enabled) {
+            return false;
+        }
+        if (customFlow) {
+            return !matcher.isEmpty() && matcher.match(exchange);
+        }
+        return true;
+    }
+
+    /**
+     * Match the exchange, skipping the indexed uri conditions when they are already known to pass.
+     *
+     * @param exchange   the exchange
+     * @param uriMatched whether one of the indexed uri conditions is known to pass
+     * @return true if matched
+     */
+    public boolean match(final ServerWebExchange exchange, final boolean uriMatched) {
+        if (uriMatched) {
+            return enabled && matcher.matchResidual(exchange);
+        }
+        return match(exchange);
+    }
+
+    /**
+     * Gets the uri conditions the selector can be indexed by.
+     *
+     * @return the indexed conditions, empty if the selector is not indexable
+     */
+    public CompiledCondition[] getIndexedConditions() {
+        return customFlow ? matcher.getIndexedConditions() : new CompiledCondition[0];
+    }
+
+    /**
+     * Whether the selector is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets selector data.
+     *
+     * @return the selector data
+     */
+    public SelectorData getSelectorData() {
+        return selectorData;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.plugin.base.condition.judge.EqualsPredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.MatchPredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.StartsWithPredicateJudge;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable compiled form of a condition list together with its match mode.
+ */
+public final class ConditionMatcher {
+
+    private final boolean or;
+
+    private final CompiledCondition[] conditions;
+
+    private final CompiledCondition[] indexedConditions;
+
+    private final ConditionMatcher residual;
+
+    private ConditionMatcher(final boolean or, final CompiledCondition[] conditions) {
+        this.or = or;
+        this.conditions = conditions;
+        if (or) {
+            boolean allIndexable = conditions.length > 0 && Arrays.stream(conditions).allMatch(ConditionMatcher::isIndexable);
+            this.indexedConditions = allIndexable ? conditions : new CompiledCondition[0];
+            this.residual = allIndexable ? new ConditionMatcher(new CompiledCondition[0]) : null;
+        } else {
+            CompiledCondition indexed = Arrays.stream(conditions).filter(ConditionMatcher::isIndexable).findFirst().orElse(null);
+            this.indexedConditions = Objects.isNull(indexed) ? new CompiledCondition[0] : new CompiledCondition[]{indexed};
+            this.residual = Objects.isNull(indexed) ? null
+                    : new ConditionMatcher(Arrays.stream(conditions).filter(c -> c != indexed).toArray(CompiledCondition[]::new));
+        }
+    }
+
+    private ConditionMatcher(final CompiledCondition[] conditions) {
+        this.or = false;
+        this.conditions = conditions;
+        this.indexedConditions = new CompiledCondition[0];
+        this.residual = null;
+    }
+
+    /**
+     * Compile the condition list.
+     *
+     * @param matchMode         the match mode, see {@link MatchModeEnum}
+     * @param conditionDataList the condition data list
+     * @return the condition matcher
+     */
+    public static ConditionMatcher compile(final Integer matchMode, final List<ConditionData> conditionDataList) {
+        CompiledCondition[] conditions = CollectionUtils.isEmpty(conditionDataList)
+                ? new CompiledCondition[0]
+                : conditionDataList.stream().map(CompiledCondition::compile).toArray(CompiledCondition[]::new);
+        return new ConditionMatcher(MatchModeEnum.match(matchMode, MatchModeEnum.OR), conditions);
+    }
+
+    /**
+     * Match the exchange, keeps the semantics of the and/or {@code MatchStrategy}.
+     *
+     * @param exchange the exchange
+     * @return true if matched
+     */
+    public boolean match(final ServerWebExchange exchange) {
+        if (or) {
+            for (CompiledCondition condition : conditions) {
+                if (condition.test(exchange)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (CompiledCondition condition : conditions) {
+            if (!condition.test(exchange)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the uri conditions that can be indexed by the {@link PathTrie}, any of which passing is required for a match.
+     * It is empty when the matcher can not be narrowed by the request path.
+     *
+     * @return the indexed conditions
+     */
+    public CompiledCondition[] getIndexedConditions() {
+        return indexedConditions;
+    }
+
+    /**
+     * Match the exchange once one of the indexed conditions is known to pass.
+     *
+     * @param exchange the exchange
+     * @return true if matched
+     */
+    public boolean matchResidual(final ServerWebExchange exchange) {
+        return Objects.isNull(residual) ? match(exchange) : residual.match(exchange);
+    }
+
+    /**
+     * Whether the result only depends on the request path.
+     *
+     * @return true if every condition only depends on the path
+     */
+    public boolean isPathOnly() {
+        for (CompiledCondition condition : conditions) {
+            if (!condition.isPathOnly()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether there is no condition.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return conditions.length == 0;
+    }
+
+    /**
+     * Gets the number of conditions.
+     *
+     * @return the size
+     */
+    public int size() {
+        return conditions.length;
+    }
+
+    private static boolean isIndexable(final CompiledCondition condition) {
+        PredicateJudge judge = condition.getPredicateJudge();
+        return condition.isUriCondition() && Objects.nonNull(condition.getConditionData().getParamValue())
+                && (judge instanceof EqualsPredicateJudge || judge instanceof StartsWithPredicateJudge || judge instanceof MatchPredicateJudge);
+    }
+}
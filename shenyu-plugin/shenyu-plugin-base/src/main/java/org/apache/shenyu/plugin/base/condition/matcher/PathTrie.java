@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.apache.shenyu.plugin.base.condition.judge.EqualsPredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudge;
+import org.apache.shenyu.plugin.base.condition.judge.StartsWithPredicateJudge;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Segment based path trie over uri conditions, used to narrow the selectors or rules to evaluate.
+ * The trie works on ids (the index in the compiled list), and supports literal, {@code *}, {@code **} and {@code {var}} segments.
+ * The candidates returned are always a superset of the ids whose uri conditions pass; an id is "exact" when
+ * being found by the trie for a normalized path already proves its uri conditions, so only the rest of its conditions need to be judged.
+ */
+public final class PathTrie {
+
+    private static final String SEPARATOR = "/";
+
+    private static final String DOUBLE_SEPARATOR = "//";
+
+    private static final String CATCH_ALL = "**";
+
+    private static final String WILDCARD = "*";
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Node root;
+
+    private final int[] unindexed;
+
+    private final boolean[] exact;
+
+    private PathTrie(final Node root, final int[] unindexed, final boolean[] exact) {
+        this.root = root;
+        this.unindexed = unindexed;
+        this.exact = exact;
+    }
+
+    /**
+     * Create a builder for {@code size} ids.
+     *
+     * @param size the number of ids
+     * @return the builder
+     */
+    public static Builder builder(final int size) {
+        return new Builder(size);
+    }
+
+    /**
+     * Whether the path is normalized, only normalized paths can rely on exact ids.
+     *
+     * @param path the request path
+     * @return true if normalized
+     */
+    public static boolean isNormalized(final String path) {
+        return Objects.nonNull(path) && path.length() > 1 && path.startsWith(SEPARATOR)
+                && !path.endsWith(SEPARATOR) && !path.contains(DOUBLE_SEPARATOR);
+    }
+
+    /**
+     * Find the candidate ids of the path, sorted and distinct.
+     *
+     * @param path the request path
+     * @return the candidate ids
+     */
+    public int[] candidates(final String path) {
+        IntCollector collector = new IntCollector(unindexed);
+        if (StringUtils.isNotBlank(path)) {
+            collect(root, StringUtils.split(path, '/'), 0, path.endsWith(SEPARATOR), collector);
+        }
+        return collector.toSortedDistinctArray();
+    }
+
+    /**
+     * Whether the uri conditions of the id are proven once the id is a candidate of a normalized path.
+     *
+     * @param id the id
+     * @return true if exact
+     */
+    public boolean isExact(final int id) {
+        return exact[id];
+    }
+
+    private static void collect(final Node node, final String[] segments, final int index, final boolean trailingSeparator, final IntCollector collector) {
+        collector.addAll(node.prefixIds);
+        if (Objects.nonNull(node.catchAll)) {
+            for (int i = index; i <= segments.length; i++) {
+                collect(node.catchAll, segments, i, trailingSeparator, collector);
+            }
+        }
+        if (index == segments.length) {
+            collector.addAll(node.terminalIds);
+            // AntPathMatcher matches a trailing "*" against the empty segment after a trailing separator, like "/a/*" with "/a/"
+            if (trailingSeparator && Objects.nonNull(node.wildcard)) {
+                collector.addAll(node.wildcard.terminalIds);
+            }
+            return;
+        }
+        Node literal = node.literals.get(segments[index]);
+        if (Objects.nonNull(literal)) {
+            collect(literal, segments, index + 1, trailingSeparator, collector);
+        }
+        if (Objects.nonNull(node.wildcard)) {
+            collect(node.wildcard, segments, index + 1, trailingSeparator, collector);
+        }
+    }
+
+    /**
+     * The path trie builder, not thread safe.
+     */
+    public static final class Builder {
+
+        private final Node root = new Node();
+
+        private final IntCollector unindexed = new IntCollector(EMPTY);
+
+        private final boolean[] exact;
+
+        private Builder(final int size) {
+            this.exact = new boolean[size];
+        }
+
+        /**
+         * Index the id by its uri conditions, which must all be equals, startsWith or match conditions on the uri.
+         * An id without such conditions is always a candidate.
+         *
+         * @param id            the id
+         * @param uriConditions the uri conditions, any of which leads to the id
+         * @return this builder
+         */
+        public Builder add(final int id, final CompiledCondition[] uriConditions) {
+            if (uriConditions.length == 0) {
+                unindexed.add(id);
+                return this;
+            }
+            boolean allExact = true;
+            for (CompiledCondition condition : uriConditions) {
+                allExact &= insert(id, condition.getPredicateJudge(), condition.getConditionData().getParamValue());
+            }
+            exact[id] = allExact;
+            return this;
+        }
+
+        /**
+         * Build the path trie.
+         *
+         * @return the path trie
+         */
+        public PathTrie build() {
+            return new PathTrie(root, unindexed.toSortedDistinctArray(), exact);
+        }
+
+        private boolean insert(final int id, final PredicateJudge judge, final String value) {
+            if (judge instanceof EqualsPredicateJudge) {
+                Node node = root;
+                for (String segment : StringUtils.split(value, '/')) {
+                    node = node.literals.computeIfAbsent(segment, key -> new Node());
+                }
+                node.terminalIds = append(node.terminalIds, id);
+                return isNormalized(value);
+            }
+            if (judge instanceof StartsWithPredicateJudge) {
+                Node node = root;
+                int end = value.lastIndexOf('/');
+                if (end > 0) {
+                    for (String segment : StringUtils.split(value.substring(0, end), '/')) {
+                        node = node.literals.computeIfAbsent(segment, key -> new Node());
+                    }
+                }
+                node.prefixIds = append(node.prefixIds, id);
+                return false;
+            }
+            boolean allExact = true;
+            for (String pattern : PathMatchUtils.compile(value)) {
+                allExact &= insertPattern(id, pattern);
+            }
+            return allExact;
+        }
+
+        private boolean insertPattern(final int id, final String pattern) {
+            Node node = root;
+            boolean exactPattern = isNormalized(pattern);
+            if (pattern.startsWith(SEPARATOR)) {
+                for (String segment : StringUtils.split(pattern, '/')) {
+                    if (CATCH_ALL.equals(segment)) {
+                        node = node.catchAll = Objects.isNull(node.catchAll) ? new Node() : node.catchAll;
+                    } else if (WILDCARD.equals(segment) || isVariable(segment)) {
+                        node = node.wildcard = Objects.isNull(node.wildcard) ? new Node() : node.wildcard;
+                    } else if (isLiteral(segment)) {
+                        node = node.literals.computeIfAbsent(segment, key -> new Node());
+                    } else {
+                        node.prefixIds = append(node.prefixIds, id);
+                        return false;
+                    }
+                }
+                node.terminalIds = append(node.terminalIds, id);
+                return exactPattern;
+            }
+            node.prefixIds = append(node.prefixIds, id);
+            return false;
+        }
+
+        private static boolean isVariable(final String segment) {
+            return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}'
+                    && StringUtils.containsNone(segment.substring(1, segment.length() - 1), '{', '}', ':');
+        }
+
+        private static boolean isLiteral(final String segment) {
+            return StringUtils.containsNone(segment, '*', '?', '{', '}');
+        }
+
+        private static int[] append(final int[] ids, final int id) {
+            int[] result = Arrays.copyOf(ids, ids.length + 1);
+            result[ids.length] = id;
+            return result;
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+
+        private Node wildcard;
+
+        private Node catchAll;
+
+        private int[] terminalIds = EMPTY;
+
+        private int[] prefixIds = EMPTY;
+    }
+
+    private static final class IntCollector {
+
+        private int[] values;
+
+        private int size;
+
+        IntCollector(final int[] initial) {
+            this.values = Arrays.copyOf(initial, Math.max(initial.length, 8));
+            this.size = initial.length;
+        }
+
+        void add(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(final int[] ids) {
+            for (int id : ids) {
+                add(id);
+            }
+        }
+
+        int[] toSortedDistinctArray() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            Arrays.sort(values, 0, size);
+            int distinct = 1;
+            for (int i = 1; i < size; i++) {
+                if (values[i] != values[distinct - 1]) {
+                    values[distinct++] = values[i];
+                }
+            }
+            return Arrays.copyOf(values, distinct);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable matcher over the rules of a selector, the candidates are narrowed by a {@link PathTrie}.
+ */
+public final class RuleMatcher {
+
+    private final CompiledRule[] rules;
+
+    private final PathTrie pathTrie;
+
+    private final boolean pathOnly;
+
+    private RuleMatcher(final CompiledRule[] rules) {
+        this.rules = rules;
+        this.pathOnly = Arrays.stream(rules).filter(CompiledRule::isEnabled).allMatch(CompiledRule::isPathOnly);
+        PathTrie.Builder builder = PathTrie.builder(rules.length);
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].isEnabled()) {
+                builder.add(i, rules[i].getIndexedConditions());
+            }
+        }
+        this.pathTrie = builder.build();
+    }
+
+    /**
+     * Compile the rule list, the order of the list is kept.
+     *
+     * @param ruleDataList the rule data list
+     * @return the rule matcher
+     */
+    public static RuleMatcher compile(final List<RuleData> ruleDataList) {
+        return new RuleMatcher(CompiledRule.compile(ruleDataList));
+    }
+
+    /**
+     * Whether there is no rule.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    /**
+     * Whether the matched rule only depends on the request path, so that it can be cached by path.
+     *
+     * @return true if every enabled rule only depends on the path
+     */
+    public boolean isPathOnly() {
+        return pathOnly;
+    }
+
+    /**
+     * Gets the last rule, used by the full flow selector.
+     *
+     * @return the last rule, null if empty
+     */
+    public RuleData last() {
+        return isEmpty() ? null : rules[rules.length - 1].getRuleData();
+    }
+
+    /**
+     * Find the first matched rule.
+     *
+     * @param exchange the exchange
+     * @return the matched rule, or null
+     */
+    public RuleData match(final ServerWebExchange exchange) {
+        String path = exchange.getRequest().getURI().getPath();
+        boolean normalized = PathTrie.isNormalized(path);
+        for (int id : pathTrie.candidates(path)) {
+            if (rules[id].match(exchange, normalized && pathTrie.isExact(id))) {
+                return rules[id].getRuleData();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable matcher over the selectors of a plugin, the candidates are narrowed by a {@link PathTrie}.
+ */
+public final class SelectorMatcher {
+
+    private final CompiledSelector[] selectors;
+
+    private final PathTrie pathTrie;
+
+    private SelectorMatcher(final CompiledSelector[] selectors) {
+        this.selectors = selectors;
+        PathTrie.Builder builder = PathTrie.builder(selectors.length);
+        for (int i = 0; i < selectors.length; i++) {
+            if (selectors[i].isEnabled()) {
+                builder.add(i, selectors[i].getIndexedConditions());
+            }
+        }
+        this.pathTrie = builder.build();
+    }
+
+    /**
+     * Compile the selector list, the order of the list is kept.
+     *
+     * @param selectorDataList the selector data list
+     * @return the selector matcher
+     */
+    public static SelectorMatcher compile(final List<SelectorData> selectorDataList) {
+        return new SelectorMatcher(CompiledSelector.compile(selectorDataList));
+    }
+
+    /**
+     * Whether there is no selector.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return selectors.length == 0;
+    }
+
+    /**
+     * Find the best matched selector.
+     * If more than one selector matches, the one with the most and-conditions wins, then the one with the smallest sort.
+     *
+     * @param exchange the exchange
+     * @return left is whether at most one selector matched, right is the matched selector or null
+     */
+    public Pair<Boolean, SelectorData> match(final ServerWebExchange exchange) {
+        String path = exchange.getRequest().getURI().getPath();
+        boolean normalized = PathTrie.isNormalized(path);
+        CompiledSelector best = null;
+        int matched = 0;
+        for (int id : pathTrie.candidates(path)) {
+            CompiledSelector selector = selectors[id];
+            if (selector.match(exchange, normalized && pathTrie.isExact(id))) {
+                matched++;
+                if (selector.isPreferredOver(best)) {
+                    best = selector;
+                }
+            }
+        }
+        return Pair.of(matched <= 1, Objects.isNull(best) ? null : best.getSelectorData());
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.hedge;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The hedging state of a route: the latency histogram the hedge delay is taken from, and the hedge budget.
+ * The budget earns a share of a hedge with each request, so the hedges stay under the budget percent of the traffic.
+ */
+public final class HedgePolicy {
+
+    private static final LongAdder HEDGED = new LongAdder();
+
+    private static final LongAdder HEDGE_WINS = new LongAdder();
+
+    /**
+     * the buckets grow by 25%, from 1ms up to about 20 minutes.
+     */
+    private static final double BUCKET_RATIO = 1.25D;
+
+    private static final double LOG_BUCKET_RATIO = Math.log(BUCKET_RATIO);
+
+    private static final int BUCKETS = 64;
+
+    /**
+     * no hedge before this many latencies are observed.
+     */
+    private static final long MIN_SAMPLES = 100;
+
+    /**
+     * the counts are halved every window, so the histogram follows the recent latencies.
+     */
+    private static final long DECAY_WINDOW = 2048;
+
+    /**
+     * the credits of one hedge, a request earns the budget percent of them.
+     */
+    private static final long HEDGE_CREDITS = 100;
+
+    /**
+     * the credits saved up at most, the hedges of a burst after a quiet period.
+     */
+    private static final long MAX_CREDITS = 10 * HEDGE_CREDITS;
+
+    private final double percentile;
+
+    private final int budgetPercent;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicBoolean decaying = new AtomicBoolean();
+
+    private final AtomicLong credits = new AtomicLong();
+
+    /**
+     * Instantiates a new hedge policy.
+     *
+     * @param percentile the latency percentile after which the hedge is sent, in (0, 100)
+     * @param budgetPercent the max hedges in percent of the requests
+     */
+    public HedgePolicy(final double percentile, final int budgetPercent) {
+        this.percentile = Math.min(Math.max(percentile, 0D), 100D);
+        this.budgetPercent = Math.max(budgetPercent, 0);
+    }
+
+    /**
+     * Record a request, it earns the budget percent of a hedge.
+     *
+     * @return the hedge delay in milliseconds, -1 while too few latencies are observed
+     */
+    public long begin() {
+        long current;
+        do {
+            current = credits.get();
+            if (current >= MAX_CREDITS) {
+                break;
+            }
+        } while (!credits.compareAndSet(current, Math.min(current + budgetPercent, MAX_CREDITS)));
+        return delayMillis();
+    }
+
+    /**
+     * Take a hedge from the budget.
+     *
+     * @return true when the hedge is in the budget
+     */
+    public boolean tryHedge() {
+        long current;
+        do {
+            current = credits.get();
+            if (current < HEDGE_CREDITS) {
+                return false;
+            }
+        } while (!credits.compareAndSet(current, current - HEDGE_CREDITS));
+        HEDGED.increment();
+        return true;
+    }
+
+    /**
+     * Record that the hedge answered first.
+     */
+    public void hedgeWon() {
+        HEDGE_WINS.increment();
+    }
+
+    /**
+     * Record the latency of a request.
+     *
+     * @param millis the latency in milliseconds
+     */
+    public void record(final long millis) {
+        counts.incrementAndGet(bucket(millis));
+        if (total.incrementAndGet() >= DECAY_WINDOW && decaying.compareAndSet(false, true)) {
+            // take the halves away, so the latencies recorded meanwhile are kept
+            long removed = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                final long half = counts.get(i) >> 1;
+                counts.getAndAdd(i, -half);
+                removed += half;
+            }
+            total.addAndGet(-removed);
+            decaying.set(false);
+        }
+    }
+
+    /**
+     * Get the hedge delay, the latency percentile of the recent requests.
+     *
+     * @return the delay in milliseconds, -1 while too few latencies are observed
+     */
+    public long delayMillis() {
+        final long samples = total.get();
+        if (samples < MIN_SAMPLES) {
+            return -1;
+        }
+        final double target = samples * percentile / 100D;
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            sum += counts.get(i);
+            if (sum >= target) {
+                return (long) Math.ceil(Math.pow(BUCKET_RATIO, i));
+            }
+        }
+        return (long) Math.ceil(Math.pow(BUCKET_RATIO, BUCKETS - 1));
+    }
+
+    /**
+     * Get the hedges sent by all the routes.
+     *
+     * @return the hedge count
+     */
+    public static long getHedgedCount() {
+        return HEDGED.sum();
+    }
+
+    /**
+     * Get the hedges which answered first, of all the routes.
+     *
+     * @return the hedge win count
+     */
+    public static long getHedgeWinCount() {
+        return HEDGE_WINS.sum();
+    }
+
+    private static int bucket(final long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, (int) Math.ceil(Math.log(millis) / LOG_BUCKET_RATIO));
+    }
+}
@@ -223,4 +223,18 @@ public final class CommonPluginDataSubscriberTest {
         assertEquals(Lists.newArrayList(), baseDataCache.obtainRuleData(firstCachedRuleData.getSelectorId()));
         assertEquals(Lists.newArrayList(secondCachedRuleData), baseDataCache.obtainRuleData(secondCachedRuleData.getSelectorId()));
     }
+
+    @Test
+    public void testRuleMatchCacheInvalidation() {
+        MatchDataCache matchDataCache = MatchDataCache.getInstance();
+        RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).pluginName(mockPluginName1).sort(1).build();
+        matchDataCache.cacheRuleData(mockSelectorId1, "/http/test", ruleData, 5 * 1024);
+        commonPluginDataSubscriber.onRuleSubscribe(ruleData);
+        assertNull(matchDataCache.obtainRuleData(mockSelectorId1, "/http/test"));
+
+        matchDataCache.cacheRuleData(mockSelectorId1, "/http/test", ruleData, 5 * 1024);
+        SelectorData selectorData = SelectorData.builder().id(mockSelectorId1).pluginName(mockPluginName1).sort(1).build();
+        commonPluginDataSubscriber.unSelectorSubscribe(selectorData);
+        assertNull(matchDataCache.obtainRuleData(mockSelectorId1, "/http/test"));
+    }
 }
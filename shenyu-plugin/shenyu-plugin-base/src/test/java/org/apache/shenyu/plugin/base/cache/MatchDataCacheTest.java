@@ -17,7 +17,8 @@
 
 package org.apache.shenyu.plugin.base.cache;
 
-import org.apache.shenyu.common.cache.MemorySafeLRUMap;
+import org.apache.shenyu.common.cache.MemorySafeClockCache;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.junit.jupiter.api.Test;
 
@@ -25,6 +26,7 @@ import java.lang.reflect.Field;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SuppressWarnings("unchecked")
 public final class MatchDataCacheTest {
@@ -33,13 +35,17 @@ public final class MatchDataCacheTest {
 
     private final String mockPluginName1 = "MOCK_PLUGIN_NAME_1";
 
+    private final String mockSelectorId1 = "MOCK_SELECTOR_ID_1";
+
     private final String path1 = "/http/abc";
 
+    private final String path2 = "/http/def";
+
     @Test
     public void testCacheSelectorData() throws NoSuchFieldException, IllegalAccessException {
         SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build();
         MatchDataCache.getInstance().cacheSelectorData(path1, firstCachedSelectorData, 5 * 1024);
-        ConcurrentHashMap<String, MemorySafeLRUMap<String, SelectorData>> selectorMap = getFieldByName(selectorMapStr);
+        ConcurrentHashMap<String, MemorySafeClockCache<String, SelectorData>> selectorMap = getFieldByName(selectorMapStr);
         assertEquals(firstCachedSelectorData, selectorMap.get(mockPluginName1).get(path1));
         selectorMap.clear();
     }
@@ -47,8 +53,8 @@ public final class MatchDataCacheTest {
     @Test
     public void testObtainSelectorData() throws NoSuchFieldException, IllegalAccessException {
         SelectorData firstSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build();
-        ConcurrentHashMap<String, MemorySafeLRUMap<String, SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, new MemorySafeLRUMap<>(5 * 1024, 16));
+        ConcurrentHashMap<String, MemorySafeClockCache<String, SelectorData>> selectorMap = getFieldByName(selectorMapStr);
+        selectorMap.put(mockPluginName1, new MemorySafeClockCache<>(5 * 1024, 16));
         selectorMap.get(mockPluginName1).put(path1, firstSelectorData);
         SelectorData firstSelectorDataCache = MatchDataCache.getInstance().obtainSelectorData(mockPluginName1, path1);
         assertEquals(firstSelectorData, firstSelectorDataCache);
@@ -60,11 +66,30 @@ public final class MatchDataCacheTest {
         SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build();
         MatchDataCache.getInstance().cacheSelectorData(path1, firstCachedSelectorData, 5 * 1024);
         MatchDataCache.getInstance().removeSelectorData(firstCachedSelectorData.getPluginName());
-        ConcurrentHashMap<String, MemorySafeLRUMap<String, SelectorData>> selectorMap = getFieldByName(selectorMapStr);
+        ConcurrentHashMap<String, MemorySafeClockCache<String, SelectorData>> selectorMap = getFieldByName(selectorMapStr);
         assertEquals(null, selectorMap.get(mockPluginName1));
         selectorMap.clear();
     }
 
+    @Test
+    public void testCacheRuleData() {
+        RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).sort(1).build();
+        MatchDataCache matchDataCache = MatchDataCache.getInstance();
+        final long hitCount = matchDataCache.getRuleHitCount();
+        final long missCount = matchDataCache.getRuleMissCount();
+        assertNull(matchDataCache.obtainRuleData(mockSelectorId1, path1));
+        matchDataCache.cacheRuleData(mockSelectorId1, path1, ruleData, 5 * 1024);
+        matchDataCache.cacheRuleData(mockSelectorId1, path2, null, 5 * 1024);
+        assertEquals(ruleData, matchDataCache.obtainRuleData(mockSelectorId1, path1));
+        assertNull(matchDataCache.obtainRuleData(mockSelectorId1, path2).getId());
+        assertEquals(hitCount + 2, matchDataCache.getRuleHitCount());
+        assertEquals(missCount + 1, matchDataCache.getRuleMissCount());
+        matchDataCache.removeRuleData(null);
+        assertEquals(ruleData, matchDataCache.obtainRuleData(mockSelectorId1, path1));
+        matchDataCache.removeRuleData(mockSelectorId1);
+        assertNull(matchDataCache.obtainRuleData(mockSelectorId1, path1));
+    }
+
     @SuppressWarnings("rawtypes")
     private ConcurrentHashMap getFieldByName(final String name) throws NoSuchFieldException, IllegalAccessException {
         MatchDataCache matchDataCache = MatchDataCache.getInstance();
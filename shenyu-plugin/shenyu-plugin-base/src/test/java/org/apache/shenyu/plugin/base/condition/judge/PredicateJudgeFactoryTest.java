@@ -24,6 +24,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -83,6 +84,7 @@ public final class PredicateJudgeFactoryTest {
         conditionData.setParamValue("[/a-zA-Z0-9]+");
         assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/test"));
         assertFalse(PredicateJudgeFactory.judge(conditionData, "/http?/test"));
+        assertSame(RegexPredicateJudge.compile("[/a-zA-Z0-9]+"), RegexPredicateJudge.compile("[/a-zA-Z0-9]+"));
     }
 
     @Test
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link CompiledCondition}.
+ */
+public final class CompiledConditionTest {
+
+    private ServerWebExchange exchange;
+
+    @BeforeEach
+    public void setUp() {
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order/findById")
+                .header("shenyu", "shenyuHeader")
+                .build());
+    }
+
+    @Test
+    public void testUriMatch() {
+        assertTrue(CompiledCondition.compile(build(ParamTypeEnum.URI, OperatorEnum.MATCH, " /dubbo/**, /http/** ")).test(exchange));
+        assertFalse(CompiledCondition.compile(build(ParamTypeEnum.URI, OperatorEnum.MATCH, "/dubbo/**")).test(exchange));
+    }
+
+    @Test
+    public void testUriExclude() {
+        assertFalse(CompiledCondition.compile(build(ParamTypeEnum.URI, OperatorEnum.EXCLUDE, "/http/**")).test(exchange));
+        assertTrue(CompiledCondition.compile(build(ParamTypeEnum.URI, OperatorEnum.EXCLUDE, "/dubbo/**")).test(exchange));
+    }
+
+    @Test
+    public void testRegex() {
+        assertTrue(CompiledCondition.compile(build(ParamTypeEnum.URI, OperatorEnum.REGEX, "/http/.* ")).test(exchange));
+        assertFalse(CompiledCondition.compile(build(ParamTypeEnum.URI, OperatorEnum.REGEX, "/dubbo/.*")).test(exchange));
+    }
+
+    @Test
+    public void testEqualsWithTrim() {
+        ConditionData conditionData = build(ParamTypeEnum.HEADER, OperatorEnum.EQ, " shenyuHeader ");
+        conditionData.setParamName("shenyu");
+        CompiledCondition compiledCondition = CompiledCondition.compile(conditionData);
+        assertTrue(compiledCondition.test(exchange));
+        assertEquals("shenyuHeader", compiledCondition.getConditionData().getParamValue());
+    }
+
+    @Test
+    public void testBlankRealData() {
+        ConditionData conditionData = build(ParamTypeEnum.HEADER, OperatorEnum.CONTAINS, "shenyu");
+        conditionData.setParamName("absent");
+        assertFalse(CompiledCondition.compile(conditionData).test(exchange));
+    }
+
+    @Test
+    public void testNullCondition() {
+        assertFalse(CompiledCondition.compile(null).test(exchange));
+    }
+
+    private ConditionData build(final ParamTypeEnum paramType, final OperatorEnum operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType.getName());
+        conditionData.setOperator(operator.getAlias());
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
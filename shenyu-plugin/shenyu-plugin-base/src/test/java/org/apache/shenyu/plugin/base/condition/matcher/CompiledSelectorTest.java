@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link CompiledSelector}, {@link CompiledRule} and their matchers.
+ */
+public final class CompiledSelectorTest {
+
+    private ServerWebExchange exchange;
+
+    private ConditionData uriCondition;
+
+    private ConditionData headerCondition;
+
+    @BeforeEach
+    public void setUp() {
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order/findById")
+                .header("shenyu", "shenyuHeader")
+                .build());
+        uriCondition = new ConditionData();
+        uriCondition.setParamType(ParamTypeEnum.URI.getName());
+        uriCondition.setOperator(OperatorEnum.MATCH.getAlias());
+        uriCondition.setParamValue("/http/**");
+        headerCondition = new ConditionData();
+        headerCondition.setParamType(ParamTypeEnum.HEADER.getName());
+        headerCondition.setOperator(OperatorEnum.EQ.getAlias());
+        headerCondition.setParamName("shenyu");
+        headerCondition.setParamValue("shenyuHeader");
+    }
+
+    @Test
+    public void testSelectorMatch() {
+        SelectorData disabled = SelectorData.builder().id("1").enabled(false).sort(1)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(MatchModeEnum.AND.getCode())
+                .conditionList(Collections.singletonList(uriCondition)).build();
+        SelectorData noCondition = SelectorData.builder().id("2").enabled(true).sort(1)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(MatchModeEnum.AND.getCode()).build();
+        SelectorData fullFlow = SelectorData.builder().id("3").enabled(true).sort(1)
+                .type(SelectorTypeEnum.FULL_FLOW.getCode()).build();
+        CompiledSelector[] selectors = CompiledSelector.compile(Arrays.asList(disabled, noCondition, fullFlow));
+        assertFalse(selectors[0].match(exchange));
+        assertFalse(selectors[1].match(exchange));
+        assertTrue(selectors[2].match(exchange));
+    }
+
+    @Test
+    public void testSelectorPreferred() {
+        SelectorData single = SelectorData.builder().id("1").enabled(true).sort(1)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(MatchModeEnum.AND.getCode())
+                .conditionList(Collections.singletonList(uriCondition)).build();
+        SelectorData multiple = SelectorData.builder().id("2").enabled(true).sort(2)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(MatchModeEnum.AND.getCode())
+                .conditionList(Arrays.asList(uriCondition, headerCondition)).build();
+        SelectorData or = SelectorData.builder().id("3").enabled(true).sort(0)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(MatchModeEnum.OR.getCode())
+                .conditionList(Arrays.asList(uriCondition, headerCondition)).build();
+        CompiledSelector[] selectors = CompiledSelector.compile(Arrays.asList(single, multiple, or));
+        assertTrue(selectors[1].isPreferredOver(selectors[0]));
+        assertTrue(selectors[0].isPreferredOver(selectors[2]));
+        assertFalse(selectors[2].isPreferredOver(selectors[0]));
+        assertTrue(selectors[2].isPreferredOver(null));
+    }
+
+    @Test
+    public void testSelectorMatcherKeepsTieBreak() {
+        SelectorData first = SelectorData.builder().id("1").enabled(true).sort(2)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(MatchModeEnum.AND.getCode())
+                .conditionList(Collections.singletonList(uriCondition)).build();
+        SelectorData second = SelectorData.builder().id("2").enabled(true).sort(1)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(MatchModeEnum.AND.getCode())
+                .conditionList(Collections.singletonList(uriCondition)).build();
+        SelectorData header = SelectorData.builder().id("3").enabled(true).sort(3)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(MatchModeEnum.AND.getCode())
+                .conditionList(Arrays.asList(uriCondition, headerCondition)).build();
+        Pair<Boolean, SelectorData> result = SelectorMatcher.compile(Arrays.asList(first, second)).match(exchange);
+        assertFalse(result.getLeft());
+        assertEquals(second, result.getRight());
+        assertEquals(header, SelectorMatcher.compile(Arrays.asList(first, second, header)).match(exchange).getRight());
+        ServerWebExchange other = MockServerWebExchange.from(MockServerHttpRequest.get("/dubbo/findById").build());
+        result = SelectorMatcher.compile(Arrays.asList(first, second, header)).match(other);
+        assertTrue(result.getLeft());
+        assertNull(result.getRight());
+    }
+
+    @Test
+    public void testRuleMatch() {
+        RuleData disabled = RuleData.builder().id("1").enabled(false).matchMode(MatchModeEnum.AND.getCode())
+                .conditionDataList(Collections.singletonList(uriCondition)).build();
+        RuleData enabled = RuleData.builder().id("2").enabled(true).matchMode(MatchModeEnum.OR.getCode())
+                .conditionDataList(Arrays.asList(uriCondition, headerCondition)).build();
+        CompiledRule[] rules = CompiledRule.compile(Arrays.asList(disabled, enabled));
+        assertFalse(rules[0].match(exchange));
+        assertTrue(rules[1].match(exchange));
+        assertEquals(enabled, RuleMatcher.compile(Arrays.asList(disabled, enabled)).match(exchange));
+    }
+}
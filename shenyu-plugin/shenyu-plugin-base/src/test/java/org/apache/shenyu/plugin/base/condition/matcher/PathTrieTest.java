@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.matcher;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link PathTrie}.
+ */
+public final class PathTrieTest {
+
+    private static final List<String> PATTERNS = Arrays.asList("/http/**", "/http/order/*", "/http/{id}/detail",
+            "/http/**/detail", "/http/order/findById", "/**", "/http/*.html", "http/**", "/dubbo/{id:\\d+}");
+
+    private static final List<String> PATHS = Arrays.asList("/http", "/http/order", "/http/order/findById", "/http/1/detail",
+            "/http/a/b/detail", "/http/index.html", "/dubbo/1", "/dubbo/a", "/", "/http/", "/http/order/", "//http/order", "/other/path");
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    @Test
+    public void testMatchPatternsAgainstAntPathMatcher() {
+        PathTrie.Builder builder = PathTrie.builder(PATTERNS.size());
+        for (int i = 0; i < PATTERNS.size(); i++) {
+            builder.add(i, new CompiledCondition[]{compile(OperatorEnum.MATCH, PATTERNS.get(i))});
+        }
+        PathTrie pathTrie = builder.build();
+        for (String path : PATHS) {
+            int[] candidates = pathTrie.candidates(path);
+            for (int i = 0; i < PATTERNS.size(); i++) {
+                boolean matched = antPathMatcher.match(PATTERNS.get(i), path);
+                boolean candidate = ArrayUtils.contains(candidates, i);
+                if (matched) {
+                    assertTrue(candidate, PATTERNS.get(i) + " should be a candidate of " + path);
+                }
+                if (candidate && PathTrie.isNormalized(path) && pathTrie.isExact(i)) {
+                    assertTrue(matched, PATTERNS.get(i) + " should exactly match " + path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTrailingSeparatorMatchesWildcard() {
+        PathTrie pathTrie = PathTrie.builder(3)
+                .add(0, new CompiledCondition[]{compile(OperatorEnum.MATCH, "/a/*")})
+                .add(1, new CompiledCondition[]{compile(OperatorEnum.MATCH, "/a/b/*")})
+                .add(2, new CompiledCondition[]{compile(OperatorEnum.MATCH, "/a/**/*")})
+                .build();
+        assertTrue(antPathMatcher.match("/a/*", "/a/"));
+        assertArrayEquals(new int[]{0, 2}, pathTrie.candidates("/a/"));
+    }
+
+    @Test
+    public void testEqualsAndStartsWith() {
+        PathTrie pathTrie = PathTrie.builder(3)
+                .add(0, new CompiledCondition[]{compile(OperatorEnum.EQ, "/http/order/findById")})
+                .add(1, new CompiledCondition[]{compile(OperatorEnum.STARTS_WITH, "/http/ord")})
+                .add(2, new CompiledCondition[0])
+                .build();
+        assertArrayEquals(new int[]{0, 1, 2}, pathTrie.candidates("/http/order/findById"));
+        assertArrayEquals(new int[]{1, 2}, pathTrie.candidates("/http/order"));
+        assertArrayEquals(new int[]{2}, pathTrie.candidates("/dubbo/order"));
+        assertTrue(pathTrie.isExact(0));
+        assertFalse(pathTrie.isExact(1));
+    }
+
+    @Test
+    public void testIsNormalized() {
+        assertTrue(PathTrie.isNormalized("/http/order"));
+        assertFalse(PathTrie.isNormalized("/"));
+        assertFalse(PathTrie.isNormalized("/http/"));
+        assertFalse(PathTrie.isNormalized("/http//order"));
+        assertEquals(0, PathTrie.builder(0).build().candidates("").length);
+    }
+
+    private CompiledCondition compile(final OperatorEnum operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setOperator(operator.getAlias());
+        conditionData.setParamValue(paramValue);
+        return CompiledCondition.compile(conditionData);
+    }
+}
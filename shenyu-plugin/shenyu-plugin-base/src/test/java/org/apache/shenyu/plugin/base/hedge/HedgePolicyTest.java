@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The type hedge policy test.
+ */
+public final class HedgePolicyTest {
+
+    @Test
+    public void testDelayMillis() {
+        final HedgePolicy policy = new HedgePolicy(95, 10);
+        for (int i = 0; i < 95; i++) {
+            policy.record(10);
+        }
+        assertEquals(-1, policy.delayMillis());
+        for (int i = 0; i < 5; i++) {
+            policy.record(1000);
+        }
+        final long delay = policy.delayMillis();
+        assertTrue(delay >= 10 && delay < 15);
+        assertEquals(delay, policy.begin());
+    }
+
+    @Test
+    public void testDecay() {
+        final HedgePolicy policy = new HedgePolicy(50, 10);
+        for (int i = 0; i < 2048; i++) {
+            policy.record(10);
+        }
+        final long delay = policy.delayMillis();
+        assertTrue(delay >= 10 && delay < 15);
+        for (int i = 0; i < 4096; i++) {
+            policy.record(1000);
+        }
+        assertTrue(policy.delayMillis() >= 1000);
+    }
+
+    @Test
+    public void testBudget() {
+        final HedgePolicy policy = new HedgePolicy(95, 10);
+        final long hedged = HedgePolicy.getHedgedCount();
+        for (int i = 0; i < 9; i++) {
+            policy.begin();
+        }
+        assertFalse(policy.tryHedge());
+        policy.begin();
+        assertTrue(policy.tryHedge());
+        assertFalse(policy.tryHedge());
+        assertEquals(hedged + 1, HedgePolicy.getHedgedCount());
+    }
+}
@@ -23,10 +23,12 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
+import org.apache.shenyu.common.enums.HttpProtocolEnum;
 import org.apache.shenyu.common.enums.LoadBalanceEnum;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RetryEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.common.utils.RateLimitedLogger;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
@@ -36,10 +38,12 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.hedge.HedgePolicy;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.divide.handler.DividePluginDataHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -55,6 +59,8 @@ public class DividePlugin extends AbstractShenyuPlugin {
 
     private static final Logger LOG = LoggerFactory.getLogger(DividePlugin.class);
 
+    private static final RateLimitedLogger REJECT_LOG = new RateLimitedLogger(LOG, 1000L);
+
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
@@ -67,28 +73,28 @@ public class DividePlugin extends AbstractShenyuPlugin {
                     .mapToLong(header -> header.getBytes(StandardCharsets.UTF_8).length)
                     .sum();
             if (headerSize > ruleHandle.getHeaderMaxSize()) {
-                LOG.error("request header is too large");
+                REJECT_LOG.error("request header is too large");
                 Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.REQUEST_HEADER_TOO_LARGE);
                 return WebFluxResultUtils.result(exchange, error);
             }
         }
         if (ruleHandle.getRequestMaxSize() > 0) {
             if (exchange.getRequest().getHeaders().getContentLength() > ruleHandle.getRequestMaxSize()) {
-                LOG.error("request entity is too large");
+                REJECT_LOG.error("request entity is too large");
                 Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.REQUEST_ENTITY_TOO_LARGE);
                 return WebFluxResultUtils.result(exchange, error);
             }
         }
         List<Upstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selector.getId());
         if (CollectionUtils.isEmpty(upstreamList)) {
-            LOG.error("divide upstream configuration error： {}", rule);
+            REJECT_LOG.error("divide upstream configuration error： {}", rule);
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL);
             return WebFluxResultUtils.result(exchange, error);
         }
         String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
         Upstream upstream = LoadBalancerFactory.selector(upstreamList, ruleHandle.getLoadBalance(), ip);
         if (Objects.isNull(upstream)) {
-            LOG.error("divide has no upstream");
+            REJECT_LOG.error("divide has no upstream");
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL);
             return WebFluxResultUtils.result(exchange, error);
         }
@@ -102,17 +108,33 @@ public class DividePlugin extends AbstractShenyuPlugin {
         exchange.getAttributes().put(Constants.RETRY_STRATEGY, StringUtils.defaultString(ruleHandle.getRetryStrategy(), RetryEnum.CURRENT.getName()));
         exchange.getAttributes().put(Constants.LOAD_BALANCE, StringUtils.defaultString(ruleHandle.getLoadBalance(), LoadBalanceEnum.RANDOM.getName()));
         exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, selector.getId());
+        exchange.getAttributes().put(Constants.LOAD_BALANCE_UPSTREAM, upstream);
+        // isolate the upstreams of the rule in their own connection pool, or speak another http protocol to them
+        if (ruleHandle.getMaxConnections() > 0
+                || HttpProtocolEnum.acquireByName(ruleHandle.getHttpProtocol()) != HttpProtocolEnum.HTTP11) {
+            exchange.getAttributes().put(Constants.HTTP_CONNECTION_POOL, ruleHandle);
+        }
+        // hedge the slow idempotent requests to another upstream
+        HedgePolicy hedgePolicy = DividePluginDataHandler.CACHED_HEDGE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        if (Objects.nonNull(hedgePolicy) && (ruleHandle.isIdempotent() || isSafeMethod(exchange))) {
+            exchange.getAttributes().put(Constants.HEDGE_POLICY, hedgePolicy);
+        }
         return chain.execute(exchange);
     }
 
+    private boolean isSafeMethod(final ServerWebExchange exchange) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        return method == HttpMethod.GET || method == HttpMethod.HEAD;
+    }
+
     @Override
     public String named() {
         return PluginEnum.DIVIDE.getName();
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.HTTP);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.HTTP;
     }
 
     @Override
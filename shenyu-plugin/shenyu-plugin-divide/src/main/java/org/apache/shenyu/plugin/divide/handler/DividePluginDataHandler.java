@@ -29,6 +29,7 @@ import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
 import org.apache.shenyu.plugin.base.cache.MetaDataCache;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
+import org.apache.shenyu.plugin.base.hedge.HedgePolicy;
 import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 
@@ -44,6 +45,8 @@ public class DividePluginDataHandler implements PluginDataHandler {
     
     public static final Supplier<CommonHandleCache<String, DivideRuleHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
     
+    public static final Supplier<CommonHandleCache<String, HedgePolicy>> CACHED_HEDGE = new BeanHolder<>(CommonHandleCache::new);
+    
     @Override
     public void handlerSelector(final SelectorData selectorData) {
         List<DivideUpstream> upstreamList = GsonUtils.getInstance().fromList(selectorData.getHandle(), DivideUpstream.class);
@@ -67,6 +70,12 @@ public class DividePluginDataHandler implements PluginDataHandler {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             DivideRuleHandle divideRuleHandle = GsonUtils.getInstance().fromJson(s, DivideRuleHandle.class);
             CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), divideRuleHandle);
+            if (divideRuleHandle.getHedgePercentile() > 0) {
+                CACHED_HEDGE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData),
+                        new HedgePolicy(divideRuleHandle.getHedgePercentile(), divideRuleHandle.getHedgeBudget()));
+            } else {
+                CACHED_HEDGE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData));
+            }
             // the update is also need to clean, but there is no way to
             // distinguish between crate and update, so it is always clean
             MetaDataCache.getInstance().clean();
@@ -76,6 +85,7 @@ public class DividePluginDataHandler implements PluginDataHandler {
     @Override
     public void removeRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> CACHED_HANDLE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData)));
+        CACHED_HEDGE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData));
         MetaDataCache.getInstance().clean();
     }
 
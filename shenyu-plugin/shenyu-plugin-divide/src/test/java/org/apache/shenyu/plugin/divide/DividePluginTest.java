@@ -33,6 +33,7 @@ import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.hedge.HedgePolicy;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.divide.handler.DividePluginDataHandler;
 import org.junit.jupiter.api.AfterEach;
@@ -57,6 +58,8 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -154,6 +157,7 @@ public final class DividePluginTest {
         // hit `assert shenyuContext != null`
         exchange.getAttributes().remove(Constants.CONTEXT);
         assertThrows(AssertionError.class, () -> dividePlugin.doExecute(exchange, chain, selectorData, ruleData));
+        loadBalancerFactoryMockedStatic.close();
     }
 
     /**
@@ -166,6 +170,25 @@ public final class DividePluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
 
+    /**
+     * Divide plugin doExecute with the hedge policy of the rule.
+     */
+    @Test
+    public void doHedgeExecuteTest() {
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        HedgePolicy hedgePolicy = new HedgePolicy(95, 10);
+        DividePluginDataHandler.CACHED_HEDGE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), hedgePolicy);
+        try {
+            StepVerifier.create(dividePlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+            assertSame(hedgePolicy, exchange.getAttribute(Constants.HEDGE_POLICY));
+            // a post is only hedged when the rule is idempotent
+            StepVerifier.create(dividePlugin.doExecute(postExchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+            assertNull(postExchange.getAttribute(Constants.HEDGE_POLICY));
+        } finally {
+            DividePluginDataHandler.CACHED_HEDGE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData));
+        }
+    }
+
     /**
      * Skip.
      */
@@ -128,16 +128,9 @@ public abstract class AbstractDubboPlugin extends AbstractShenyuPlugin {
         return PluginEnum.DUBBO.getName();
     }
 
-    /**
-     * plugin is execute.
-     * if return true this plugin can not execute.
-     *
-     * @param exchange the current server exchange
-     * @return default false.
-     */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.DUBBO);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.DUBBO;
     }
 
     private void rpcContext(final ServerWebExchange exchange) {
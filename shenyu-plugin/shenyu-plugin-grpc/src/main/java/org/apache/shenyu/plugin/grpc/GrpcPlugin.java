@@ -112,15 +112,9 @@ public class GrpcPlugin extends AbstractShenyuPlugin {
         return PluginEnum.GRPC.getName();
     }
 
-    /**
-     * plugin is execute.
-     *
-     * @param exchange the current server exchange
-     * @return default false.
-     */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.GRPC);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.GRPC;
     }
 
     @Override
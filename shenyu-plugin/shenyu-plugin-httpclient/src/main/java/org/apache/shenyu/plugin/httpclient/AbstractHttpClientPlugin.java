@@ -26,6 +26,7 @@ import org.apache.shenyu.common.enums.RetryEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamStats;
 import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
@@ -34,6 +35,7 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
+import org.apache.shenyu.plugin.base.hedge.HedgePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
@@ -43,6 +45,9 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 import reactor.util.retry.Retry;
 import reactor.util.retry.RetryBackoffSpec;
 
@@ -52,6 +57,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -62,8 +68,24 @@ import java.util.stream.Stream;
  */
 public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
 
+    /**
+     * the default max size in bytes of the request body kept in memory for the retries.
+     */
+    public static final long DEFAULT_REPLAY_MAX_IN_MEMORY_SIZE = 256 * 1024L;
+
     protected static final Logger LOG = LoggerFactory.getLogger(AbstractHttpClientPlugin.class);
 
+    private long replayMaxInMemorySize = DEFAULT_REPLAY_MAX_IN_MEMORY_SIZE;
+
+    /**
+     * Set the max size in bytes of the request body kept in memory for the retries, larger bodies spill to a temp file.
+     *
+     * @param replayMaxInMemorySize the max size in bytes
+     */
+    public void setReplayMaxInMemorySize(final long replayMaxInMemorySize) {
+        this.replayMaxInMemorySize = replayMaxInMemorySize;
+    }
+
     @Override
     public final Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
@@ -73,14 +95,26 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.CANNOT_FIND_URL);
             return WebFluxResultUtils.result(exchange, error);
         }
+        final int retryTimes = (int) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY)).orElse(0);
+        if (retryTimes <= 0 && Objects.isNull(exchange.getAttribute(Constants.HEDGE_POLICY))) {
+            return execute(exchange, chain, uri, retryTimes, exchange.getRequest().getBody());
+        }
+        // the request body can only be read once, keep it for the retries and the hedges
+        return ReplayableBody.cache(exchange.getRequest().getBody(), replayMaxInMemorySize)
+                .flatMap(body -> execute(exchange, chain, uri, retryTimes, body.body()).doFinally(signal -> body.release()));
+    }
+
+    private Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final URI uri,
+                               final int retryTimes, final Flux<DataBuffer> body) {
         final long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
         final Duration duration = Duration.ofMillis(timeout);
-        final int retryTimes = (int) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY)).orElse(0);
         final String retryStrategy = (String) Optional.ofNullable(exchange.getAttribute(Constants.RETRY_STRATEGY)).orElseGet(RetryEnum.CURRENT::getName);
         LOG.info("The request urlPath is {}, retryTimes is {}, retryStrategy is {}", uri.toASCIIString(), retryTimes, retryStrategy);
         final HttpHeaders httpHeaders = buildHttpHeaders(exchange);
-        final Mono<R> response = doRequest(exchange, exchange.getRequest().getMethodValue(), uri, httpHeaders, exchange.getRequest().getBody())
-                .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
+        final Upstream upstream = exchange.getAttribute(Constants.LOAD_BALANCE_UPSTREAM);
+        final HedgePolicy hedgePolicy = exchange.getAttribute(Constants.HEDGE_POLICY);
+        final Mono<R> response = (Objects.isNull(hedgePolicy) ? send(exchange, uri, httpHeaders, body, duration, upstream)
+                : hedge(exchange, hedgePolicy, uri, httpHeaders, body, duration, upstream))
                 .doOnError(e -> LOG.error(e.getMessage(), e));
         if (RetryEnum.CURRENT.getName().equals(retryStrategy)) {
             //old version of DividePlugin and SpringCloudPlugin will run on this
@@ -95,7 +129,7 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                     .flatMap((Function<Object, Mono<? extends Void>>) o -> chain.execute(exchange));
         }
         final Set<URI> exclude = Sets.newHashSet(uri);
-        return resend(response, exchange, duration, httpHeaders, exclude, retryTimes)
+        return resend(response, exchange, duration, httpHeaders, exclude, retryTimes, body)
                 .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
                 .flatMap((Function<Object, Mono<? extends Void>>) o -> chain.execute(exchange));
     }
@@ -105,10 +139,11 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                            final Duration duration,
                            final HttpHeaders httpHeaders,
                            final Set<URI> exclude,
-                           final int retryTimes) {
+                           final int retryTimes,
+                           final Flux<DataBuffer> body) {
         Mono<R> result = clientResponse;
         for (int i = 0; i < retryTimes; i++) {
-            result = resend(result, exchange, duration, httpHeaders, exclude);
+            result = resend(result, exchange, duration, httpHeaders, exclude, body);
         }
         return result;
     }
@@ -117,29 +152,11 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                            final ServerWebExchange exchange,
                            final Duration duration,
                            final HttpHeaders httpHeaders,
-                           final Set<URI> exclude) {
+                           final Set<URI> exclude,
+                           final Flux<DataBuffer> body) {
         // does it necessary to add backoff interval time ?
         return response.onErrorResume(th -> {
-            final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
-            final String loadBalance = exchange.getAttribute(Constants.LOAD_BALANCE);
-            //always query the latest available list
-            final List<Upstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selectorId)
-                    .stream().filter(data -> {
-                        final String trimUri = data.getUrl().trim();
-                        for (URI needToExclude : exclude) {
-                            // exclude already called
-                            if ((needToExclude.getHost() + ":" + needToExclude.getPort()).equals(trimUri)) {
-                                return false;
-                            }
-                        }
-                        return true;
-                    }).collect(Collectors.toList());
-            if (CollectionUtils.isEmpty(upstreamList)) {
-                // no need to retry anymore
-                return Mono.error(new ShenyuException(ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg()));
-            }
-            final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
-            final Upstream upstream = LoadBalancerFactory.selector(upstreamList, loadBalance, ip);
+            final Upstream upstream = select(exchange, exclude);
             if (Objects.isNull(upstream)) {
                 // no need to retry anymore
                 return Mono.error(new ShenyuException(ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg()));
@@ -147,12 +164,157 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
             final URI newUri = RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
             // in order not to affect the next retry call, newUri needs to be excluded
             exclude.add(newUri);
-            return doRequest(exchange, exchange.getRequest().getMethodValue(), newUri, httpHeaders, exchange.getRequest().getBody())
-                    .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
+            exchange.getAttributes().put(Constants.LOAD_BALANCE_UPSTREAM, upstream);
+            return send(exchange, newUri, httpHeaders, body, duration, upstream)
                     .doOnError(e -> LOG.error(e.getMessage(), e));
         });
     }
 
+    /**
+     * Select another upstream of the selector, the upstreams already called are excluded.
+     *
+     * @param exchange the current server exchange
+     * @param exclude the uris already called
+     * @return the upstream, null if there is none left
+     */
+    private Upstream select(final ServerWebExchange exchange, final Set<URI> exclude) {
+        final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
+        final String loadBalance = exchange.getAttribute(Constants.LOAD_BALANCE);
+        //always query the latest available list
+        final List<Upstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selectorId)
+                .stream().filter(data -> {
+                    final String trimUri = data.getUrl().trim();
+                    for (URI needToExclude : exclude) {
+                        // exclude already called
+                        if ((needToExclude.getHost() + ":" + needToExclude.getPort()).equals(trimUri)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }).collect(Collectors.toList());
+        if (CollectionUtils.isEmpty(upstreamList)) {
+            return null;
+        }
+        final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
+        return LoadBalancerFactory.selector(upstreamList, loadBalance, ip);
+    }
+
+    private Mono<R> send(final ServerWebExchange exchange, final URI uri, final HttpHeaders httpHeaders,
+                         final Flux<DataBuffer> body, final Duration duration, final Upstream upstream) {
+        return track(exchange, doRequest(exchange, exchange.getRequest().getMethodValue(), uri, httpHeaders, body)
+                .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration))), upstream);
+    }
+
+    /**
+     * Send the request, and a hedge to another upstream once it is slower than the hedge delay of the policy.
+     * The first response wins, the other request is cancelled, or released when it has answered too.
+     * Each request works on its own {@link HedgeExchange}, only the winner is committed to the exchange.
+     * A failed request does not end the call while the other one is still running,
+     * when both fail the error of the first request is returned, so the retries go on as usual.
+     *
+     * @param exchange the current server exchange
+     * @param policy the hedge policy of the rule
+     * @param uri the request uri
+     * @param httpHeaders the request headers
+     * @param body the replayable request body
+     * @param duration the timeout of each request
+     * @param upstream the selected upstream, may be null
+     * @return the response of the winner
+     */
+    private Mono<R> hedge(final ServerWebExchange exchange, final HedgePolicy policy, final URI uri, final HttpHeaders httpHeaders,
+                          final Flux<DataBuffer> body, final Duration duration, final Upstream upstream) {
+        return Mono.defer(() -> {
+            final long delay = policy.begin();
+            if (delay < 0) {
+                // not enough samples to know what slow is yet
+                return timed(policy, send(exchange, uri, httpHeaders, body, duration, upstream));
+            }
+            final HedgeExchange primary = new HedgeExchange(exchange);
+            final Sinks.One<Throwable> primaryError = Sinks.one();
+            final Mono<Tuple2<HedgeExchange, R>> first = timed(policy, send(primary, uri, httpHeaders, body, duration, upstream))
+                    .map(res -> Tuples.of(primary, res))
+                    .onErrorResume(th -> {
+                        primaryError.tryEmitValue(th);
+                        return Mono.empty();
+                    });
+            final Mono<Tuple2<HedgeExchange, R>> second = Mono.delay(Duration.ofMillis(delay))
+                    .takeUntilOther(primaryError.asMono())
+                    .flatMap(tick -> sendHedge(exchange, policy, uri, httpHeaders, body, duration))
+                    .onErrorResume(th -> {
+                        LOG.warn("the hedged request of {} failed: {}", uri.toASCIIString(), th.getMessage());
+                        return Mono.empty();
+                    });
+            return Flux.merge(first, second).next()
+                    .doOnDiscard(Tuple2.class, loser -> release((ServerWebExchange) loser.getT1()))
+                    .map(winner -> {
+                        winner.getT1().commit();
+                        if (winner.getT1() != primary) {
+                            policy.hedgeWon();
+                        }
+                        return winner.getT2();
+                    })
+                    .switchIfEmpty(primaryError.asMono().flatMap(Mono::error));
+        });
+    }
+
+    private Mono<Tuple2<HedgeExchange, R>> sendHedge(final ServerWebExchange exchange, final HedgePolicy policy, final URI uri,
+                                                      final HttpHeaders httpHeaders, final Flux<DataBuffer> body, final Duration duration) {
+        final Upstream upstream = select(exchange, Sets.newHashSet(uri));
+        if (Objects.isNull(upstream) || !policy.tryHedge()) {
+            return Mono.empty();
+        }
+        final HedgeExchange hedge = new HedgeExchange(exchange);
+        hedge.getAttributes().put(Constants.LOAD_BALANCE_UPSTREAM, upstream);
+        final URI hedgeUri = RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
+        return send(hedge, hedgeUri, httpHeaders, body, duration, upstream)
+                .map(res -> Tuples.of(hedge, res));
+    }
+
+    /**
+     * Feed the latency of the primary request to the hedge policy, the hedges are not timed.
+     * A primary cancelled because the hedge won is recorded with the time it ran for, a lower bound of its latency,
+     * otherwise the slow requests the hedges are for would never reach the histogram.
+     *
+     * @param policy the hedge policy
+     * @param request the primary request
+     * @return the timed request
+     */
+    private Mono<R> timed(final HedgePolicy policy, final Mono<R> request) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            return request.doOnSuccess(res -> policy.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)))
+                    .doOnCancel(() -> policy.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        });
+    }
+
+    /**
+     * Feed the in-flight count and the latency of the upstream to its stats,
+     * they are used by the latency aware load balancers.
+     * The outcome feeds the outlier detection, 5xx responses, connect errors and timeouts are failures.
+     *
+     * @param exchange the current server exchange
+     * @param request the request to the upstream, with its timeout
+     * @param upstream the selected upstream, may be null
+     * @return the tracked request
+     */
+    private Mono<R> track(final ServerWebExchange exchange, final Mono<R> request, final Upstream upstream) {
+        if (Objects.isNull(upstream)) {
+            return request;
+        }
+        final UpstreamStats stats = upstream.getStats();
+        return Mono.defer(() -> {
+            final long start = stats.begin();
+            return request.doOnSuccess(res -> UpstreamCacheManager.getInstance().report(upstream, !isServerError(exchange)))
+                    .doOnError(th -> UpstreamCacheManager.getInstance().report(upstream, false))
+                    .doFinally(signal -> stats.end(start));
+        });
+    }
+
+    private boolean isServerError(final ServerWebExchange exchange) {
+        final Integer status = exchange.getResponse().getRawStatusCode();
+        return Objects.nonNull(status) && status >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
     /**
      * Build the http request headers.
      *
@@ -172,6 +334,14 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
         return headers;
     }
 
+    /**
+     * Release the response of a hedged request which lost the race.
+     *
+     * @param exchange the exchange of the losing request
+     */
+    protected void release(final ServerWebExchange exchange) {
+    }
+
     /**
      * Process the Web request.
      *
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The exchange of one request of a hedged call.
+ * The attributes, the response status and the response headers written by the request are kept apart
+ * from the exchange, they are only committed to it when the request wins.
+ */
+final class HedgeExchange extends ServerWebExchangeDecorator {
+
+    private final Map<String, Object> attributes;
+
+    private final AttemptResponse response;
+
+    HedgeExchange(final ServerWebExchange delegate) {
+        super(delegate);
+        this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+        this.response = new AttemptResponse(delegate.getResponse());
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public ServerHttpResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Commit the attributes and the response status and headers of the request to the exchange.
+     */
+    void commit() {
+        getDelegate().getAttributes().putAll(attributes);
+        final ServerHttpResponse target = getDelegate().getResponse();
+        if (Objects.nonNull(response.status)) {
+            target.setRawStatusCode(response.status);
+        }
+        target.getHeaders().putAll(response.headers);
+    }
+
+    private static final class AttemptResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private volatile Integer status;
+
+        AttemptResponse(final ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean setStatusCode(final HttpStatus status) {
+            this.status = Objects.isNull(status) ? null : status.value();
+            return true;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return Objects.isNull(status) ? null : HttpStatus.resolve(status);
+        }
+
+        @Override
+        public boolean setRawStatusCode(final Integer status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public Integer getRawStatusCode() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -20,7 +20,10 @@ package org.apache.shenyu.plugin.httpclient;
 import io.netty.handler.codec.http.HttpMethod;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
+import org.apache.shenyu.common.enums.HttpProtocolEnum;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.NettyDataBuffer;
 import org.springframework.http.HttpHeaders;
@@ -30,31 +33,94 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.HttpResources;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
 
 import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * The type Netty http client plugin.
  */
 public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientResponse> {
 
+    private static final long POOL_CLIENT_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final long RETIRE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
     private final HttpClient httpClient;
 
+    private final Function<DivideRuleHandle, HttpClient> poolClientFactory;
+
+    private final Consumer<HttpClient> poolClientDisposer;
+
+    /**
+     * the http clients on the connection pools of the rules, by the pool settings.
+     */
+    private final Map<String, PoolClient> poolClients = new ConcurrentHashMap<>();
+
+    private volatile long lastRetire = System.currentTimeMillis();
+
     /**
      * Instantiates a new Netty http client plugin.
      *
      * @param httpClient the http client
      */
     public NettyHttpClientPlugin(final HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * Instantiates a new Netty http client plugin.
+     *
+     * @param httpClient the http client on the shared connection pool
+     * @param poolClientFactory builds the http client on the connection pool of a rule, may be null
+     */
+    public NettyHttpClientPlugin(final HttpClient httpClient, final Function<DivideRuleHandle, HttpClient> poolClientFactory) {
+        this(httpClient, poolClientFactory, NettyHttpClientPlugin::disposeConnectionProvider);
+    }
+
+    /**
+     * Instantiates a new Netty http client plugin.
+     * The http client of a rule pool unused for ten minutes, as after the rule changes its pool settings or is removed,
+     * is retired and handed to the disposer, which must release its connection provider.
+     *
+     * @param httpClient the http client on the shared connection pool
+     * @param poolClientFactory builds the http client on the connection pool of a rule, may be null
+     * @param poolClientDisposer disposes the http client on the connection pool of a rule
+     */
+    public NettyHttpClientPlugin(final HttpClient httpClient, final Function<DivideRuleHandle, HttpClient> poolClientFactory,
+                                 final Consumer<HttpClient> poolClientDisposer) {
         this.httpClient = httpClient;
+        this.poolClientFactory = poolClientFactory;
+        this.poolClientDisposer = poolClientDisposer;
+    }
+
+    /**
+     * Dispose the connection provider of the http client, the connections in use are closed once released.
+     * The global resources of reactor netty are left alone.
+     *
+     * @param httpClient the http client
+     */
+    public static void disposeConnectionProvider(final HttpClient httpClient) {
+        Optional.ofNullable(httpClient.configuration().connectionProvider())
+                .filter(provider -> !(provider instanceof HttpResources))
+                .ifPresent(provider -> provider.disposeLater().subscribe());
     }
 
     @Override
     protected Mono<HttpClientResponse> doRequest(final ServerWebExchange exchange, final String httpMethod, final URI uri,
                                 final HttpHeaders httpHeaders, final Flux<DataBuffer> body) {
-        return Mono.from(httpClient.headers(headers -> httpHeaders.forEach(headers::add))
+        return Mono.from(httpClient(exchange).headers(headers -> httpHeaders.forEach(headers::add))
                 .request(HttpMethod.valueOf(httpMethod)).uri(uri.toASCIIString())
                 .send((req, nettyOutbound) -> nettyOutbound.send(body.map(dataBuffer -> ((NettyDataBuffer) dataBuffer).getNativeBuffer())))
                 .responseConnection((res, connection) -> {
@@ -80,18 +146,90 @@ public class NettyHttpClientPlugin extends AbstractHttpClientPlugin<HttpClientRe
                 }));
     }
 
+    @Override
+    protected void release(final ServerWebExchange exchange) {
+        final Connection connection = exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR);
+        if (Objects.nonNull(connection)) {
+            connection.dispose();
+        }
+    }
+
+    private HttpClient httpClient(final ServerWebExchange exchange) {
+        final DivideRuleHandle pool = exchange.getAttribute(Constants.HTTP_CONNECTION_POOL);
+        if (Objects.isNull(pool) || Objects.isNull(poolClientFactory)) {
+            return httpClient;
+        }
+        final long now = System.currentTimeMillis();
+        if (now - lastRetire > RETIRE_INTERVAL_MILLIS) {
+            lastRetire = now;
+            retireIdlePoolClients(now);
+        }
+        // rules with the same pool settings share the pool, it still holds a separate pool for each upstream.
+        final String key = pool.getMaxConnections() + "-" + pool.getPendingAcquireMaxCount() + "-" + pool.getMaxIdleTime()
+                + "-" + HttpProtocolEnum.acquireByName(pool.getHttpProtocol()).getName();
+        while (true) {
+            PoolClient client = poolClients.get(key);
+            if (Objects.isNull(client)) {
+                client = poolClients.computeIfAbsent(key, k -> new PoolClient(poolClientFactory.apply(pool), now));
+            }
+            if (client.use(now)) {
+                return client.httpClient;
+            }
+            // retired meanwhile, build a new one
+            poolClients.remove(key, client);
+        }
+    }
+
+    /**
+     * Retire the http clients of the rule pools unused for the idle time.
+     *
+     * @param now the current time millis
+     */
+    void retireIdlePoolClients(final long now) {
+        poolClients.forEach((key, client) -> {
+            if (client.retire(now, POOL_CLIENT_IDLE_MILLIS)) {
+                poolClients.remove(key, client);
+                poolClientDisposer.accept(client.httpClient);
+            }
+        });
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.NETTY_HTTP_CLIENT.getCode();
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExceptHttpLike(exchange);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.HTTP && rpcType != RpcTypeEnum.SPRING_CLOUD;
     }
 
     @Override
     public String named() {
         return PluginEnum.NETTY_HTTP_CLIENT.getName();
     }
+
+    private static final class PoolClient {
+
+        private static final long RETIRED = -1L;
+
+        private final HttpClient httpClient;
+
+        private final AtomicLong lastUsed;
+
+        PoolClient(final HttpClient httpClient, final long now) {
+            this.httpClient = httpClient;
+            this.lastUsed = new AtomicLong(now);
+        }
+
+        boolean use(final long now) {
+            return lastUsed.getAndUpdate(used -> used == RETIRED ? RETIRED : Math.max(used, now)) != RETIRED;
+        }
+
+        boolean retire(final long now, final long idleMillis) {
+            long used = lastUsed.get();
+            // a concurrent use changes the time, so an http client in use is never retired
+            return used != RETIRED && now - used > idleMillis && lastUsed.compareAndSet(used, RETIRED);
+        }
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * The request body kept for the retries, each subscription to {@link #body()} replays the same bytes.
+ * The body is kept in pooled direct buffers up to the max in memory size and spills to a temp file above it.
+ * The buffers are reference counted, every replay holds its own reference until it is written,
+ * so {@link #release()} can be called as soon as the exchange is done.
+ */
+public final class ReplayableBody {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplayableBody.class);
+
+    private static final NettyDataBufferFactory BUFFER_FACTORY = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private static final int FILE_BUFFER_SIZE = 8192;
+
+    private final long maxInMemorySize;
+
+    private long size;
+
+    private CompositeByteBuf memory;
+
+    private Path file;
+
+    private FileChannel channel;
+
+    private boolean released;
+
+    private ReplayableBody(final long maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    /**
+     * Read the whole body and keep it for the replays.
+     *
+     * @param body the request body, it can only be subscribed once
+     * @param maxInMemorySize the max size in bytes kept in memory
+     * @return the replayable body
+     */
+    public static Mono<ReplayableBody> cache(final Flux<DataBuffer> body, final long maxInMemorySize) {
+        final ReplayableBody replayable = new ReplayableBody(maxInMemorySize);
+        return body.concatMap(replayable::append)
+                .then(Mono.fromRunnable(replayable::complete))
+                .thenReturn(replayable)
+                .doOnError(e -> replayable.release())
+                .doOnCancel(replayable::release);
+    }
+
+    /**
+     * The body, it can be subscribed for each retry.
+     *
+     * @return the body
+     */
+    public Flux<DataBuffer> body() {
+        return Flux.defer(() -> {
+            synchronized (this) {
+                if (released) {
+                    return Flux.error(new ShenyuException("the replayable request body has been released"));
+                }
+                if (Objects.nonNull(file)) {
+                    return DataBufferUtils.read(file, BUFFER_FACTORY, FILE_BUFFER_SIZE);
+                }
+                if (Objects.isNull(memory)) {
+                    return Flux.empty();
+                }
+                // retain the duplicate per subscription, a replay cancelled before the emission releases it
+                return Mono.fromCallable(this::duplicate)
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        .flux();
+            }
+        });
+    }
+
+    /**
+     * Get the size of the body.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Whether the body spilled to a temp file.
+     *
+     * @return true when the body is in a temp file
+     */
+    public synchronized boolean isSpilled() {
+        return Objects.nonNull(file);
+    }
+
+    /**
+     * Release the buffers and delete the temp file.
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        if (Objects.nonNull(memory)) {
+            memory.release();
+            memory = null;
+        }
+        closeChannel();
+        if (Objects.nonNull(file)) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warn("delete the request body file {} error", file, e);
+            }
+        }
+    }
+
+    private synchronized Mono<Void> append(final DataBuffer buffer) {
+        final ByteBuf buf = toByteBuf(buffer);
+        if (released) {
+            buf.release();
+            return Mono.empty();
+        }
+        size += buf.readableBytes();
+        if (Objects.isNull(file) && size <= maxInMemorySize) {
+            if (Objects.isNull(memory)) {
+                memory = PooledByteBufAllocator.DEFAULT.compositeDirectBuffer(Integer.MAX_VALUE);
+            }
+            memory.addComponent(true, buf);
+            return Mono.empty();
+        }
+        // the file io blocks, keep it off the event loop
+        return Mono.<Void>fromRunnable(() -> spill(buf)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private synchronized void spill(final ByteBuf buf) {
+        try {
+            if (released) {
+                return;
+            }
+            if (Objects.isNull(file)) {
+                file = Files.createTempFile("shenyu-request-body", ".tmp");
+                channel = FileChannel.open(file, StandardOpenOption.WRITE);
+                if (Objects.nonNull(memory)) {
+                    write(memory);
+                    memory.release();
+                    memory = null;
+                }
+            }
+            write(buf);
+        } catch (IOException e) {
+            throw new ShenyuException(e);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private synchronized DataBuffer duplicate() {
+        if (released || Objects.isNull(memory)) {
+            throw new ShenyuException("the replayable request body has been released");
+        }
+        return BUFFER_FACTORY.wrap(memory.retainedDuplicate());
+    }
+
+    private void write(final ByteBuf buf) throws IOException {
+        while (buf.isReadable()) {
+            buf.readBytes(channel, buf.readableBytes());
+        }
+    }
+
+    private synchronized void complete() {
+        closeChannel();
+    }
+
+    private void closeChannel() {
+        if (Objects.isNull(channel)) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.warn("close the request body file {} error", file, e);
+        }
+        channel = null;
+    }
+
+    private static ByteBuf toByteBuf(final DataBuffer buffer) {
+        if (buffer instanceof NettyDataBuffer) {
+            return ((NettyDataBuffer) buffer).getNativeBuffer();
+        }
+        final ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(buffer.readableByteCount());
+        buf.writeBytes(buffer.asByteBuffer());
+        DataBufferUtils.release(buffer);
+        return buf;
+    }
+}
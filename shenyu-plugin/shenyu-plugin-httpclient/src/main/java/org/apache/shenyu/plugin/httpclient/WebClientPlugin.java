@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.httpclient;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.ResultEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -31,6 +32,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.Objects;
 
 /**
  * The type Web client plugin.
@@ -72,6 +74,14 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ClientResponse> {
                 });
     }
 
+    @Override
+    protected void release(final ServerWebExchange exchange) {
+        final ClientResponse response = exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR);
+        if (Objects.nonNull(response)) {
+            response.releaseBody().subscribe();
+        }
+    }
+
     @Override
     public int getOrder() {
         return PluginEnum.WEB_CLIENT.getCode();
@@ -83,7 +93,7 @@ public class WebClientPlugin extends AbstractHttpClientPlugin<ClientResponse> {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExceptHttpLike(exchange);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.HTTP && rpcType != RpcTypeEnum.SPRING_CLOUD;
     }
 }
@@ -121,6 +121,11 @@ public class HttpClientProperties {
      */
     private Integer maxInMemorySize = 1;
 
+    /**
+     * max memory size of the request body kept for the retries, larger bodies spill to a temp file, unit kb.
+     */
+    private Integer replayMaxInMemorySize = 256;
+
     /**
      * Gets strategy.
      *
@@ -390,6 +395,22 @@ public class HttpClientProperties {
         this.maxInMemorySize = maxInMemorySize;
     }
 
+    /**
+     * get replayMaxInMemorySize.
+     * @return replayMaxInMemorySize
+     */
+    public Integer getReplayMaxInMemorySize() {
+        return replayMaxInMemorySize;
+    }
+
+    /**
+     * set replayMaxInMemorySize.
+     * @param replayMaxInMemorySize replayMaxInMemorySize
+     */
+    public void setReplayMaxInMemorySize(final Integer replayMaxInMemorySize) {
+        this.replayMaxInMemorySize = replayMaxInMemorySize;
+    }
+
     /**
      * The type Pool.
      */
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient.metrics;
+
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * The meter registrar of the connection pools, which also drops the metrics of a disposed connection provider.
+ * reactor netty gives no callback when a connection provider is disposed, so {@link org.apache.shenyu.plugin.httpclient.NettyHttpClientPlugin}
+ * asks for it when retiring the connection pool of a rule.
+ */
+public interface ConnectionPoolMeterRegistrar extends ConnectionProvider.MeterRegistrar {
+
+    /**
+     * De-register the metrics of all the pools of the connection provider.
+     *
+     * @param poolName the name of the connection provider
+     */
+    void deRegisterMetrics(String poolName);
+}
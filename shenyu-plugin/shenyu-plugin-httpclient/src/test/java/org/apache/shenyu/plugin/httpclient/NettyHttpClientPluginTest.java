@@ -19,13 +19,19 @@ package org.apache.shenyu.plugin.httpclient;
 
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
+import org.apache.shenyu.common.enums.HttpProtocolEnum;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.hedge.HedgePolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,10 +43,20 @@ import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
 import reactor.test.StepVerifier;
 
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -88,6 +104,149 @@ public final class NettyHttpClientPluginTest {
         StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for the connection pool of the rule.
+     */
+    @Test
+    public void testExecuteWithRuleConnectionPool() {
+        AtomicInteger created = new AtomicInteger();
+        NettyHttpClientPlugin plugin = new NettyHttpClientPlugin(HttpClient.create(), rule -> {
+            created.incrementAndGet();
+            return HttpClient.create();
+        });
+        DivideRuleHandle ruleHandle = new DivideRuleHandle();
+        ruleHandle.setMaxConnections(10);
+        for (int i = 0; i < 2; i++) {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test").body("test"));
+            exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+            exchange.getAttributes().put(Constants.HTTP_URI, URI.create("/test"));
+            exchange.getAttributes().put(Constants.HTTP_CONNECTION_POOL, ruleHandle);
+            StepVerifier.create(plugin.execute(exchange, chain)).expectSubscription().verifyError();
+        }
+        assertEquals(1, created.get());
+    }
+
+    /**
+     * test case for retiring the idle connection pool of the rule.
+     */
+    @Test
+    public void testRetireIdleRuleConnectionPool() {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger disposed = new AtomicInteger();
+        NettyHttpClientPlugin plugin = new NettyHttpClientPlugin(HttpClient.create(), rule -> {
+            created.incrementAndGet();
+            return HttpClient.create();
+        }, client -> disposed.incrementAndGet());
+        DivideRuleHandle ruleHandle = new DivideRuleHandle();
+        ruleHandle.setMaxConnections(10);
+        for (int i = 0; i < 2; i++) {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test").body("test"));
+            exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+            exchange.getAttributes().put(Constants.HTTP_URI, URI.create("/test"));
+            exchange.getAttributes().put(Constants.HTTP_CONNECTION_POOL, ruleHandle);
+            StepVerifier.create(plugin.execute(exchange, chain)).expectSubscription().verifyError();
+            plugin.retireIdlePoolClients(System.currentTimeMillis());
+            assertEquals(0, disposed.get());
+        }
+        plugin.retireIdlePoolClients(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(11));
+        assertEquals(1, disposed.get());
+        plugin.retireIdlePoolClients(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(11));
+        assertEquals(1, disposed.get());
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test").body("test"));
+        exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+        exchange.getAttributes().put(Constants.HTTP_URI, URI.create("/test"));
+        exchange.getAttributes().put(Constants.HTTP_CONNECTION_POOL, ruleHandle);
+        StepVerifier.create(plugin.execute(exchange, chain)).expectSubscription().verifyError();
+        assertEquals(2, created.get());
+    }
+
+    /**
+     * test case for the h2c upstream.
+     */
+    @Test
+    public void testExecuteWithH2c() {
+        DisposableServer server = HttpServer.create().protocol(HttpProtocol.H2C).port(0)
+                .handle((request, response) -> response.sendString(Mono.just("ok")))
+                .bindNow();
+        try {
+            final NettyHttpClientPlugin plugin = new NettyHttpClientPlugin(HttpClient.create(), rule -> HttpClient.create().protocol(HttpProtocol.H2C));
+            DivideRuleHandle ruleHandle = new DivideRuleHandle();
+            ruleHandle.setHttpProtocol(HttpProtocolEnum.H2C.getName());
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test").build());
+            exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+            exchange.getAttributes().put(Constants.HTTP_URI, URI.create("http://localhost:" + server.port() + "/test"));
+            exchange.getAttributes().put(Constants.HTTP_CONNECTION_POOL, ruleHandle);
+            StepVerifier.create(plugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+            Connection connection = exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR);
+            assertTrue(Objects.requireNonNull(connection).channel() instanceof Http2StreamChannel);
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    /**
+     * test case for the request body kept for the retries.
+     */
+    @Test
+    public void testExecuteWithRetry() {
+        DisposableServer server = HttpServer.create().port(0)
+                .handle((request, response) -> response.send(request.receive().retain()))
+                .bindNow();
+        try {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/test").body("hello"));
+            exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+            exchange.getAttributes().put(Constants.HTTP_URI, URI.create("http://localhost:" + server.port() + "/test"));
+            exchange.getAttributes().put(Constants.HTTP_RETRY, 1);
+            StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+            Connection connection = exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR);
+            StepVerifier.create(Objects.requireNonNull(connection).inbound().receive().aggregate().asString())
+                    .expectNext("hello").verifyComplete();
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    /**
+     * test case for the hedge to another upstream of a slow request.
+     */
+    @Test
+    public void testExecuteWithHedge() {
+        DisposableServer slow = HttpServer.create().port(0)
+                .handle((request, response) -> Mono.delay(Duration.ofSeconds(2)).then(response.sendString(Mono.just("slow")).then()))
+                .bindNow();
+        DisposableServer fast = HttpServer.create().port(0)
+                .handle((request, response) -> Mono.delay(Duration.ofMillis(200)).then(response.sendString(Mono.just("fast")).then()))
+                .bindNow();
+        try {
+            final String selectorId = "hedge-selector";
+            UpstreamCacheManager.getInstance().submit(selectorId, Arrays.asList(
+                    Upstream.builder().url("localhost:" + slow.port()).build(), Upstream.builder().url("localhost:" + fast.port()).build()));
+            HedgePolicy policy = new HedgePolicy(99.5, 100);
+            for (int i = 0; i < 100; i++) {
+                policy.record(10);
+            }
+            final long wins = HedgePolicy.getHedgeWinCount();
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
+                    .remoteAddress(new InetSocketAddress("127.0.0.1", 8080)).build());
+            exchange.getAttributes().put(Constants.CONTEXT, mock(ShenyuContext.class));
+            exchange.getAttributes().put(Constants.HTTP_URI, URI.create("http://localhost:" + slow.port() + "/test"));
+            exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, selectorId);
+            exchange.getAttributes().put(Constants.LOAD_BALANCE, "random");
+            exchange.getAttributes().put(Constants.HEDGE_POLICY, policy);
+            StepVerifier.create(nettyHttpClientPlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+            Connection connection = exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR);
+            StepVerifier.create(Objects.requireNonNull(connection).inbound().receive().aggregate().asString())
+                    .expectNext("fast").verifyComplete();
+            assertEquals(wins + 1, HedgePolicy.getHedgeWinCount());
+            // the cancelled primary is recorded with the time it ran for, at least the 200ms of the hedge
+            assertTrue(policy.delayMillis() >= 200);
+        } finally {
+            UpstreamCacheManager.getInstance().removeByKey("hedge-selector");
+            slow.disposeNow();
+            fast.disposeNow();
+        }
+    }
+
     /**
      * test case for NettyHttpClientPlugin {@link NettyHttpClientPlugin#skip(ServerWebExchange)}.
      */
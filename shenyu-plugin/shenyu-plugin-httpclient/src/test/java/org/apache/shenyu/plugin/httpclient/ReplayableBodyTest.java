@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import io.netty.buffer.CompositeByteBuf;
+import org.apache.shenyu.common.utils.ReflectUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test case for {@link ReplayableBody}.
+ */
+public final class ReplayableBodyTest {
+
+    @Test
+    public void testReplayInMemory() {
+        ReplayableBody body = ReplayableBody.cache(body("hello", " ", "world"), 1024).block();
+        assertEquals(11, body.getSize());
+        assertFalse(body.isSpilled());
+        assertEquals("hello world", read(body));
+        assertEquals("hello world", read(body));
+        body.release();
+        StepVerifier.create(body.body()).expectError().verify();
+    }
+
+    @Test
+    public void testReplaySpilled() {
+        ReplayableBody body = ReplayableBody.cache(body("hello", " ", "world"), 6).block();
+        assertEquals(11, body.getSize());
+        assertTrue(body.isSpilled());
+        assertEquals("hello world", read(body));
+        assertEquals("hello world", read(body));
+        body.release();
+    }
+
+    @Test
+    public void testReplayEmpty() {
+        ReplayableBody body = ReplayableBody.cache(Flux.empty(), 1024).block();
+        assertEquals(0, body.getSize());
+        assertEquals("", read(body));
+        body.release();
+    }
+
+    @Test
+    public void testReplayCancelledBeforeEmission() {
+        ReplayableBody body = ReplayableBody.cache(body("hello"), 1024).block();
+        CompositeByteBuf memory = (CompositeByteBuf) ReflectUtils.getFieldValue(body, "memory");
+        StepVerifier.create(body.body(), 0).thenCancel().verify();
+        assertEquals(1, memory.refCnt());
+        body.release();
+        assertEquals(0, memory.refCnt());
+    }
+
+    private static Flux<DataBuffer> body(final String... chunks) {
+        return Flux.fromArray(chunks).map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String read(final ReplayableBody body) {
+        return DataBufferUtils.join(body.body()).map(buffer -> {
+            String value = buffer.toString(StandardCharsets.UTF_8);
+            DataBufferUtils.release(buffer);
+            return value;
+        }).defaultIfEmpty("").block();
+    }
+}
@@ -17,16 +17,11 @@
 
 package org.apache.shenyu.plugin.jwt;
 
-import io.jsonwebtoken.Jwt;
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.JwtParserBuilder;
-import io.jsonwebtoken.Jwts;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.impl.JwtRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
-import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
@@ -34,15 +29,17 @@ import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.jwt.config.JwtConfig;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.jwt.exception.ThrowingFunction;
+import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.jwt.cache.JwtVerifier;
+import org.apache.shenyu.plugin.jwt.handle.JwtPluginDataHandler;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -61,16 +58,17 @@ public class JwtPlugin extends AbstractShenyuPlugin {
         String token = exchange.getRequest().getHeaders().getFirst(TOKEN);
 
         // check secreteKey
-        if (StringUtils.isEmpty(jwtConfig.getSecretKey())) {
+        JwtVerifier jwtVerifier = jwtConfig.getJwtVerifier();
+        if (StringUtils.isEmpty(jwtConfig.getSecretKey()) || Objects.isNull(jwtVerifier)) {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.SECRET_KEY_MUST_BE_CONFIGURED);
             return WebFluxResultUtils.result(exchange, error);
         }
 
         // compatible processing
         String finalAuthorization = compatible(token, authorization);
-        Map<String, Object> jwtBody = checkAuthorization(finalAuthorization, jwtConfig.getSecretKey());
+        Map<String, Object> jwtBody = jwtVerifier.verify(finalAuthorization);
         if (jwtBody != null) {
-            JwtRuleHandle ruleHandle = GsonUtils.getInstance().fromJson(rule.getHandle(), JwtRuleHandle.class);
+            JwtRuleHandle ruleHandle = JwtPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
             if (ruleHandle == null) {
                 return chain.execute(exchange);
             }
@@ -112,32 +110,6 @@ public class JwtPlugin extends AbstractShenyuPlugin {
         return authorization.contains(AUTH2_TOKEN);
     }
 
-    /**
-     * check Authorization.
-     * @param authorization the authorization after processing
-     * @param secretKey secretKey of authorization
-     * @return Map
-     */
-    private Map<String, Object> checkAuthorization(final String authorization,
-                                                   final String secretKey) {
-
-        if (StringUtils.isEmpty(authorization)) {
-            return null;
-        }
-        JwtParserBuilder jwtParserBuilder = Jwts.parserBuilder();
-        JwtParser jwtParser = jwtParserBuilder.build();
-        if (jwtParser.isSigned(authorization)) {
-            jwtParserBuilder.setSigningKey(secretKey.getBytes(StandardCharsets.UTF_8));
-            JwtParser jwtParserExec = jwtParserBuilder.build();
-            Jwt jwt = ThrowingFunction.wrap(() -> jwtParserExec.parse(authorization));
-            if (jwt == null) {
-                return null;
-            }
-            return (Map<String, Object>) jwt.getBody();
-        }
-        return null;
-    }
-
     /**
      * The parameters in token are converted to request header.
      *
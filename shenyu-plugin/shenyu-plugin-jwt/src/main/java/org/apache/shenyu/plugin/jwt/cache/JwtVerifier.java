@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.cache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.cache.MemorySafeClockCache;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.plugin.jwt.exception.ThrowingFunction;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Verify the jwt with parsers built once for a secret key.
+ * The claims of a verified token are cached by the sha-256 of the token until it expires,
+ * so a repeated token skips the signature verification and the claims deserialization.
+ */
+public final class JwtVerifier {
+
+    private static final int MAXIMUM_SIZE = 1 << 14;
+
+    private static final JwtParser UNSIGNED_PARSER = Jwts.parserBuilder().build();
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtParser parser;
+
+    private final MemorySafeClockCache<String, VerifiedToken> verifiedTokens = new MemorySafeClockCache<>(Constants.THE_256_MB, MAXIMUM_SIZE);
+
+    public JwtVerifier(final String secretKey) {
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey.getBytes(StandardCharsets.UTF_8)).build();
+    }
+
+    /**
+     * verify the token.
+     *
+     * @param token the token
+     * @return the body of the token, null if the token is invalid
+     */
+    public Map<String, Object> verify(final String token) {
+        if (StringUtils.isEmpty(token)) {
+            return null;
+        }
+        String key = digest(token);
+        VerifiedToken verified = verifiedTokens.get(key);
+        if (Objects.nonNull(verified)) {
+            if (System.currentTimeMillis() < verified.getExpiration()) {
+                return verified.getBody();
+            }
+            verifiedTokens.remove(key);
+        }
+        if (!UNSIGNED_PARSER.isSigned(token)) {
+            return null;
+        }
+        Jwt jwt = ThrowingFunction.wrap(() -> parser.parse(token));
+        if (Objects.isNull(jwt) || !(jwt.getBody() instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> body = (Map<String, Object>) jwt.getBody();
+        verifiedTokens.put(key, new VerifiedToken(body, expiration(body)));
+        return body;
+    }
+
+    /**
+     * the count of the verified tokens in cache.
+     *
+     * @return the count
+     */
+    public int size() {
+        return verifiedTokens.size();
+    }
+
+    private static long expiration(final Map<String, Object> body) {
+        if (body instanceof Claims) {
+            Date expiration = ((Claims) body).getExpiration();
+            return Objects.isNull(expiration) ? Long.MAX_VALUE : expiration.getTime();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static String digest(final String token) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class VerifiedToken {
+
+        private final Map<String, Object> body;
+
+        private final long expiration;
+
+        VerifiedToken(final Map<String, Object> body, final long expiration) {
+            this.body = body;
+            this.expiration = expiration;
+        }
+
+        Map<String, Object> getBody() {
+            return body;
+        }
+
+        long getExpiration() {
+            return expiration;
+        }
+    }
+}
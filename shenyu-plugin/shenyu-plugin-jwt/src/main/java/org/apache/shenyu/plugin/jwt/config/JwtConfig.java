@@ -17,6 +17,8 @@
 
 package org.apache.shenyu.plugin.jwt.config;
 
+import org.apache.shenyu.plugin.jwt.cache.JwtVerifier;
+
 import java.io.Serializable;
 
 /**
@@ -29,6 +31,11 @@ public class JwtConfig implements Serializable {
      */
     private String secretKey;
 
+    /**
+     * the verifier built for the secret key, null if it can not be built.
+     */
+    private transient JwtVerifier jwtVerifier;
+
     /**
      * Gets secret key.
      *
@@ -47,4 +54,22 @@ public class JwtConfig implements Serializable {
         this.secretKey = secretKey;
     }
 
+    /**
+     * Gets jwt verifier.
+     *
+     * @return the jwt verifier
+     */
+    public JwtVerifier getJwtVerifier() {
+        return jwtVerifier;
+    }
+
+    /**
+     * Sets jwt verifier.
+     *
+     * @param jwtVerifier the jwt verifier
+     */
+    public void setJwtVerifier(final JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
+    }
+
 }
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.jwt.handle;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
@@ -28,7 +29,10 @@ import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.jwt.cache.JwtVerifier;
 import org.apache.shenyu.plugin.jwt.config.JwtConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.Optional;
@@ -41,12 +45,21 @@ public class JwtPluginDataHandler implements PluginDataHandler {
 
     public static final Supplier<CommonHandleCache<String, JwtRuleHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
 
+    private static final Logger LOG = LoggerFactory.getLogger(JwtPluginDataHandler.class);
+
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         Map<String, String> configMap = GsonUtils.getInstance().toObjectMap(pluginData.getConfig(), String.class);
         String secretKey = Optional.ofNullable(configMap.get(Constants.SECRET_KEY)).orElse("");
         JwtConfig jwtConfig = new JwtConfig();
         jwtConfig.setSecretKey(secretKey);
+        if (StringUtils.isNotEmpty(secretKey)) {
+            try {
+                jwtConfig.setJwtVerifier(new JwtVerifier(secretKey));
+            } catch (RuntimeException e) {
+                LOG.error("jwt plugin can not build the verifier with the configured secret key", e);
+            }
+        }
         Singleton.INST.single(JwtConfig.class, jwtConfig);
     }
 
@@ -58,6 +71,11 @@ public class JwtPluginDataHandler implements PluginDataHandler {
         });
     }
 
+    @Override
+    public void removeRule(final RuleData ruleData) {
+        Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> CACHED_HANDLE.get().removeHandle(CacheKeyUtils.INST.getKey(ruleData)));
+    }
+
     @Override
     public String pluginNamed() {
         return PluginEnum.JWT.getName();
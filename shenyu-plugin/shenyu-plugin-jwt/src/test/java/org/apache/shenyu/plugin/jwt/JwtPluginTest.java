@@ -80,6 +80,8 @@ public final class JwtPluginTest {
         jwtPluginDataHandler.handlerPlugin(pluginData);
         selectorData = mock(SelectorData.class);
         ruleData = new RuleData();
+        ruleData.setId("jwtRule");
+        ruleData.setSelectorId("jwt");
         jwtPluginUnderTest = new JwtPlugin();
         // HMAC-SHA algorithms MUST have a size >= 256 bits
         final String secreteKey = "shenyu-test-shenyu-test-shenyu-test";
@@ -123,6 +125,7 @@ public final class JwtPluginTest {
         converts.add(convert);
         jwtRuleHandle.setConverter(converts);
         ruleData.setHandle(GsonUtils.getGson().toJson(jwtRuleHandle));
+        new JwtPluginDataHandler().handlerRule(ruleData);
         when(this.chain.execute(any())).thenReturn(Mono.empty());
         Mono<Void> mono = jwtPluginUnderTest.doExecute(exchange, chain, selectorData, ruleData);
         StepVerifier.create(mono).expectSubscription().verifyComplete();
@@ -141,6 +144,7 @@ public final class JwtPluginTest {
         converts.add(webConvert);
         jwtRuleHandle.setConverter(converts);
         ruleData.setHandle(GsonUtils.getGson().toJson(jwtRuleHandle));
+        new JwtPluginDataHandler().handlerRule(ruleData);
         when(this.chain.execute(any())).thenReturn(Mono.empty());
         Mono<Void> mono = jwtPluginUnderTest.doExecute(exchange, chain, selectorData, ruleData);
         StepVerifier.create(mono).expectSubscription().verifyComplete();
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.cache;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test case for {@link JwtVerifier}.
+ */
+public final class JwtVerifierTest {
+
+    // HMAC-SHA algorithms MUST have a size >= 256 bits
+    private static final String SECRET_KEY = "shenyu-test-shenyu-test-shenyu-test";
+
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    public void setUp() {
+        jwtVerifier = new JwtVerifier(SECRET_KEY);
+    }
+
+    @Test
+    public void verifyTest() {
+        String token = token(SECRET_KEY, new Date(System.currentTimeMillis() + 60_000));
+        Map<String, Object> body = jwtVerifier.verify(token);
+        assertEquals(1, body.get("userId"));
+        assertEquals(1, jwtVerifier.size());
+        assertSame(body, jwtVerifier.verify(token));
+        assertEquals(1, jwtVerifier.size());
+    }
+
+    @Test
+    public void verifyExpiredTest() {
+        String token = token(SECRET_KEY, new Date(System.currentTimeMillis() - 60_000));
+        assertNull(jwtVerifier.verify(token));
+        assertEquals(0, jwtVerifier.size());
+    }
+
+    @Test
+    public void verifyInvalidTest() {
+        String token = token("shenyu-test-shenyu-test-shenyu-other", new Date(System.currentTimeMillis() + 60_000));
+        assertNull(jwtVerifier.verify(token));
+        assertNull(jwtVerifier.verify(Jwts.builder().claim("userId", 1).compact()));
+        assertNull(jwtVerifier.verify(""));
+        assertEquals(0, jwtVerifier.size());
+    }
+
+    private static String token(final String secretKey, final Date expiration) {
+        return Jwts.builder()
+                .claim("userId", 1)
+                .setExpiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -33,6 +33,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Test case for {@link JwtPluginDataHandler}.
@@ -57,11 +59,22 @@ public final class JwtPluginDataHandlerTest {
 
     @Test
     public void testHandlerPlugin() {
-        final PluginData pluginData = new PluginData("pluginId", "pluginName", "{\"secretKey\":\"shenyu\"}", "0", false);
+        // HMAC-SHA algorithms MUST have a size >= 256 bits
+        final PluginData pluginData = new PluginData("pluginId", "pluginName", "{\"secretKey\":\"shenyu-test-shenyu-test-shenyu-test\"}", "0", false);
         jwtPluginDataHandlerUnderTest.handlerPlugin(pluginData);
         JwtConfig jwtConfig = Singleton.INST.get(JwtConfig.class);
         Map<String, String> map = GsonUtils.getInstance().toObjectMap(pluginData.getConfig(), String.class);
         assertEquals(jwtConfig.getSecretKey(), map.get("secretKey"));
+        assertNotNull(jwtConfig.getJwtVerifier());
+    }
+
+    @Test
+    public void testHandlerPluginWithEmptySecretKey() {
+        final PluginData pluginData = new PluginData("pluginId", "pluginName", "{\"secretKey\":\"\"}", "0", false);
+        jwtPluginDataHandlerUnderTest.handlerPlugin(pluginData);
+        JwtConfig jwtConfig = Singleton.INST.get(JwtConfig.class);
+        assertEquals("", jwtConfig.getSecretKey());
+        assertNull(jwtConfig.getJwtVerifier());
     }
 
     @Test
@@ -41,4 +41,49 @@ public final class LabelNames {
      * The constant EXECUTE_LATENCY_NAME.
      */
     public static final String EXECUTE_LATENCY_NAME = "shenyu_execute_latency_millis";
+    
+    /**
+     * The constant HTTP_CLIENT_POOL_CONNECTIONS.
+     */
+    public static final String HTTP_CLIENT_POOL_CONNECTIONS = "shenyu_http_client_pool_connections";
+    
+    /**
+     * The constant HTTP_CLIENT_POOL_ACTIVE_CONNECTIONS, the active streams for the http2 pools.
+     */
+    public static final String HTTP_CLIENT_POOL_ACTIVE_CONNECTIONS = "shenyu_http_client_pool_active_connections";
+    
+    /**
+     * The constant HTTP_CLIENT_POOL_IDLE_CONNECTIONS.
+     */
+    public static final String HTTP_CLIENT_POOL_IDLE_CONNECTIONS = "shenyu_http_client_pool_idle_connections";
+    
+    /**
+     * The constant HTTP_CLIENT_POOL_PENDING_CONNECTIONS.
+     */
+    public static final String HTTP_CLIENT_POOL_PENDING_CONNECTIONS = "shenyu_http_client_pool_pending_connections";
+    
+    /**
+     * The constant HTTP_HEDGE_REQUESTS.
+     */
+    public static final String HTTP_HEDGE_REQUESTS = "shenyu_http_hedge_requests";
+    
+    /**
+     * The constant HTTP_HEDGE_WINS.
+     */
+    public static final String HTTP_HEDGE_WINS = "shenyu_http_hedge_wins";
+    
+    /**
+     * The constant MATCH_CACHE_HITS.
+     */
+    public static final String MATCH_CACHE_HITS = "shenyu_match_cache_hits";
+    
+    /**
+     * The constant MATCH_CACHE_MISSES.
+     */
+    public static final String MATCH_CACHE_MISSES = "shenyu_match_cache_misses";
+    
+    /**
+     * The constant MATCH_CACHE_EVICTIONS.
+     */
+    public static final String MATCH_CACHE_EVICTIONS = "shenyu_match_cache_evictions";
 }
@@ -26,6 +26,7 @@ import org.apache.shenyu.spi.Join;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
 
 /**
  * Prometheus metric register.
@@ -85,6 +86,20 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
         }
     }
     
+    @Override
+    public void counterBind(final String name, final String[] labelValues, final DoubleSupplier supplier) {
+        Counter counter = COUNTER_MAP.get(name);
+        if (Objects.isNull(counter)) {
+            return;
+        }
+        counter.setChild(new Counter.Child() {
+            @Override
+            public double get() {
+                return supplier.getAsDouble();
+            }
+        }, labelValues);
+    }
+    
     @Override
     public void gaugeIncrement(final String name, final String[] labelValues) {
         Gauge gauge = GAUGE_MAP.get(name);
@@ -111,6 +126,29 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
         }
     }
     
+    @Override
+    public void gaugeBind(final String name, final String[] labelValues, final DoubleSupplier supplier) {
+        Gauge gauge = GAUGE_MAP.get(name);
+        if (Objects.isNull(gauge)) {
+            return;
+        }
+        gauge.setChild(new Gauge.Child() {
+            @Override
+            public double get() {
+                return supplier.getAsDouble();
+            }
+        }, labelValues);
+    }
+    
+    @Override
+    public void gaugeUnbind(final String name, final String[] labelValues) {
+        Gauge gauge = GAUGE_MAP.get(name);
+        if (Objects.isNull(gauge)) {
+            return;
+        }
+        gauge.remove(labelValues);
+    }
+    
     @Override
     public void recordTime(final String name, final String[] labelValues, final long duration) {
         Histogram histogram = HISTOGRAM_MAP.get(name);
@@ -21,15 +21,32 @@ import org.apache.shenyu.plugin.metrics.config.Metric;
 import org.apache.shenyu.plugin.metrics.constant.LabelNames;
 import org.apache.shenyu.plugin.metrics.spi.MetricsRegister;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
 
 /**
  * Metrics reporter.
  */
 public final class MetricsReporter {
     
+    private static final String[] POOL_LABEL_NAMES = {"pool", "host"};
+    
+    /**
+     * the gauges bound to suppliers, replayed when the metrics register changes.
+     */
+    private static final Map<List<String>, DoubleSupplier> GAUGE_BINDINGS = new ConcurrentHashMap<>();
+    
+    /**
+     * the counters bound to suppliers, replayed when the metrics register changes.
+     */
+    private static final Map<List<String>, DoubleSupplier> COUNTER_BINDINGS = new ConcurrentHashMap<>();
+    
     private static MetricsRegister metricsRegister;
     
     /**
@@ -43,6 +60,17 @@ public final class MetricsReporter {
         MetricsReporter.registerCounter(LabelNames.REQUEST_TYPE_TOTAL, new String[]{"path", "type"}, "shenyu http request type total count");
         MetricsReporter.registerCounter(LabelNames.REQUEST_THROW_TOTAL, "shenyu request error total count");
         MetricsReporter.registerHistogram(LabelNames.EXECUTE_LATENCY_NAME, "the shenyu executor latency millis");
+        MetricsReporter.registerGauge(LabelNames.HTTP_CLIENT_POOL_CONNECTIONS, POOL_LABEL_NAMES, "the allocated connections of the http client pool");
+        MetricsReporter.registerGauge(LabelNames.HTTP_CLIENT_POOL_ACTIVE_CONNECTIONS, POOL_LABEL_NAMES, "the active connections of the http client pool, streams of the http2 pool");
+        MetricsReporter.registerGauge(LabelNames.HTTP_CLIENT_POOL_IDLE_CONNECTIONS, POOL_LABEL_NAMES, "the idle connections of the http client pool");
+        MetricsReporter.registerGauge(LabelNames.HTTP_CLIENT_POOL_PENDING_CONNECTIONS, POOL_LABEL_NAMES, "the pending acquires of the http client pool");
+        MetricsReporter.registerCounter(LabelNames.HTTP_HEDGE_REQUESTS, "the hedged http requests sent to another upstream");
+        MetricsReporter.registerCounter(LabelNames.HTTP_HEDGE_WINS, "the hedged http requests answered before the primary request");
+        MetricsReporter.registerCounter(LabelNames.MATCH_CACHE_HITS, new String[]{"cache"}, "the selector and rule match cache hits");
+        MetricsReporter.registerCounter(LabelNames.MATCH_CACHE_MISSES, new String[]{"cache"}, "the selector and rule match cache misses");
+        MetricsReporter.registerCounter(LabelNames.MATCH_CACHE_EVICTIONS, "the entries evicted from the match caches");
+        GAUGE_BINDINGS.forEach((key, supplier) -> metricsRegister.gaugeBind(key.get(0), key.subList(1, key.size()).toArray(new String[0]), supplier));
+        COUNTER_BINDINGS.forEach((key, supplier) -> metricsRegister.counterBind(key.get(0), key.subList(1, key.size()).toArray(new String[0]), supplier));
     }
     
     /**
@@ -161,6 +189,18 @@ public final class MetricsReporter {
         Optional.ofNullable(metricsRegister).ifPresent(register -> register.counterIncrement(name, labelValues, count));
     }
     
+    /**
+     * Bind the counter to a monotonic total read at each scrape, the binding survives the change of the metrics register.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param supplier the total supplier
+     */
+    public static void counterBind(final String name, final String[] labelValues, final DoubleSupplier supplier) {
+        COUNTER_BINDINGS.put(bindingKey(name, labelValues), supplier);
+        Optional.ofNullable(metricsRegister).ifPresent(register -> register.counterBind(name, labelValues, supplier));
+    }
+    
     /**
      * Gauge increment.
      *
@@ -199,6 +239,29 @@ public final class MetricsReporter {
         gaugeDecrement(name, null);
     }
     
+    /**
+     * Bind the gauge to a value read at each scrape, the binding survives the change of the metrics register.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param supplier the value supplier
+     */
+    public static void gaugeBind(final String name, final String[] labelValues, final DoubleSupplier supplier) {
+        GAUGE_BINDINGS.put(bindingKey(name, labelValues), supplier);
+        Optional.ofNullable(metricsRegister).ifPresent(register -> register.gaugeBind(name, labelValues, supplier));
+    }
+    
+    /**
+     * Unbind the gauge bound to a supplier, the supplier is no longer referenced.
+     *
+     * @param name name
+     * @param labelValues label values
+     */
+    public static void gaugeUnbind(final String name, final String[] labelValues) {
+        GAUGE_BINDINGS.remove(bindingKey(name, labelValues));
+        Optional.ofNullable(metricsRegister).ifPresent(register -> register.gaugeUnbind(name, labelValues));
+    }
+    
     /**
      * Record time by duration.
      *
@@ -228,6 +291,13 @@ public final class MetricsReporter {
         metricsRegister = null;
     }
     
+    private static List<String> bindingKey(final String name, final String[] labelValues) {
+        List<String> key = new ArrayList<>(labelValues.length + 1);
+        key.add(name);
+        key.addAll(Arrays.asList(labelValues));
+        return key;
+    }
+    
     private static String[] getLabelNames(final List<String> labels) {
         return labels.toArray(new String[0]);
     }
@@ -19,6 +19,8 @@ package org.apache.shenyu.plugin.metrics.spi;
 
 import org.apache.shenyu.spi.SPI;
 
+import java.util.function.DoubleSupplier;
+
 /**
  * Metrics register.
  */
@@ -61,6 +63,16 @@ public interface MetricsRegister {
      */
     void counterIncrement(String name, String[] labelValues, long count);
     
+    /**
+     * Bind the counter to a monotonic total read at each scrape, not supported by default.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param supplier the total supplier
+     */
+    default void counterBind(String name, String[] labelValues, DoubleSupplier supplier) {
+    }
+    
     /**
      * Gauge increment.
      *
@@ -77,6 +89,25 @@ public interface MetricsRegister {
      */
     void gaugeDecrement(String name, String[] labelValues);
     
+    /**
+     * Bind the gauge to a value read at each scrape, not supported by default.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param supplier the value supplier
+     */
+    default void gaugeBind(String name, String[] labelValues, DoubleSupplier supplier) {
+    }
+    
+    /**
+     * Unbind the gauge bound by {@link #gaugeBind(String, String[], DoubleSupplier)}, dropping its labels.
+     *
+     * @param name name
+     * @param labelValues label values
+     */
+    default void gaugeUnbind(String name, String[] labelValues) {
+    }
+    
     /**
      * Record time by duration.
      *
@@ -86,6 +86,39 @@ public final class PrometheusMetricsRegisterTest {
         prometheusMetricsRegister.clean();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCounterBind() {
+        String name = "hedge_requests";
+        String[] labelValues = new String[] {"proxy"};
+        prometheusMetricsRegister.registerCounter(name, new String[] {"route"}, "the hedged requests");
+        double[] value = {3.0d};
+        prometheusMetricsRegister.counterBind(name, labelValues, () -> value[0]);
+        Map<String, Counter> counterMap = (Map<String, Counter>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "COUNTER_MAP");
+        assertNotNull(counterMap);
+        assertThat(counterMap.get(name).labels(labelValues).get(), is(3.0d));
+        value[0] = 5.0d;
+        assertThat(counterMap.get(name).collect().get(0).samples.get(0).value, is(5.0d));
+        prometheusMetricsRegister.clean();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGaugeBind() {
+        String name = "pool_active_connections";
+        String[] labelValues = new String[] {"proxy", "localhost:8080"};
+        prometheusMetricsRegister.registerGauge(name, new String[] {"pool", "host"}, "the active connections");
+        double[] value = {3.0d};
+        prometheusMetricsRegister.gaugeBind(name, labelValues, () -> value[0]);
+        Map<String, Gauge> gaugeMap = (Map<String, Gauge>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "GAUGE_MAP");
+        assertNotNull(gaugeMap);
+        assertThat(gaugeMap.get(name).labels(labelValues).get(), is(3.0d));
+        value[0] = 5.0d;
+        assertThat(gaugeMap.get(name).labels(labelValues).get(), is(5.0d));
+        prometheusMetricsRegister.gaugeUnbind(name, labelValues);
+        Assertions.assertTrue(gaugeMap.get(name).collect().get(0).samples.isEmpty());
+    }
+
     @Test
     public void testClean() throws Exception {
         prometheusMetricsRegister.clean();
@@ -91,15 +91,9 @@ public class MotanPlugin extends AbstractShenyuPlugin {
         return PluginEnum.MOTAN.getName();
     }
 
-    /**
-     * plugin is execute.
-     *
-     * @param exchange the current server exchange
-     * @return default false.
-     */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.MOTAN);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.MOTAN;
     }
 
     @Override
@@ -27,12 +27,14 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
 import org.apache.shenyu.plugin.ratelimiter.resolver.RateLimiterKeyResolverFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.util.Optional;
 
@@ -43,13 +45,27 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
 
     private final RedisRateLimiter redisRateLimiter;
 
+    private final LocalRateLimiter localRateLimiter;
+
     /**
      * Instantiates a new Rate limiter plugin.
+     * The local rate limiter created here is never closed, its sweeper thread starts with the first local rule verified.
      *
      * @param redisRateLimiter  the redis rate limiter
      */
     public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter) {
+        this(redisRateLimiter, new LocalRateLimiter());
+    }
+
+    /**
+     * Instantiates a new Rate limiter plugin.
+     *
+     * @param redisRateLimiter  the redis rate limiter
+     * @param localRateLimiter  the local rate limiter
+     */
+    public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter, final LocalRateLimiter localRateLimiter) {
         this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = localRateLimiter;
     }
 
     @Override
@@ -69,14 +85,26 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
         String resolverKey = Optional.ofNullable(limiterHandle.getKeyResolverName())
                 .flatMap(name -> Optional.of("-" + RateLimiterKeyResolverFactory.newInstance(name).resolve(exchange)))
                 .orElse("");
-        return redisRateLimiter.isAllowed(rule.getId() + resolverKey, limiterHandle)
-                .flatMap(response -> {
-                    if (!response.isAllowed()) {
-                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS);
-                        return WebFluxResultUtils.result(exchange, error);
-                    }
-                    return chain.execute(exchange);
-                });
+        String key = rule.getId() + resolverKey;
+        if (localRateLimiter.supports(limiterHandle)) {
+            LocalRateLimiter.Permit permit = localRateLimiter.isAllowed(key, limiterHandle);
+            if (!permit.isAllowed()) {
+                return tooManyRequests(exchange);
+            }
+            final long start = System.nanoTime();
+            return chain.execute(exchange).doFinally(signalType -> permit.release(signalType == SignalType.ON_COMPLETE ? System.nanoTime() - start : -1L));
+        }
+        return redisRateLimiter.isAllowed(key, limiterHandle, response -> {
+            if (!response.isAllowed()) {
+                return tooManyRequests(exchange);
+            }
+            return chain.execute(exchange);
+        });
+    }
+
+    private Mono<Void> tooManyRequests(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS);
+        return WebFluxResultUtils.result(exchange, error);
     }
 }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The token bucket of a key evaluating the concurrent requests in batches.
+ * One script call is in flight at a time, the requests arriving meanwhile are queued and sent together
+ * with the next call, which decides each of them in the order of arrival. An idle key calls redis at once,
+ * a hot key calls redis once a round trip instead of once a request.
+ */
+public final class BatchedTokenBucket {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchedTokenBucket.class);
+
+    private static final RedisScript<List<Long>> BATCH_SCRIPT = RateLimiterScripts.load("request_rate_limiter_batch.lua");
+
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final Queue<PendingRequest> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+
+    private final List<String> keys;
+
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    /**
+     * Instantiates a new batched token bucket.
+     *
+     * @param keys the keys of the redis token bucket
+     */
+    public BatchedTokenBucket(final List<String> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Queue the request for the next batch.
+     *
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final RateLimiterHandle limiterHandle) {
+        return Mono.create(sink -> {
+            lastAccess = System.currentTimeMillis();
+            queue.offer(new PendingRequest(limiterHandle.getRequestCount(), sink));
+            drain(limiterHandle);
+        });
+    }
+
+    /**
+     * Whether the bucket has not been used for the given time.
+     *
+     * @param now the current time millis
+     * @param idleMillis the idle time millis
+     * @return true when idle
+     */
+    public boolean isIdle(final long now, final long idleMillis) {
+        return now - lastAccess > idleMillis && queue.isEmpty();
+    }
+
+    private void drain(final RateLimiterHandle limiterHandle) {
+        while (!queue.isEmpty() && inFlight.compareAndSet(false, true)) {
+            List<PendingRequest> batch = new ArrayList<>();
+            PendingRequest pending;
+            while (batch.size() < MAX_BATCH_SIZE && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+            if (!batch.isEmpty()) {
+                execute(limiterHandle, batch);
+                return;
+            }
+            inFlight.set(false);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void execute(final RateLimiterHandle limiterHandle, final List<PendingRequest> batch) {
+        List<String> scriptArgs = new ArrayList<>(batch.size() + 3);
+        scriptArgs.add(String.valueOf(limiterHandle.getReplenishRate()));
+        scriptArgs.add(String.valueOf(limiterHandle.getBurstCapacity()));
+        scriptArgs.add(String.valueOf(Instant.now().getEpochSecond()));
+        batch.forEach(pending -> scriptArgs.add(String.valueOf(pending.requestCount)));
+        Flux<List<Long>> resultFlux;
+        try {
+            resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(BATCH_SCRIPT, keys, scriptArgs);
+        } catch (Throwable throwable) {
+            // the batch is already taken from the queue, it must be completed and the flag released here
+            LOG.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage());
+            complete(batch, new ArrayList<>());
+            next(limiterHandle);
+            return;
+        }
+        resultFlux.reduce(new ArrayList<Long>(), (longs, l) -> {
+            longs.addAll(l);
+            return longs;
+        }).subscribe(results -> complete(batch, results), throwable -> {
+            LOG.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage());
+            complete(batch, new ArrayList<>());
+            next(limiterHandle);
+        }, () -> next(limiterHandle));
+    }
+
+    private void next(final RateLimiterHandle limiterHandle) {
+        inFlight.set(false);
+        drain(limiterHandle);
+    }
+
+    private static void complete(final List<PendingRequest> batch, final List<Long> results) {
+        for (int i = 0; i < batch.size(); i++) {
+            // fail open as the single request does when redis gives no answer
+            if (results.size() < 2 * i + 2) {
+                batch.get(i).sink.success(new RateLimiterResponse(true, -1L));
+            } else {
+                batch.get(i).sink.success(new RateLimiterResponse(results.get(2 * i) == 1L, results.get(2 * i + 1)));
+            }
+        }
+    }
+
+    private static final class PendingRequest {
+
+        private final double requestCount;
+
+        private final MonoSink<RateLimiterResponse> sink;
+
+        PendingRequest(final double requestCount, final MonoSink<RateLimiterResponse> sink) {
+            this.requestCount = requestCount;
+            this.sink = sink;
+        }
+    }
+}
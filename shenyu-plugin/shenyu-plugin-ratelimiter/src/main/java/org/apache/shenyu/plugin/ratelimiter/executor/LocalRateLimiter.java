@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter keeping the state in the memory of the gateway node, no redis is involved.
+ * Each key owns a single atomic number updated by compare and set, the keys back at their initial state are evicted.
+ * The adaptive algorithm only runs here, as it learns the concurrency limit from the latency seen by this node.
+ * The concurrent and the adaptive permits are given back by {@link Permit#release(long)} to the state they were taken from,
+ * so neither a sweep nor a change of the algorithm lets a request release the permits of another state.
+ * The idle keys are swept on a scheduler started with the first key, {@link #close()} stops it.
+ */
+public class LocalRateLimiter implements AutoCloseable {
+
+    private static final String LEAKY_BUCKET = "leakyBucket";
+
+    private static final String SLIDING_WINDOW = "slidingWindow";
+
+    private static final String CONCURRENT = "concurrent";
+
+    private static final String ADAPTIVE = "adaptive";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long SWEEP_INTERVAL_SECONDS = 10L;
+
+    private final Map<String, LimiterState> states = new ConcurrentHashMap<>();
+
+    private final boolean ownsSweeper;
+
+    private ScheduledExecutorService sweeper;
+
+    private ScheduledFuture<?> sweeping;
+
+    private volatile boolean sweepStarted;
+
+    /**
+     * Instantiates a new local rate limiter sweeping on a thread of its own, shut down on {@link #close()}.
+     */
+    public LocalRateLimiter() {
+        this(null);
+    }
+
+    /**
+     * Instantiates a new local rate limiter sweeping on the given scheduler, which is left running on {@link #close()}.
+     *
+     * @param sweeper the scheduler, null to create one of its own
+     */
+    public LocalRateLimiter(final ScheduledExecutorService sweeper) {
+        this.sweeper = sweeper;
+        this.ownsSweeper = Objects.isNull(sweeper);
+    }
+
+    /**
+     * Whether the limiter handle is verified by this limiter.
+     *
+     * @param limiterHandle the limiter handle
+     * @return true when local or adaptive
+     */
+    public boolean supports(final RateLimiterHandle limiterHandle) {
+        return limiterHandle.isLocal() || ADAPTIVE.equals(limiterHandle.getAlgorithmName());
+    }
+
+    /**
+     * Verify with the algorithm of the limiter handle.
+     *
+     * @param id is rule id
+     * @param limiterHandle the limiter handle
+     * @return the permit, to be released when the allowed request completes
+     */
+    public Permit isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        final long now = System.nanoTime();
+        final long cost = (long) Math.max(1, Math.ceil(limiterHandle.getRequestCount()));
+        String algorithmName = limiterHandle.getAlgorithmName();
+        if (CONCURRENT.equals(algorithmName)) {
+            return state(id, Permits.class, now).acquire(cost, limiterHandle.getBurstCapacity());
+        }
+        if (ADAPTIVE.equals(algorithmName)) {
+            return state(id, AdaptiveLimit.class, now).acquire(limiterHandle.getBurstCapacity());
+        }
+        if (SLIDING_WINDOW.equals(algorithmName)) {
+            return state(id, SlidingWindow.class, now).acquire(cost, limiterHandle, now);
+        }
+        return state(id, Meter.class, now).acquire(cost, limiterHandle, now, LEAKY_BUCKET.equals(algorithmName));
+    }
+
+    /**
+     * Stop sweeping, the scheduler of its own is shut down.
+     */
+    @Override
+    public synchronized void close() {
+        sweepStarted = true;
+        if (Objects.nonNull(sweeping)) {
+            sweeping.cancel(false);
+        }
+        if (ownsSweeper && Objects.nonNull(sweeper)) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * Evict the keys back at their initial state.
+     */
+    void sweep() {
+        final long now = System.nanoTime();
+        states.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    /**
+     * Get the count of the keys.
+     *
+     * @return the count of the keys
+     */
+    int size() {
+        return states.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends LimiterState> T state(final String id, final Class<T> type, final long now) {
+        LimiterState state = states.get(id);
+        if (type.isInstance(state)) {
+            return (T) state;
+        }
+        startSweeping();
+        T created = newState(type, now);
+        if (Objects.isNull(state)) {
+            LimiterState previous = states.putIfAbsent(id, created);
+            if (Objects.isNull(previous)) {
+                return created;
+            }
+            if (type.isInstance(previous)) {
+                return (T) previous;
+            }
+        }
+        // the algorithm of the rule has changed
+        states.put(id, created);
+        return created;
+    }
+
+    private void startSweeping() {
+        if (sweepStarted) {
+            return;
+        }
+        synchronized (this) {
+            if (sweepStarted) {
+                return;
+            }
+            if (Objects.isNull(sweeper)) {
+                sweeper = Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("shenyu-local-rate-limiter-sweeper", true));
+            }
+            sweeping = sweeper.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            sweepStarted = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends LimiterState> T newState(final Class<T> type, final long now) {
+        if (type == Permits.class) {
+            return (T) new Permits();
+        }
+        if (type == SlidingWindow.class) {
+            return (T) new SlidingWindow();
+        }
+        if (type == AdaptiveLimit.class) {
+            return (T) new AdaptiveLimit(now);
+        }
+        return (T) new Meter(now);
+    }
+
+    /**
+     * The response of the local rate limiter, holding the state the request was verified by.
+     */
+    public static final class Permit extends RateLimiterResponse {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient LimiterState state;
+
+        private final long cost;
+
+        private final double capacity;
+
+        Permit(final boolean allowed, final long tokensRemaining, final LimiterState state, final long cost, final double capacity) {
+            super(allowed, tokensRemaining);
+            this.state = state;
+            this.cost = cost;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Give back the permits of a request allowed by the concurrent or the adaptive algorithm,
+         * nothing is done for the other algorithms or a request not allowed.
+         *
+         * @param latency the latency nanos of the completed request, negative when it failed or was cancelled
+         */
+        public void release(final long latency) {
+            if (isAllowed()) {
+                state.release(cost, latency, capacity);
+            }
+        }
+    }
+
+    private abstract static class LimiterState extends AtomicLong {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Whether the state is the same as a new one.
+         *
+         * @param now the current nano time
+         * @return true when idle
+         */
+        abstract boolean isIdle(long now);
+
+        /**
+         * Give back the permits of an allowed request, only the states counting the requests in flight have any.
+         *
+         * @param cost the permits of the request
+         * @param latency the latency nanos of the request, negative when it failed or was cancelled
+         * @param capacity the burst capacity of the limiter handle
+         */
+        void release(final long cost, final long latency, final double capacity) {
+        }
+    }
+
+    /**
+     * The token bucket and the leaky bucket as one meter, the value is the theoretical arrival time in nanos:
+     * the water in the bucket is how far it is ahead of now, a token stands for 1 / rate seconds of it.
+     */
+    private static final class Meter extends LimiterState {
+
+        private static final long serialVersionUID = 1L;
+
+        Meter(final long now) {
+            set(now);
+        }
+
+        Permit acquire(final long cost, final RateLimiterHandle limiterHandle, final long now, final boolean leaky) {
+            final double capacity = limiterHandle.getBurstCapacity();
+            final double interval = NANOS_PER_SECOND / limiterHandle.getReplenishRate();
+            while (true) {
+                long arrival = get();
+                long base = Math.max(arrival, now);
+                long next = base + (long) (cost * interval);
+                double water = (next - now) / interval;
+                if (water > capacity) {
+                    double current = (base - now) / interval;
+                    return new Permit(false, (long) (leaky ? current : capacity - current), this, cost, capacity);
+                }
+                if (compareAndSet(arrival, next)) {
+                    return new Permit(true, (long) (leaky ? water : capacity - water), this, cost, capacity);
+                }
+            }
+        }
+
+        @Override
+        boolean isIdle(final long now) {
+            return get() <= now;
+        }
+    }
+
+    /**
+     * The sliding window counter, the window is burstCapacity / replenishRate seconds.
+     * The value packs the index of the current window in the high bits and its count in the low bits,
+     * the count of the previous window is weighted by its share still in the sliding window.
+     */
+    private static final class SlidingWindow extends LimiterState {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+        private volatile long previous;
+
+        private volatile long window = 1L;
+
+        Permit acquire(final long cost, final RateLimiterHandle limiterHandle, final long now) {
+            final double capacity = limiterHandle.getBurstCapacity();
+            final long size = Math.max(1L, (long) (capacity / limiterHandle.getReplenishRate() * NANOS_PER_SECOND));
+            if (size != window) {
+                window = size;
+            }
+            final int index = (int) Math.floorDiv(now, size);
+            final double weight = 1 - (double) Math.floorMod(now, size) / size;
+            while (true) {
+                long packed = get();
+                int current = (int) (packed >>> 32);
+                long count = packed & COUNT_MASK;
+                if (current != index) {
+                    if (compareAndSet(packed, (long) index << 32)) {
+                        previous = current == index - 1 ? count : 0;
+                    }
+                    continue;
+                }
+                double estimated = previous * weight + count;
+                if (estimated + cost > capacity) {
+                    return new Permit(false, (long) Math.max(0, capacity - estimated), this, cost, capacity);
+                }
+                if (compareAndSet(packed, packed + cost)) {
+                    return new Permit(true, (long) (capacity - estimated - cost), this, cost, capacity);
+                }
+            }
+        }
+
+        @Override
+        boolean isIdle(final long now) {
+            int current = (int) (get() >>> 32);
+            int index = (int) Math.floorDiv(now, window);
+            return current != index && current != index - 1;
+        }
+    }
+
+    /**
+     * The permits in use of the concurrent algorithm.
+     */
+    private static final class Permits extends LimiterState {
+
+        private static final long serialVersionUID = 1L;
+
+        Permit acquire(final long cost, final double capacity) {
+            while (true) {
+                long inUse = get();
+                if (inUse + cost > capacity) {
+                    return new Permit(false, inUse, this, cost, capacity);
+                }
+                if (compareAndSet(inUse, inUse + cost)) {
+                    return new Permit(true, inUse + cost, this, cost, capacity);
+                }
+            }
+        }
+
+        @Override
+        void release(final long cost, final long latency, final double capacity) {
+            addAndGet(-cost);
+        }
+
+        @Override
+        boolean isIdle(final long now) {
+            return get() == 0;
+        }
+    }
+
+    /**
+     * The concurrency limit adapted to the latency, after the gradient limit of Netflix concurrency-limits.
+     * The value is the count of the requests in flight. The limit starts at a tenth of burstCapacity and never
+     * exceeds it; it grows while the latency stays close to its long term average and shrinks as the latency
+     * rises, which sheds the load before the upstream saturates.
+     */
+    private static final class AdaptiveLimit extends LimiterState {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final double SMOOTHING = 0.2;
+
+        private static final double TOLERANCE = 1.5;
+
+        private static final double LONG_WINDOW_FACTOR = 2.0 / 601;
+
+        private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private volatile double limit = -1;
+
+        private double longLatency;
+
+        private volatile long lastUsed;
+
+        AdaptiveLimit(final long now) {
+            this.lastUsed = now;
+        }
+
+        Permit acquire(final double maxLimit) {
+            lastUsed = System.nanoTime();
+            if (limit < 0) {
+                limit = Math.max(1, maxLimit / 10);
+            }
+            while (true) {
+                long inFlight = get();
+                if (inFlight + 1 > limit) {
+                    return new Permit(false, inFlight, this, 1L, maxLimit);
+                }
+                if (compareAndSet(inFlight, inFlight + 1)) {
+                    return new Permit(true, inFlight + 1, this, 1L, maxLimit);
+                }
+            }
+        }
+
+        @Override
+        void release(final long cost, final long latency, final double maxLimit) {
+            final long inFlight = getAndDecrement();
+            lastUsed = System.nanoTime();
+            if (latency > 0) {
+                update(latency, inFlight, maxLimit);
+            }
+        }
+
+        private synchronized void update(final long latency, final long inFlight, final double maxLimit) {
+            final double current = limit;
+            if (longLatency == 0) {
+                longLatency = latency;
+            } else {
+                longLatency += (latency - longLatency) * LONG_WINDOW_FACTOR;
+            }
+            // drift the long term average down after a latency spike, so the limit recovers
+            if (longLatency / latency > 2) {
+                longLatency *= 0.95;
+            }
+            // the upstream was not pushed, the latency tells nothing about the limit
+            if (inFlight < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / latency));
+            double target = current * gradient + Math.sqrt(current);
+            limit = Math.max(1, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+        }
+
+        @Override
+        boolean isIdle(final long now) {
+            return get() == 0 && now - lastUsed > IDLE_NANOS;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The local tier of the token bucket rate limiter.
+ * The tokens are leased from the redis token bucket in batches of {@link RateLimiterHandle#getLeaseRatio()}
+ * of the burst capacity and served without a redis call, the next batch is leased in the background
+ * when half of the current one is spent. The redis bucket refills by the second, so does a lease expire.
+ */
+public final class LocalTokenBucket {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalTokenBucket.class);
+
+    private static final RedisScript<List<Long>> LEASE_SCRIPT = RateLimiterScripts.load("request_rate_limiter_lease.lua");
+
+    private static final long LEASE_MILLIS = 1000L;
+
+    private final AtomicLong tokens = new AtomicLong();
+
+    private final AtomicLong expireAt = new AtomicLong();
+
+    private final AtomicReference<Mono<Long>> pendingLease = new AtomicReference<>();
+
+    private final List<String> keys;
+
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    /**
+     * Instantiates a new local token bucket.
+     *
+     * @param keys the keys of the redis token bucket
+     */
+    public LocalTokenBucket(final List<String> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Take the tokens of a request, waits for a lease only when the bucket ran dry.
+     *
+     * @param limiterHandle the limiter handle
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final RateLimiterHandle limiterHandle) {
+        final long cost = (long) Math.max(1, Math.ceil(limiterHandle.getRequestCount()));
+        final long now = System.currentTimeMillis();
+        lastAccess = now;
+        expire(now);
+        long left = tryAcquire(cost);
+        if (left >= 0) {
+            if (left < leaseSize(limiterHandle, cost) / 2) {
+                lease(limiterHandle, cost).subscribe(granted -> { }, throwable -> LOG.error("Error occurred while leasing tokens by RedisRateLimiter:{}", throwable.getMessage()));
+            }
+            return Mono.just(new RateLimiterResponse(true, left));
+        }
+        return lease(limiterHandle, cost)
+                .map(granted -> {
+                    long remaining = tryAcquire(cost);
+                    return new RateLimiterResponse(remaining >= 0, Math.max(remaining, 0));
+                })
+                .onErrorResume(throwable -> Mono.just(new RateLimiterResponse(true, -1L)));
+    }
+
+    /**
+     * Whether the bucket has not been used for the given time.
+     *
+     * @param now the current time millis
+     * @param idleMillis the idle time millis
+     * @return true when idle
+     */
+    public boolean isIdle(final long now, final long idleMillis) {
+        return now - lastAccess > idleMillis;
+    }
+
+    private long tryAcquire(final long cost) {
+        while (true) {
+            long current = tokens.get();
+            if (current < cost) {
+                return -1;
+            }
+            if (tokens.compareAndSet(current, current - cost)) {
+                return current - cost;
+            }
+        }
+    }
+
+    private void expire(final long now) {
+        long deadline = expireAt.get();
+        if (deadline != 0 && now >= deadline && expireAt.compareAndSet(deadline, 0)) {
+            tokens.set(0);
+        }
+    }
+
+    private Mono<Long> lease(final RateLimiterHandle limiterHandle, final long cost) {
+        Mono<Long> pending = pendingLease.get();
+        if (pending != null) {
+            return pending;
+        }
+        Mono<Long> lease = Mono.defer(() -> execute(limiterHandle, leaseSize(limiterHandle, cost)))
+                .doOnNext(granted -> {
+                    expireAt.set(System.currentTimeMillis() + LEASE_MILLIS);
+                    tokens.addAndGet(granted);
+                })
+                .doFinally(signalType -> pendingLease.set(null))
+                .cache();
+        if (pendingLease.compareAndSet(null, lease)) {
+            return lease;
+        }
+        pending = pendingLease.get();
+        return pending == null ? Mono.just(0L) : pending;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Long> execute(final RateLimiterHandle limiterHandle, final long leaseSize) {
+        List<String> scriptArgs = Arrays.asList(String.valueOf(limiterHandle.getReplenishRate()), String.valueOf(limiterHandle.getBurstCapacity()),
+                String.valueOf(Instant.now().getEpochSecond()), String.valueOf(leaseSize));
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(LEASE_SCRIPT, keys, scriptArgs);
+        return resultFlux.next().map(results -> results.get(0)).defaultIfEmpty(0L);
+    }
+
+    private static long leaseSize(final RateLimiterHandle limiterHandle, final long cost) {
+        return Math.max(cost, (long) Math.floor(limiterHandle.getBurstCapacity() * limiterHandle.getLeaseRatio()));
+    }
+}
@@ -17,10 +17,12 @@
 
 package org.apache.shenyu.plugin.ratelimiter.executor;
 
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.TokenBucketRateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,27 +35,94 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * RedisRateLimiter.
+ * The token buckets of the keys kept in memory, for the lease and the batching, are evicted once idle
+ * by a sweep on a scheduler started with the first bucket, {@link #close()} stops it.
  */
-public class RedisRateLimiter {
+public class RedisRateLimiter implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    private static final long LOCAL_BUCKET_IDLE_MILLIS = 60_000L;
+
+    private static final long SWEEP_INTERVAL_SECONDS = 10L;
+
+    private final Map<String, LocalTokenBucket> localBuckets = new ConcurrentHashMap<>();
+
+    private final Map<String, BatchedTokenBucket> batchedBuckets = new ConcurrentHashMap<>();
+
+    private final boolean ownsSweeper;
+
+    private ScheduledExecutorService sweeper;
+
+    private ScheduledFuture<?> sweeping;
+
+    private volatile boolean sweepStarted;
+
+    /**
+     * Instantiates a new redis rate limiter sweeping on a thread of its own, shut down on {@link #close()}.
+     */
+    public RedisRateLimiter() {
+        this(null);
+    }
+
+    /**
+     * Instantiates a new redis rate limiter sweeping on the given scheduler, which is left running on {@link #close()}.
+     *
+     * @param sweeper the scheduler, null to create one of its own
+     */
+    public RedisRateLimiter(final ScheduledExecutorService sweeper) {
+        this.sweeper = sweeper;
+        this.ownsSweeper = Objects.isNull(sweeper);
+    }
     
     /**
      * Verify using different current limiting algorithm scripts. 
+     * The token bucket serves the tokens leased from redis locally when the handle has a lease ratio,
+     * otherwise it batches the concurrent requests of a key into one script call.
      *
      * @param id is rule id
      * @param limiterHandle the limiter handle
      * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
      */
-    @SuppressWarnings("unchecked")
     public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
+        return isAllowed(id, limiterHandle, Mono::just);
+    }
+
+    /**
+     * Verify using different current limiting algorithm scripts, then run the action with the response.
+     * The permit of the concurrent algorithm is held until the action terminates or is cancelled.
+     *
+     * @param id is rule id
+     * @param limiterHandle the limiter handle
+     * @param action the action run with the response
+     * @param <T> the type of the action result
+     * @return the result of the action
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> isAllowed(final String id, final RateLimiterHandle limiterHandle, final Function<RateLimiterResponse, Mono<T>> action) {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
+        if (rateLimiterAlgorithm instanceof TokenBucketRateLimiterAlgorithm) {
+            if (limiterHandle.getLeaseRatio() > 0) {
+                LocalTokenBucket localBucket = bucket(localBuckets, id, key -> new LocalTokenBucket(rateLimiterAlgorithm.getKeys(key)));
+                return localBucket.isAllowed(limiterHandle).flatMap(action);
+            }
+            BatchedTokenBucket batchedBucket = bucket(batchedBuckets, id, key -> new BatchedTokenBucket(rateLimiterAlgorithm.getKeys(key)));
+            return batchedBucket.isAllowed(limiterHandle).flatMap(action);
+        }
         double replenishRate = limiterHandle.getReplenishRate();
         double burstCapacity = limiterHandle.getBurstCapacity();
         double requestCount = limiterHandle.getRequestCount();
-        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
         RedisScript<?> script = rateLimiterAlgorithm.getScript();
         List<String> keys = rateLimiterAlgorithm.getKeys(id);
         List<String> scriptArgs = Arrays.asList(doubleToString(replenishRate), doubleToString(burstCapacity), doubleToString(Instant.now().getEpochSecond()), doubleToString(requestCount));
@@ -68,9 +137,68 @@ public class RedisRateLimiter {
                     return new RateLimiterResponse(allowed, tokensLeft);
                 })
                 .doOnError(throwable -> LOG.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage()))
+                .flatMap(action)
                 .doFinally(signalType -> rateLimiterAlgorithm.callback(script, keys, scriptArgs));
     }
     
+    /**
+     * Stop sweeping, the scheduler of its own is shut down.
+     */
+    @Override
+    public synchronized void close() {
+        sweepStarted = true;
+        if (Objects.nonNull(sweeping)) {
+            sweeping.cancel(false);
+        }
+        if (ownsSweeper && Objects.nonNull(sweeper)) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * Evict the buckets idle at the given time.
+     *
+     * @param now the current millis
+     */
+    void sweep(final long now) {
+        localBuckets.values().removeIf(bucket -> bucket.isIdle(now, LOCAL_BUCKET_IDLE_MILLIS));
+        batchedBuckets.values().removeIf(bucket -> bucket.isIdle(now, LOCAL_BUCKET_IDLE_MILLIS));
+    }
+
+    /**
+     * Get the count of the buckets in memory.
+     *
+     * @return the count of the buckets
+     */
+    int size() {
+        return localBuckets.size() + batchedBuckets.size();
+    }
+
+    private <B> B bucket(final Map<String, B> buckets, final String id, final Function<String, B> factory) {
+        B bucket = buckets.get(id);
+        if (Objects.nonNull(bucket)) {
+            return bucket;
+        }
+        startSweeping();
+        return buckets.computeIfAbsent(id, factory);
+    }
+
+    private void startSweeping() {
+        if (sweepStarted) {
+            return;
+        }
+        synchronized (this) {
+            if (sweepStarted) {
+                return;
+            }
+            if (Objects.isNull(sweeper)) {
+                sweeper = Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("shenyu-redis-rate-limiter-sweeper", true));
+            }
+            sweeping = sweeper.scheduleWithFixedDelay(() -> sweep(System.currentTimeMillis()), SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            sweepStarted = true;
+        }
+    }
+
     private String doubleToString(final double param) {
         return String.valueOf(param);
     }
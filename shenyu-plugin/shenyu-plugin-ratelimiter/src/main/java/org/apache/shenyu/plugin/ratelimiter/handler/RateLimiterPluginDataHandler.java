@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.ratelimiter.handler;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
@@ -48,6 +49,10 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
         if (Objects.nonNull(pluginData) && Boolean.TRUE.equals(pluginData.getEnabled())) {
             //init redis
             RedisConfigProperties redisConfigProperties = GsonUtils.getInstance().fromJson(pluginData.getConfig(), RedisConfigProperties.class);
+            // the rules limiting locally need no redis
+            if (Objects.isNull(redisConfigProperties) || StringUtils.isBlank(redisConfigProperties.getUrl())) {
+                return;
+            }
             //spring data redisTemplate
             if (Objects.isNull(Singleton.INST.get(ReactiveRedisTemplate.class))
                     || Objects.isNull(Singleton.INST.get(RedisConfigProperties.class))
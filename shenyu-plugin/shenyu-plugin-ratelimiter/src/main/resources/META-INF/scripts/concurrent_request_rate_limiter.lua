@@ -20,12 +20,16 @@ local key = KEYS[1]
 local capacity = tonumber(ARGV[2])
 local timestamp = tonumber(ARGV[3])
 local id = KEYS[2]
+-- the permit is held as long as the request, the one of a gateway gone before its release expires
+local held_timeout = 60
 
+redis.call("zremrangebyscore", key, "-inf", timestamp - held_timeout)
 local count = redis.call("zcard", key)
 local allowed = 0
 
 if count < capacity then
   redis.call("zadd", key, timestamp, id)
+  redis.call("expire", key, held_timeout)
   allowed = 1
   count = count + 1
 end
@@ -43,10 +43,15 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -84,8 +89,7 @@ public final class RateLimiterPluginTest {
     @Test
     public void doExecuteAllowedTest() {
         doExecutePreInit();
-        when(redisRateLimiter.isAllowed(anyString(), any(RateLimiterHandle.class))).thenReturn(
-                Mono.just(new RateLimiterResponse(true, 1)));
+        mockIsAllowed(new RateLimiterResponse(true, 1));
         Mono<Void> result = rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData);
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
@@ -96,8 +100,7 @@ public final class RateLimiterPluginTest {
     @Test
     public void doExecuteNotAllowedTest() {
         doExecutePreInit();
-        when(redisRateLimiter.isAllowed(anyString(), any(RateLimiterHandle.class))).thenReturn(
-                Mono.just(new RateLimiterResponse(false, 1)));
+        mockIsAllowed(new RateLimiterResponse(false, 1));
         ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
         when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
         SpringBeanUtils.getInstance().setApplicationContext(context);
@@ -106,6 +109,26 @@ public final class RateLimiterPluginTest {
         assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
     }
 
+    /**
+     * rateLimiterPlugin doExecute , limiter in the memory case.
+     */
+    @Test
+    public void doExecuteLocalTest() {
+        RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
+        rateLimiterHandle.setBurstCapacity(1);
+        rateLimiterHandle.setLocal(true);
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        RateLimiterPluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        StepVerifier.create(rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        assertNull(exchange.getResponse().getStatusCode());
+        StepVerifier.create(rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        verify(redisRateLimiter, never()).isAllowed(anyString(), any(RateLimiterHandle.class), any());
+    }
+
     /**
      * named default value test case.
      */
@@ -131,6 +154,16 @@ public final class RateLimiterPluginTest {
         RateLimiterPluginDataHandler.CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
     }
 
+    /**
+     * redisRateLimiter.isAllowed mock, runs the action with the response.
+     */
+    private void mockIsAllowed(final RateLimiterResponse response) {
+        when(redisRateLimiter.isAllowed(anyString(), any(RateLimiterHandle.class), any())).thenAnswer(invocation -> {
+            Function<RateLimiterResponse, Mono<Void>> action = invocation.getArgument(2);
+            return action.apply(response);
+        });
+    }
+
     /**
      * rateLimiterHandler mock.
      */
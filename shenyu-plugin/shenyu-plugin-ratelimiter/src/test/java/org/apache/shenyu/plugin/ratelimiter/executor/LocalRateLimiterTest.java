@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LocalRateLimiter test.
+ */
+public final class LocalRateLimiterTest {
+
+    private static final String DEFAULT_TEST_ID = "testId";
+
+    private LocalRateLimiter localRateLimiter;
+
+    private RateLimiterHandle rateLimiterHandle;
+
+    @BeforeEach
+    public void setUp() {
+        localRateLimiter = new LocalRateLimiter();
+        rateLimiterHandle = new RateLimiterHandle();
+        rateLimiterHandle.setReplenishRate(0.001);
+        rateLimiterHandle.setBurstCapacity(3);
+        rateLimiterHandle.setLocal(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        localRateLimiter.close();
+    }
+
+    @Test
+    public void tokenBucketTest() {
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        assertAllowedTimes(3);
+        RateLimiterResponse response = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        assertFalse(response.isAllowed());
+        assertEquals(0, response.getTokensRemaining());
+    }
+
+    @Test
+    public void leakyBucketTest() {
+        rateLimiterHandle.setAlgorithmName("leakyBucket");
+        assertEquals(1, localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).getTokensRemaining());
+        assertAllowedTimes(2);
+        assertFalse(localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).isAllowed());
+    }
+
+    @Test
+    public void slidingWindowTest() {
+        rateLimiterHandle.setAlgorithmName("slidingWindow");
+        assertAllowedTimes(3);
+        assertFalse(localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).isAllowed());
+        assertTrue(localRateLimiter.isAllowed("otherId", rateLimiterHandle).isAllowed());
+    }
+
+    @Test
+    public void concurrentTest() {
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        final LocalRateLimiter.Permit permit = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        assertAllowedTimes(2);
+        LocalRateLimiter.Permit rejected = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        assertFalse(rejected.isAllowed());
+        rejected.release(-1L);
+        assertFalse(localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).isAllowed());
+        permit.release(-1L);
+        assertTrue(localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).isAllowed());
+    }
+
+    @Test
+    public void adaptiveTest() {
+        rateLimiterHandle.setAlgorithmName("adaptive");
+        rateLimiterHandle.setLocal(false);
+        rateLimiterHandle.setBurstCapacity(100);
+        assertTrue(localRateLimiter.supports(rateLimiterHandle));
+        List<LocalRateLimiter.Permit> initial = acquireAll();
+        assertEquals(10, initial.size());
+        initial.forEach(permit -> permit.release(1_000_000L));
+        List<LocalRateLimiter.Permit> grown = acquireAll();
+        assertTrue(grown.size() > initial.size());
+        grown.forEach(permit -> permit.release(100_000_000L));
+        assertTrue(acquireAll().size() < grown.size());
+    }
+
+    @Test
+    public void adaptiveReleaseReplacedTest() {
+        rateLimiterHandle.setAlgorithmName("adaptive");
+        rateLimiterHandle.setBurstCapacity(10);
+        LocalRateLimiter.Permit replaced = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        assertTrue(replaced.isAllowed());
+        // the state is replaced while the request is in flight, as by a sweep
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        rateLimiterHandle.setAlgorithmName("adaptive");
+        LocalRateLimiter.Permit permit = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        assertTrue(permit.isAllowed());
+        // the permit of the replaced state is not given to the current one
+        replaced.release(-1L);
+        assertEquals(0, acquireAll().size());
+        permit.release(-1L);
+        assertEquals(1, acquireAll().size());
+    }
+
+    @Test
+    public void concurrentReleaseReplacedTest() {
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        rateLimiterHandle.setBurstCapacity(1);
+        final LocalRateLimiter.Permit permit = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        // the algorithm changes and back, the request in flight keeps the first state
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        LocalRateLimiter.Permit current = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        assertTrue(current.isAllowed());
+        permit.release(-1L);
+        assertFalse(localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).isAllowed());
+        current.release(-1L);
+        assertTrue(localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).isAllowed());
+    }
+
+    @Test
+    public void closeTest() {
+        ScheduledThreadPoolExecutor sweeper = new ScheduledThreadPoolExecutor(1);
+        sweeper.setRemoveOnCancelPolicy(true);
+        try (LocalRateLimiter limiter = new LocalRateLimiter(sweeper)) {
+            assertEquals(0, sweeper.getQueue().size());
+            limiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+            assertEquals(1, sweeper.getQueue().size());
+        }
+        assertEquals(0, sweeper.getQueue().size());
+        assertFalse(sweeper.isShutdown());
+        sweeper.shutdownNow();
+    }
+
+    @Test
+    public void sweepTest() {
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        rateLimiterHandle.setReplenishRate(1_000_000_000);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        localRateLimiter.isAllowed("idleId", rateLimiterHandle);
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        localRateLimiter.isAllowed("releasedId", rateLimiterHandle).release(-1L);
+        assertEquals(3, localRateLimiter.size());
+        localRateLimiter.sweep();
+        assertEquals(1, localRateLimiter.size());
+    }
+
+    private List<LocalRateLimiter.Permit> acquireAll() {
+        List<LocalRateLimiter.Permit> permits = new ArrayList<>();
+        LocalRateLimiter.Permit permit = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        while (permit.isAllowed()) {
+            permits.add(permit);
+            permit = localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle);
+        }
+        return permits;
+    }
+
+    private void assertAllowedTimes(final int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(localRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).isAllowed());
+        }
+    }
+}
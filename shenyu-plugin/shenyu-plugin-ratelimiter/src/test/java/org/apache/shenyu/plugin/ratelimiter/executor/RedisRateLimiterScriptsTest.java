@@ -18,12 +18,14 @@
 package org.apache.shenyu.plugin.ratelimiter.executor;
 
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.cache.redis.RedisConfigProperties;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -41,6 +43,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * Test of rate limiter Lua scripts.
  */
@@ -120,6 +125,39 @@ public class RedisRateLimiterScriptsTest {
                 .verify();
     }
 
+    @Test
+    public void leasedTokenBucketLuaTest() {
+        RateLimiterHandle limiterHandle = new RateLimiterHandle();
+        limiterHandle.setReplenishRate(10);
+        limiterHandle.setBurstCapacity(100);
+        limiterHandle.setLeaseRatio(0.3);
+        LocalTokenBucket localTokenBucket = new LocalTokenBucket(Arrays.asList("test-leasedTokenBucket.tokens", "test-leasedTokenBucket.timestamp"));
+        StepVerifier
+                .create(localTokenBucket.isAllowed(limiterHandle))
+                .expectSubscription()
+                .assertNext(r -> {
+                    assertTrue(r.isAllowed());
+                    assertEquals(29L, r.getTokensRemaining());
+                })
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    public void batchedTokenBucketLuaTest() {
+        RateLimiterHandle limiterHandle = new RateLimiterHandle();
+        limiterHandle.setReplenishRate(0.001);
+        limiterHandle.setBurstCapacity(2);
+        limiterHandle.setRequestCount(1);
+        BatchedTokenBucket batchedTokenBucket = new BatchedTokenBucket(Arrays.asList("test-batchedTokenBucket.tokens", "test-batchedTokenBucket.timestamp"));
+        StepVerifier
+                .create(Flux.range(0, 3).concatMap(i -> batchedTokenBucket.isAllowed(limiterHandle)).map(RateLimiterResponse::isAllowed))
+                .expectSubscription()
+                .expectNext(true, true, false)
+                .expectComplete()
+                .verify();
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void slidingWindowLuaTest() {
@@ -21,16 +21,24 @@ import com.google.common.collect.Lists;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
 import org.springframework.data.redis.core.script.RedisScript;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -39,6 +47,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -65,6 +76,11 @@ public final class RedisRateLimiterTest {
         rateLimiterHandle.setBurstCapacity(DEFAULT_TEST_BURST_CAPACITY);
     }
 
+    @AfterEach
+    public void tearDown() {
+        redisRateLimiter.close();
+    }
+
     /**
      * redisRateLimier.isAllowed allowed case for leakyBucketAlgorithm.
      */
@@ -163,6 +179,129 @@ public final class RedisRateLimiterTest {
         }).verifyComplete();
     }
 
+    /**
+     * redisRateLimiter.isAllowed serves the leased tokens locally.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void leasedTokenBucketTest() {
+        isAllowedPreInit(30L, 270L, false);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setLeaseRatio(0.1);
+        for (long remaining = 29L; remaining > 24L; remaining--) {
+            final long expected = remaining;
+            StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+                assertEquals(expected, r.getTokensRemaining());
+                assertTrue(r.isAllowed());
+            }).verifyComplete();
+        }
+        verify(Singleton.INST.get(ReactiveRedisTemplate.class), times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * redisRateLimiter.isAllowed not allowed when no token is leased.
+     */
+    @Test
+    public void leasedTokenBucketNotAllowedTest() {
+        isAllowedPreInit(0L, 0L, false);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setLeaseRatio(0.1);
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+            assertEquals(0, r.getTokensRemaining());
+            assertFalse(r.isAllowed());
+        }).verifyComplete();
+    }
+
+    /**
+     * redisRateLimiter.isAllowed batches the requests arriving while a call is in flight.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void batchedTokenBucketTest() {
+        ReactiveRedisTemplate reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenAnswer(invocation -> {
+            List<String> scriptArgs = invocation.getArgument(2);
+            List<Long> results = new ArrayList<>();
+            for (int i = 3; i < scriptArgs.size(); i++) {
+                results.add(i < 5 ? 1L : 0L);
+                results.add(0L);
+            }
+            return Flux.just(results).delayElements(Duration.ofMillis(50));
+        });
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        Mono<List<Boolean>> responses = Flux.range(0, 4)
+                .flatMap(i -> redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle))
+                .map(RateLimiterResponse::isAllowed)
+                .collectList();
+        StepVerifier.create(responses)
+                .assertNext(allowed -> assertEquals(Arrays.asList(true, true, true, false), allowed))
+                .verifyComplete();
+        verify(reactiveRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * the batched token bucket fails open and keeps serving the key when the script call throws.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void batchedTokenBucketThrowTest() {
+        ReactiveRedisTemplate reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenThrow(new IllegalStateException("no redis"))
+                .thenReturn(Flux.just(Arrays.asList(0L, 0L)));
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+            assertThat(r.getTokensRemaining(), is(-1L));
+            assertTrue(r.isAllowed());
+        }).verifyComplete();
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+            assertThat(r.getTokensRemaining(), is(0L));
+            assertFalse(r.isAllowed());
+        }).expectComplete().verify(Duration.ofSeconds(3));
+        verify(reactiveRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    /**
+     * the idle buckets are evicted by the sweep, not on the request path.
+     */
+    @Test
+    public void sweepTest() {
+        isAllowedPreInit(30L, 270L, false);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).expectNextCount(1).verifyComplete();
+        rateLimiterHandle.setLeaseRatio(0.1);
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).expectNextCount(1).verifyComplete();
+        assertEquals(2, redisRateLimiter.size());
+        redisRateLimiter.sweep(System.currentTimeMillis());
+        assertEquals(2, redisRateLimiter.size());
+        redisRateLimiter.sweep(System.currentTimeMillis() + Duration.ofMinutes(2).toMillis());
+        assertEquals(0, redisRateLimiter.size());
+    }
+
+    /**
+     * redisRateLimiter.isAllowed holds the concurrent permit until the action terminates.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void concurrentHeldTest() {
+        isAllowedPreInit(1L, 1L, false);
+        ReactiveZSetOperations zSetOperations = mock(ReactiveZSetOperations.class);
+        when(zSetOperations.remove(any(), any())).thenReturn(Mono.just(1L));
+        when(Singleton.INST.get(ReactiveRedisTemplate.class).opsForZSet()).thenReturn(zSetOperations);
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        Sinks.Empty<Void> request = Sinks.empty();
+        StepVerifier.create(redisRateLimiter.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle, response -> request.asMono()))
+                .expectSubscription()
+                .then(() -> {
+                    verify(zSetOperations, never()).remove(any(), any());
+                    request.tryEmitEmpty();
+                })
+                .verifyComplete();
+        verify(zSetOperations, times(1)).remove(any(), any());
+    }
+
     /**
      * redisRateLimiter.isAllowed test pre init.
      *
@@ -21,6 +21,7 @@ import com.google.common.collect.Lists;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
@@ -34,9 +35,10 @@ import reactor.core.publisher.Mono;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The type Web client message writer.
@@ -44,9 +46,32 @@ import java.util.StringJoiner;
 public class WebClientMessageWriter implements MessageWriter {
 
     /**
-     * the common binary media type regex.
+     * the common binary media type keywords.
      */
-    private static final String COMMON_BIN_MEDIA_TYPE_REGEX;
+    private static final String[] COMMON_BIN_MEDIA_TYPES;
+
+    /**
+     * the binary decision of the media types seen, there are only a few of them.
+     */
+    private static final Map<String, Boolean> BIN_MEDIA_TYPE_CACHE = new ConcurrentHashMap<>();
+
+    private static final int MAX_BIN_MEDIA_TYPE_CACHE_SIZE = 1024;
+
+    /**
+     * whether the result type leaves the upstream body untouched.
+     */
+    private static final ClassValue<Boolean> PASS_THROUGH = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return ShenyuResult.class.equals(type.getMethod("format", ServerWebExchange.class, Object.class).getDeclaringClass())
+                        && ShenyuResult.class.equals(type.getMethod("result", ServerWebExchange.class, Object.class).getDeclaringClass())
+                        && ShenyuResult.class.equals(type.getMethod("contentType", ServerWebExchange.class, Object.class).getDeclaringClass());
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
 
     /**
      * the cross headers.
@@ -70,13 +95,16 @@ public class WebClientMessageWriter implements MessageWriter {
                 return WebFluxResultUtils.result(exchange, error);
             }
             this.redrawResponseHeaders(response, clientResponse);
-            // image, pdf or stream does not do format processing.
-            if (clientResponse.headers().contentType().isPresent()) {
-                final String media = clientResponse.headers().contentType().get().toString().toLowerCase();
-                if (media.matches(COMMON_BIN_MEDIA_TYPE_REGEX)) {
-                    return response.writeWith(clientResponse.body(BodyExtractors.toDataBuffers()))
-                            .doOnCancel(() -> clean(exchange));
+            // stream the body as it comes when the result would not change it, or it is image, pdf or stream.
+            // the response decorators of the body rewriting plugins still see every buffer.
+            final ShenyuResult<?> shenyuResult = ShenyuResultWrap.shenyuResult();
+            if (PASS_THROUGH.get(shenyuResult.getClass()) || isBinary(clientResponse)) {
+                // the same content type as the result would set, when the upstream sends none
+                if (Objects.isNull(response.getHeaders().getContentType())) {
+                    response.getHeaders().setContentType(shenyuResult.contentType(exchange, null));
                 }
+                return response.writeWith(clientResponse.body(BodyExtractors.toDataBuffers()))
+                        .doOnCancel(() -> clean(exchange));
             }
             clientResponse = ResponseUtils.buildClientResponse(response, clientResponse.body(BodyExtractors.toDataBuffers()));
             return clientResponse.bodyToMono(byte[].class)
@@ -111,6 +139,29 @@ public class WebClientMessageWriter implements MessageWriter {
         response.getHeaders().putAll(httpHeaders);
     }
 
+    private static boolean isBinary(final ClientResponse clientResponse) {
+        return clientResponse.headers().contentType().map(contentType -> {
+            final String media = contentType.toString();
+            final Boolean binary = BIN_MEDIA_TYPE_CACHE.get(media);
+            if (Objects.nonNull(binary)) {
+                return binary;
+            }
+            final String lowerMedia = media.toLowerCase();
+            boolean result = false;
+            for (String type : COMMON_BIN_MEDIA_TYPES) {
+                if (lowerMedia.contains(type)) {
+                    result = true;
+                    break;
+                }
+            }
+            // media types with random parameters, such as a multipart boundary, must not grow the cache forever.
+            if (BIN_MEDIA_TYPE_CACHE.size() < MAX_BIN_MEDIA_TYPE_CACHE_SIZE) {
+                BIN_MEDIA_TYPE_CACHE.put(media, result);
+            }
+            return result;
+        }).orElse(false);
+    }
+
     private void clean(final ServerWebExchange exchange) {
         ClientResponse clientResponse = exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR);
         if (Objects.nonNull(clientResponse)) {
@@ -154,8 +205,6 @@ public class WebClientMessageWriter implements MessageWriter {
                 add("octet-stream");
             }
         };
-        StringJoiner regexBuilder = new StringJoiner("|");
-        commonBinaryTypes.forEach(t -> regexBuilder.add(String.format(".*%s.*", t)));
-        COMMON_BIN_MEDIA_TYPE_REGEX = regexBuilder.toString();
+        COMMON_BIN_MEDIA_TYPES = commonBinaryTypes.toArray(new String[0]);
     }
 }
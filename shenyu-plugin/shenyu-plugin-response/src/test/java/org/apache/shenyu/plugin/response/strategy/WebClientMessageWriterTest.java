@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.response.strategy;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,20 +30,29 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.http.codec.support.DefaultServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
@@ -106,6 +116,50 @@ public class WebClientMessageWriterTest {
         StepVerifier.create(monoGatewayTimeout).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testWriteWithPassThrough() {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        ServerWebExchange exchange = generateServerWebExchange(true);
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        ClientResponse clientResponse = exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR);
+        DefaultDataBufferFactory factory = new DefaultDataBufferFactory();
+        Flux<DataBuffer> body = Flux.just(factory.wrap("{\"id\":".getBytes(StandardCharsets.UTF_8)),
+                factory.wrap("1}".getBytes(StandardCharsets.UTF_8)));
+        when(clientResponse.body(any())).thenReturn(body);
+        reset(chain);
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        StepVerifier.create(webClientMessageWriter.writeWith(exchange, chain)).expectSubscription().verifyComplete();
+        StepVerifier.create(((MockServerHttpResponse) exchange.getResponse()).getBodyAsString())
+                .expectNext("{\"id\":1}").verifyComplete();
+    }
+
+    @Test
+    public void testWriteWithPassThroughContentType() {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        ServerWebExchange exchange = generateServerWebExchange(true);
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        reset(chain);
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        StepVerifier.create(webClientMessageWriter.writeWith(exchange, chain)).expectSubscription().verifyComplete();
+        assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+
+        ServerWebExchange exchangeWithContentType = generateServerWebExchange(true);
+        exchangeWithContentType.getResponse().setStatusCode(HttpStatus.OK);
+        ClientResponse clientResponse = exchangeWithContentType.getAttribute(Constants.CLIENT_RESPONSE_ATTR);
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.setContentType(MediaType.TEXT_PLAIN);
+        when(clientResponse.headers().asHttpHeaders()).thenReturn(upstreamHeaders);
+        when(clientResponse.headers().contentType()).thenReturn(Optional.of(MediaType.TEXT_PLAIN));
+        reset(chain);
+        when(chain.execute(exchangeWithContentType)).thenReturn(Mono.empty());
+        StepVerifier.create(webClientMessageWriter.writeWith(exchangeWithContentType, chain)).expectSubscription().verifyComplete();
+        assertEquals(MediaType.TEXT_PLAIN, exchangeWithContentType.getResponse().getHeaders().getContentType());
+    }
+
     private ServerWebExchange generateServerWebExchange(final boolean haveResponse) {
         ClientResponse mockResponse = mock(ClientResponse.class);
         MultiValueMap<String, ResponseCookie> cookies = new LinkedMultiValueMap<>();
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.rewrite;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
@@ -43,6 +44,9 @@ public class RewritePlugin extends AbstractShenyuPlugin {
 
     private static final Logger LOG = LoggerFactory.getLogger(RewritePlugin.class);
 
+    private static final RpcTypeEnum[] RPC_TYPES = {RpcTypeEnum.DUBBO, RpcTypeEnum.GRPC,
+        RpcTypeEnum.TARS, RpcTypeEnum.MOTAN, RpcTypeEnum.SOFA};
+
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
         String handle = rule.getHandle();
@@ -63,13 +67,8 @@ public class RewritePlugin extends AbstractShenyuPlugin {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skip(exchange,
-                RpcTypeEnum.DUBBO,
-                RpcTypeEnum.GRPC,
-                RpcTypeEnum.TARS,
-                RpcTypeEnum.MOTAN,
-                RpcTypeEnum.SOFA);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return ArrayUtils.contains(RPC_TYPES, rpcType);
     }
 
     @Override
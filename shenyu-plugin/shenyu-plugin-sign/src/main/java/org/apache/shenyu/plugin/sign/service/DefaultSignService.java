@@ -27,6 +27,7 @@ import org.apache.shenyu.common.dto.AuthParamData;
 import org.apache.shenyu.common.dto.AuthPathData;
 import org.apache.shenyu.common.utils.DateUtils;
 import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.apache.shenyu.common.utils.RateLimitedLogger;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.sign.api.ShenyuSignProviderWrap;
@@ -50,6 +51,8 @@ public class DefaultSignService implements SignService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultSignService.class);
 
+    private static final RateLimitedLogger REJECT_LOG = new RateLimitedLogger(LOG, 1000L);
+
     @Value("${shenyu.sign.delay:5}")
     private int delay;
 
@@ -64,7 +67,7 @@ public class DefaultSignService implements SignService {
         if (StringUtils.isBlank(shenyuContext.getAppKey())
                 || StringUtils.isBlank(shenyuContext.getSign())
                 || StringUtils.isBlank(shenyuContext.getTimestamp())) {
-            LOG.error("sign parameters are incomplete,{}", shenyuContext);
+            REJECT_LOG.error("sign parameters are incomplete,{}", shenyuContext);
             return Pair.of(Boolean.FALSE, Constants.SIGN_PARAMS_ERROR);
         }
         final LocalDateTime start = DateUtils.formatLocalDateTimeFromTimestampBySystemTimezone(Long.parseLong(shenyuContext.getTimestamp()));
@@ -86,27 +89,27 @@ public class DefaultSignService implements SignService {
     private Pair<Boolean, String> sign(final ShenyuContext shenyuContext, final ServerWebExchange exchange, final Map<String, Object> requestBody) {
         final AppAuthData appAuthData = SignAuthDataCache.getInstance().obtainAuthData(shenyuContext.getAppKey());
         if (Objects.isNull(appAuthData) || Boolean.FALSE.equals(appAuthData.getEnabled())) {
-            LOG.error("sign APP_kEY does not exist or has been disabled,{}", shenyuContext.getAppKey());
+            REJECT_LOG.error("sign APP_kEY does not exist or has been disabled,{}", shenyuContext.getAppKey());
             return Pair.of(Boolean.FALSE, Constants.SIGN_APP_KEY_IS_NOT_EXIST);
         }
         if (Boolean.TRUE.equals(appAuthData.getOpen())) {
             List<AuthPathData> pathDataList = appAuthData.getPathDataList();
             if (CollectionUtils.isEmpty(pathDataList)) {
-                LOG.error("You have not configured the sign path:{}", shenyuContext.getAppKey());
+                REJECT_LOG.error("You have not configured the sign path:{}", shenyuContext.getAppKey());
                 return Pair.of(Boolean.FALSE, Constants.SIGN_PATH_NOT_EXIST);
             }
 
             boolean match = pathDataList.stream().filter(AuthPathData::getEnabled)
                     .anyMatch(e -> PathMatchUtils.match(e.getPath(), shenyuContext.getPath()));
             if (!match) {
-                LOG.error("You have not configured the sign path:{},{}", shenyuContext.getAppKey(), shenyuContext.getRealUrl());
+                REJECT_LOG.error("You have not configured the sign path:{},{}", shenyuContext.getAppKey(), shenyuContext.getRealUrl());
                 return Pair.of(Boolean.FALSE, Constants.SIGN_PATH_NOT_EXIST);
             }
         }
         String sigKey = ShenyuSignProviderWrap.generateSign(appAuthData.getAppSecret(), buildParamsMap(shenyuContext, requestBody));
         boolean result = Objects.equals(sigKey, shenyuContext.getSign());
         if (!result) {
-            LOG.error("the SignUtils generated signature value is:{},the accepted value is:{}", sigKey, shenyuContext.getSign());
+            REJECT_LOG.error("the SignUtils generated signature value is:{},the accepted value is:{}", sigKey, shenyuContext.getSign());
             return Pair.of(Boolean.FALSE, Constants.SIGN_VALUE_IS_ERROR);
         } else {
             List<AuthParamData> paramDataList = appAuthData.getParamDataList();
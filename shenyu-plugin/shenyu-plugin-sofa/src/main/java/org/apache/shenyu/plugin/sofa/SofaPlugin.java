@@ -93,15 +93,9 @@ public class SofaPlugin extends AbstractShenyuPlugin {
         return PluginEnum.SOFA.getName();
     }
 
-    /**
-     * plugin is execute.
-     *
-     * @param exchange the current server exchange
-     * @return default false.
-     */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.SOFA);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.SOFA;
     }
 
     @Override
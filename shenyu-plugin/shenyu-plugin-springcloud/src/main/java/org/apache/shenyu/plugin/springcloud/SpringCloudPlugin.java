@@ -89,6 +89,9 @@ public class SpringCloudPlugin extends AbstractShenyuPlugin {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.SPRINGCLOUD_SERVICEID_IS_ERROR);
             return WebFluxResultUtils.result(exchange, error);
         }
+        if (Objects.nonNull(loadBalanceKey.getUpstream())) {
+            exchange.getAttributes().put(Constants.LOAD_BALANCE_UPSTREAM, loadBalanceKey.getUpstream());
+        }
         URI uri = LoadBalancerUriTools.reconstructURI(serviceInstance, URI.create(shenyuContext.getRealUrl()));
         setDomain(uri, exchange);
         //set time out.
@@ -106,15 +109,9 @@ public class SpringCloudPlugin extends AbstractShenyuPlugin {
         return PluginEnum.SPRING_CLOUD.getName();
     }
 
-    /**
-     * plugin is execute.
-     *
-     * @param exchange the current server exchange
-     * @return default false.
-     */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.SPRING_CLOUD);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.SPRING_CLOUD;
     }
 
     @Override
@@ -22,6 +22,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.convert.selector.SpringCloudSelectorHandle;
 import org.apache.shenyu.loadbalancer.cache.UpstreamCacheManager;
 import org.apache.shenyu.loadbalancer.entity.Upstream;
+import org.apache.shenyu.loadbalancer.entity.UpstreamSnapshot;
 import org.apache.shenyu.loadbalancer.factory.LoadBalancerFactory;
 import org.apache.shenyu.plugin.springcloud.handler.SpringCloudPluginDataHandler;
 import org.springframework.cloud.client.ServiceInstance;
@@ -32,9 +33,11 @@ import org.springframework.cloud.client.loadbalancer.ServiceInstanceChooser;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer.REQUEST;
@@ -48,8 +51,12 @@ public final class ShenyuSpringCloudServiceChooser implements ServiceInstanceCho
 
     private static final String PROTOCOL_PREFIX = "protocolPrefix";
 
+    private static final UpstreamSnapshot EMPTY = new UpstreamSnapshot(Collections.emptyList());
+
     private final DiscoveryClient discoveryClient;
 
+    private final Map<String, UpstreamSnapshot> upstreamCache = new ConcurrentHashMap<>();
+
     public ShenyuSpringCloudServiceChooser(final DiscoveryClient discoveryClient) {
         this.discoveryClient = discoveryClient;
     }
@@ -118,6 +125,7 @@ public final class ShenyuSpringCloudServiceChooser implements ServiceInstanceCho
             loadBalanceKey.setLoadBalance("roundRobin");
         }
         Upstream upstream = LoadBalancerFactory.selector(upstreamList, loadBalanceKey.getLoadBalance(), loadBalanceKey.getIp());
+        loadBalanceKey.setUpstream(upstream);
         List<ServiceInstance> instances = this.getServiceInstance(serviceId);
 
         Optional<ServiceInstance> serviceInstance = instances.stream().filter(x -> {
@@ -153,14 +161,23 @@ public final class ShenyuSpringCloudServiceChooser implements ServiceInstanceCho
         if (serviceInstanceList.isEmpty()) {
             return Collections.emptyList();
         }
-        return serviceInstanceList.stream().map(x -> {
+        // reuse the upstreams of the last call, so that their stats survive across requests
+        final List<Upstream> cached = upstreamCache.getOrDefault(serviceId, EMPTY);
+        final UpstreamSnapshot upstreamList = new UpstreamSnapshot(serviceInstanceList.stream().map(x -> {
             String uri = x.getUri().toString();
             Properties props = splitUrl(uri);
             String upstreamUrl = props.getProperty(UPSTREAM_URL);
             String protocolPrefix = props.getProperty(PROTOCOL_PREFIX);
             String protocol = protocolPrefix + "://";
-            return buildDefaultSpringCloudUpstream(upstreamUrl, protocol);
-        }).distinct().collect(Collectors.toList());
+            Upstream upstream = buildDefaultSpringCloudUpstream(upstreamUrl, protocol);
+            int index = cached.indexOf(upstream);
+            return index < 0 ? upstream : cached.get(index);
+        }).distinct().collect(Collectors.toList()));
+        if (upstreamList.equals(cached)) {
+            return cached;
+        }
+        upstreamCache.put(serviceId, upstreamList);
+        return upstreamList;
     }
 
     /**
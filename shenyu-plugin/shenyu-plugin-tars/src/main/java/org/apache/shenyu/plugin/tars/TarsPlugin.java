@@ -109,8 +109,8 @@ public class TarsPlugin extends AbstractShenyuPlugin {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.TARS);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.TARS;
     }
 
     private boolean checkMetaData(final MetaData metaData) {
@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.uri;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
@@ -55,7 +56,7 @@ public class URIPlugin implements ShenyuPlugin {
     }
 
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExceptHttpLike(exchange);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.HTTP && rpcType != RpcTypeEnum.SPRING_CLOUD;
     }
 }
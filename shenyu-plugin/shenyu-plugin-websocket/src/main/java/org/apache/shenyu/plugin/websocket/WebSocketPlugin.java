@@ -55,6 +55,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -101,7 +102,7 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
         LOG.info("you websocket urlPath is :{}", wsRequestUrl.toASCIIString());
         HttpHeaders headers = exchange.getRequest().getHeaders();
         return this.webSocketService.handleRequest(exchange, new ShenyuWebSocketHandler(
-                wsRequestUrl, this.webSocketClient, filterHeaders(headers), buildWsProtocols(headers)));
+                wsRequestUrl, this.webSocketClient, filterHeaders(headers), buildWsProtocols(headers), upstream));
     }
     
     private String buildWsRealPath(final ServerWebExchange exchange, final Upstream upstream, final ShenyuContext shenyuContext) {
@@ -142,14 +143,9 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
         return PluginEnum.WEB_SOCKET.getName();
     }
     
-    /**
-     * plugin is execute.
-     *
-     * @return default false.
-     */
     @Override
-    public boolean skip(final ServerWebExchange exchange) {
-        return skipExcept(exchange, RpcTypeEnum.WEB_SOCKET);
+    public boolean skipRpcType(final RpcTypeEnum rpcType) {
+        return rpcType != RpcTypeEnum.WEB_SOCKET;
     }
     
     @Override
@@ -167,6 +163,8 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
         
         private final List<String> subProtocols;
         
+        private final Upstream upstream;
+        
         /**
          * Instantiates a new shenyu web socket handler.
          *
@@ -174,14 +172,17 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
          * @param client    the client
          * @param headers   the headers
          * @param protocols the protocols
+         * @param upstream  the selected upstream
          */
         ShenyuWebSocketHandler(final URI url, final WebSocketClient client,
                                final HttpHeaders headers,
-                               final List<String> protocols) {
+                               final List<String> protocols,
+                               final Upstream upstream) {
             this.client = client;
             this.url = url;
             this.headers = headers;
             this.subProtocols = ObjectUtils.defaultIfNull(protocols, Collections.emptyList());
+            this.upstream = upstream;
         }
         
         @NonNull
@@ -193,12 +194,16 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
         @NonNull
         @Override
         public Mono<Void> handle(@NonNull final WebSocketSession session) {
+            // only a failed handshake feeds the outlier detection, not a broken session.
+            final AtomicBoolean connected = new AtomicBoolean();
             // pass headers along so custom headers can be sent through
             return client.execute(url, this.headers, new WebSocketHandler() {
                 
                 @NonNull
                 @Override
                 public Mono<Void> handle(@NonNull final WebSocketSession webSocketSession) {
+                    connected.set(true);
+                    UpstreamCacheManager.getInstance().report(upstream, true);
                     // Use retain() for Reactor Netty
                     Mono<Void> sessionSend = webSocketSession
                             .send(session.receive().doOnNext(WebSocketMessage::retain));
@@ -212,6 +217,10 @@ public class WebSocketPlugin extends AbstractShenyuPlugin {
                 public List<String> getSubProtocols() {
                     return ShenyuWebSocketHandler.this.subProtocols;
                 }
+            }).doOnError(th -> {
+                if (!connected.get()) {
+                    UpstreamCacheManager.getInstance().report(upstream, false);
+                }
             });
         }
     }
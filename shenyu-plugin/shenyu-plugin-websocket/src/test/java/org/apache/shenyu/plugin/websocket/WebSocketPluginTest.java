@@ -26,6 +26,7 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.UpstreamCheckUtils;
+import org.apache.shenyu.loadbalancer.entity.Upstream;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.websocket.handler.WebSocketPluginDataHandler;
@@ -157,9 +158,9 @@ public class WebSocketPluginTest {
         Class<?> cla = clazz[0];
         Method method = cla.getDeclaredMethod("getSubProtocols");
         method.setAccessible(true);
-        Constructor declaredConstructor = cla.getDeclaredConstructor(URI.class, WebSocketClient.class, HttpHeaders.class, List.class);
+        Constructor declaredConstructor = cla.getDeclaredConstructor(URI.class, WebSocketClient.class, HttpHeaders.class, List.class, Upstream.class);
         declaredConstructor.setAccessible(true);
-        Object obj = declaredConstructor.newInstance(null, null, null, null);
+        Object obj = declaredConstructor.newInstance(null, null, null, null, null);
         List<String> list = (List<String>) method.invoke(obj);
         assertEquals(list.isEmpty(), true);
     }
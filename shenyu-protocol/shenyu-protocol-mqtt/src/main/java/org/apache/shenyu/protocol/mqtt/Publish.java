@@ -18,9 +18,9 @@
 package org.apache.shenyu.protocol.mqtt;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.handler.codec.mqtt.MqttFixedHeader;
 import io.netty.handler.codec.mqtt.MqttMessageIdVariableHeader;
 import io.netty.handler.codec.mqtt.MqttPublishMessage;
@@ -28,12 +28,17 @@ import io.netty.handler.codec.mqtt.MqttQoS;
 import io.netty.handler.codec.mqtt.MqttPubAckMessage;
 import io.netty.handler.codec.mqtt.MqttMessageType;
 import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
+import io.netty.util.ReferenceCountUtil;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
 import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import static io.netty.handler.codec.mqtt.MqttMessageType.PUBACK;
 
@@ -51,10 +56,12 @@ public class Publish extends MessageType {
         ByteBuf payload = msg.payload();
         String message = byteBufToString(payload);
         //// todo qos
-        MqttQoS mqttQoS = msg.fixedHeader().qosLevel();
+        final MqttQoS mqttQoS = msg.fixedHeader().qosLevel();
         Singleton.INST.get(TopicRepository.class).add(topic, message);
         int packetId = msg.variableHeader().packetId();
-        CompletableFuture.runAsync(() -> send(topic, payload, packetId));
+        send(topic, payload, packetId);
+        // the subscribers hold their own references to the payload
+        ReferenceCountUtil.release(msg);
 
         switch (mqttQoS.value()) {
             case 0:
@@ -112,16 +119,44 @@ public class Publish extends MessageType {
         }
     }
 
+    /**
+     * Fan out the message to the subscribers on their own event loops.
+     * One message shares the payload with all the subscribers, each write takes a reference of it,
+     * the channels of an event loop are written in one task and flushed once.
+     */
     private void send(final String topic, final ByteBuf payload, final int packetId) {
-        List<Channel> channels = Singleton.INST.get(SubscribeRepository.class).get(topic);
-        //// todo thread pool
-        channels.parallelStream().forEach(channel -> {
-            if (channel.isActive()) {
-                MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0);
-                MqttPublishVariableHeader mqttPublishVariableHeader = new MqttPublishVariableHeader(topic, packetId);
-                MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(mqttFixedHeader, mqttPublishVariableHeader, Unpooled.wrappedBuffer(payload));
-                channel.writeAndFlush(mqttPublishMessage);
+        Collection<Channel> channels = Singleton.INST.get(SubscribeRepository.class).get(topic);
+        if (channels.isEmpty()) {
+            return;
+        }
+        MqttFixedHeader mqttFixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0);
+        MqttPublishVariableHeader mqttPublishVariableHeader = new MqttPublishVariableHeader(topic, packetId);
+        MqttPublishMessage mqttPublishMessage = new MqttPublishMessage(mqttFixedHeader, mqttPublishVariableHeader, payload);
+        Map<EventLoop, List<Channel>> channelsByLoop = new IdentityHashMap<>();
+        for (Channel channel : channels) {
+            channelsByLoop.computeIfAbsent(channel.eventLoop(), loop -> new ArrayList<>()).add(channel);
+        }
+        channelsByLoop.forEach((loop, loopChannels) -> {
+            payload.retain(loopChannels.size());
+            try {
+                loop.execute(() -> write(mqttPublishMessage, loopChannels));
+            } catch (RejectedExecutionException e) {
+                payload.release(loopChannels.size());
             }
         });
     }
+
+    private static void write(final MqttPublishMessage mqttPublishMessage, final List<Channel> channels) {
+        for (Channel channel : channels) {
+            if (channel.isActive()) {
+                // the encoder reads a duplicate of the payload, and releases the message once written
+                channel.write(mqttPublishMessage, channel.voidPromise());
+            } else {
+                mqttPublishMessage.release();
+            }
+        }
+        for (Channel channel : channels) {
+            channel.flush();
+        }
+    }
 }
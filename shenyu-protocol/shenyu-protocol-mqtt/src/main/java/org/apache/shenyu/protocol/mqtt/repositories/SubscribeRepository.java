@@ -22,30 +22,33 @@ import io.netty.handler.codec.mqtt.MqttTopicSubscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * Topic and channel association.
+ * The topic filters are kept in a {@link TopicTrie}, so the wildcard filters match the published topics.
+ * The subscriptions of a channel are removed when it is closed.
  */
 public class SubscribeRepository implements BaseRepository<List<String>, List<Channel>> {
 
     private static final Logger LOG = LoggerFactory.getLogger(SubscribeRepository.class);
 
-    private static final Map<String, List<Channel>> TOPIC_CHANNEL_FACTORY = new ConcurrentHashMap<>();
+    private static final TopicTrie<Channel> TOPIC_TRIE = new TopicTrie<>();
+
+    private static final Map<Channel, Set<String>> CHANNEL_FILTERS = new ConcurrentHashMap<>();
 
     @Override
     public void add(final List<String> topics, final List<Channel> channels) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(s -> {
-            List<Channel> list = get(s);
-            list.addAll(channels);
-            TOPIC_CHANNEL_FACTORY.put(s, list);
-        }));
+        for (Channel channel : channels) {
+            topics.forEach(topic -> subscribe(channel, topic));
+        }
     }
 
     /**
@@ -54,16 +57,15 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @param mqttTopicSubscription mqtt subscription info
      */
     public void add(final Channel channel, final List<MqttTopicSubscription> mqttTopicSubscription) {
-        CompletableFuture.runAsync(() -> mqttTopicSubscription.parallelStream().forEach(s -> {
-            List<Channel> channels = get(s.topicName());
-            channels.add(channel);
-            TOPIC_CHANNEL_FACTORY.put(s.topicName(), channels);
-        }));
+        mqttTopicSubscription.forEach(subscription -> subscribe(channel, subscription.topicName()));
     }
 
     @Override
     public void remove(final List<String> topics) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(TOPIC_CHANNEL_FACTORY::remove));
+        for (String topic : topics) {
+            TOPIC_TRIE.remove(topic);
+            CHANNEL_FILTERS.values().forEach(filters -> filters.remove(topic));
+        }
     }
 
     /**
@@ -72,23 +74,58 @@ public class SubscribeRepository implements BaseRepository<List<String>, List<Ch
      * @param channel channel
      */
     public void remove(final List<String> topics, final Channel channel) {
-        CompletableFuture.runAsync(() -> topics.parallelStream().forEach(topic -> TOPIC_CHANNEL_FACTORY.get(topic).remove(channel)));
+        final Set<String> filters = CHANNEL_FILTERS.get(channel);
+        for (String topic : topics) {
+            TOPIC_TRIE.unsubscribe(topic, channel);
+            if (Objects.nonNull(filters)) {
+                filters.remove(topic);
+            }
+        }
+    }
+
+    /**
+     * remove all the subscriptions of the channel.
+     * @param channel channel
+     */
+    public void remove(final Channel channel) {
+        final Set<String> filters = CHANNEL_FILTERS.remove(channel);
+        if (Objects.nonNull(filters)) {
+            filters.forEach(filter -> TOPIC_TRIE.unsubscribe(filter, channel));
+        }
     }
 
     @Override
     public List<Channel> get(final List<String> topics) {
-        Set<Channel> channels = new CopyOnWriteArraySet<>();
-        topics.parallelStream().forEach(s -> channels.addAll(TOPIC_CHANNEL_FACTORY.get(s)));
-        return new CopyOnWriteArrayList<>(channels);
+        Set<Channel> channels = new LinkedHashSet<>();
+        topics.forEach(topic -> channels.addAll(get(topic)));
+        return new ArrayList<>(channels);
     }
 
     /**
-     * get Channels.
+     * get the channels subscribed to the topic, by a filter matching it.
      * @param topic topic
      * @return Channels
      */
-    public List<Channel> get(final String topic) {
-        return TOPIC_CHANNEL_FACTORY.getOrDefault(topic, new CopyOnWriteArrayList<>());
+    public Collection<Channel> get(final String topic) {
+        return TOPIC_TRIE.match(topic);
+    }
+
+    private void subscribe(final Channel channel, final String filter) {
+        if (!TOPIC_TRIE.subscribe(filter, channel)) {
+            LOG.warn("invalid topic filter: {}", filter);
+            return;
+        }
+        Set<String> filters = CHANNEL_FILTERS.get(channel);
+        if (Objects.isNull(filters)) {
+            final Set<String> created = ConcurrentHashMap.newKeySet();
+            filters = CHANNEL_FILTERS.putIfAbsent(channel, created);
+            if (Objects.isNull(filters)) {
+                created.add(filter);
+                channel.closeFuture().addListener(future -> remove(channel));
+                return;
+            }
+        }
+        filters.add(filter);
     }
 
 }
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The topic filters and their subscribers, by topic level.
+ * The filters support the single level wildcard {@code +} and the multi level wildcard {@code #}.
+ * The matches are lock free, the subscribes and unsubscribes are serialized.
+ *
+ * @param <T> the subscriber
+ */
+public final class TopicTrie<T> {
+
+    private static final String SINGLE_LEVEL = "+";
+
+    private static final String MULTI_LEVEL = "#";
+
+    private static final char SEPARATOR = '/';
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Subscribe to the topic filter.
+     *
+     * @param filter the topic filter
+     * @param subscriber the subscriber
+     * @return false if the filter is invalid
+     */
+    public synchronized boolean subscribe(final String filter, final T subscriber) {
+        if (!isValidFilter(filter)) {
+            return false;
+        }
+        Node<T> node = root;
+        for (String level : split(filter)) {
+            node = node.children.computeIfAbsent(level, key -> new Node<>());
+        }
+        node.subscribers.add(subscriber);
+        return true;
+    }
+
+    /**
+     * Unsubscribe from the topic filter.
+     *
+     * @param filter the topic filter
+     * @param subscriber the subscriber
+     */
+    public synchronized void unsubscribe(final String filter, final T subscriber) {
+        update(filter, node -> node.subscribers.remove(subscriber));
+    }
+
+    /**
+     * Remove all the subscribers of the topic filter.
+     *
+     * @param filter the topic filter
+     */
+    public synchronized void remove(final String filter) {
+        update(filter, node -> node.subscribers.clear());
+    }
+
+    /**
+     * Get the subscribers of the filters matching the topic name, each subscriber once.
+     *
+     * @param topic the topic name
+     * @return the subscribers
+     */
+    public Collection<T> match(final String topic) {
+        final List<Set<T>> matched = new ArrayList<>(2);
+        collect(root, split(topic), 0, matched);
+        if (matched.isEmpty()) {
+            return Collections.emptySet();
+        }
+        if (matched.size() == 1) {
+            return Collections.unmodifiableSet(matched.get(0));
+        }
+        final Set<T> subscribers = new LinkedHashSet<>();
+        matched.forEach(subscribers::addAll);
+        return subscribers;
+    }
+
+    /**
+     * Whether no filter is subscribed, the levels without subscribers being pruned.
+     *
+     * @return true if the trie is empty
+     */
+    boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    /**
+     * Check the topic filter, a wildcard has to take a whole level and the multi level wildcard the last one.
+     *
+     * @param filter the topic filter
+     * @return true if the filter is valid
+     */
+    public static boolean isValidFilter(final String filter) {
+        if (Objects.isNull(filter) || filter.isEmpty()) {
+            return false;
+        }
+        final List<String> levels = split(filter);
+        for (int i = 0; i < levels.size(); i++) {
+            final String level = levels.get(i);
+            if (level.contains(MULTI_LEVEL) && (!MULTI_LEVEL.equals(level) || i != levels.size() - 1)) {
+                return false;
+            }
+            if (level.contains(SINGLE_LEVEL) && !SINGLE_LEVEL.equals(level)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void collect(final Node<T> node, final List<String> levels, final int index, final List<Set<T>> matched) {
+        // the topics starting with $ are not matched by the wildcards of the first level
+        final boolean wildcards = index > 0 || !levels.get(0).startsWith("$");
+        if (wildcards) {
+            // the multi level wildcard matches its parent level too
+            final Node<T> multi = node.children.get(MULTI_LEVEL);
+            if (Objects.nonNull(multi) && !multi.subscribers.isEmpty()) {
+                matched.add(multi.subscribers);
+            }
+        }
+        if (index == levels.size()) {
+            if (!node.subscribers.isEmpty()) {
+                matched.add(node.subscribers);
+            }
+            return;
+        }
+        final Node<T> child = node.children.get(levels.get(index));
+        if (Objects.nonNull(child)) {
+            collect(child, levels, index + 1, matched);
+        }
+        if (wildcards) {
+            final Node<T> single = node.children.get(SINGLE_LEVEL);
+            if (Objects.nonNull(single)) {
+                collect(single, levels, index + 1, matched);
+            }
+        }
+    }
+
+    private void update(final String filter, final Consumer<Node<T>> action) {
+        final List<String> levels = split(filter);
+        final List<Node<T>> path = new ArrayList<>(levels.size() + 1);
+        Node<T> node = root;
+        path.add(node);
+        for (String level : levels) {
+            node = node.children.get(level);
+            if (Objects.isNull(node)) {
+                return;
+            }
+            path.add(node);
+        }
+        action.accept(node);
+        // prune the empty nodes, bottom up
+        for (int i = levels.size(); i > 0 && path.get(i).isEmpty(); i--) {
+            path.get(i - 1).children.remove(levels.get(i - 1), path.get(i));
+        }
+    }
+
+    private static List<String> split(final String topic) {
+        final List<String> levels = new ArrayList<>();
+        int start = 0;
+        int end = topic.indexOf(SEPARATOR);
+        while (end >= 0) {
+            levels.add(topic.substring(start, end));
+            start = end + 1;
+            end = topic.indexOf(SEPARATOR, start);
+        }
+        levels.add(topic.substring(start));
+        return levels;
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+
+        private final Set<T> subscribers = ConcurrentHashMap.newKeySet();
+
+        boolean isEmpty() {
+            return children.isEmpty() && subscribers.isEmpty();
+        }
+    }
+}
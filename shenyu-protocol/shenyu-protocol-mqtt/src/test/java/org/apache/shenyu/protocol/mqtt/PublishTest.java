@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.mqtt.MqttEncoder;
+import io.netty.handler.codec.mqtt.MqttFixedHeader;
+import io.netty.handler.codec.mqtt.MqttMessageType;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttPublishVariableHeader;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.protocol.mqtt.repositories.SubscribeRepository;
+import org.apache.shenyu.protocol.mqtt.repositories.TopicRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test case for {@link Publish}.
+ */
+public final class PublishTest {
+
+    private final EmbeddedChannel active = new EmbeddedChannel(MqttEncoder.INSTANCE);
+
+    private final EmbeddedChannel inactive = new EmbeddedChannel(MqttEncoder.INSTANCE) {
+        @Override
+        public boolean isActive() {
+            return false;
+        }
+    };
+
+    @BeforeAll
+    public static void setUpAll() {
+        Singleton.INST.single(SubscribeRepository.class, new SubscribeRepository());
+        Singleton.INST.single(TopicRepository.class, new TopicRepository());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        active.finishAndReleaseAll();
+        inactive.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testPublishToActiveChannel() {
+        Singleton.INST.get(SubscribeRepository.class).add(Collections.singletonList("publish/active"), Collections.singletonList(active));
+        final ByteBuf payload = publish("publish/active");
+        assertEquals(1, payload.refCnt());
+        active.runPendingTasks();
+        assertEquals(0, payload.refCnt());
+        final ByteBuf written = active.readOutbound();
+        assertNotNull(written);
+        written.release();
+    }
+
+    @Test
+    public void testPublishToInactiveChannel() {
+        Singleton.INST.get(SubscribeRepository.class).add(Collections.singletonList("publish/inactive"), Collections.singletonList(inactive));
+        final ByteBuf payload = publish("publish/inactive");
+        inactive.runPendingTasks();
+        assertEquals(0, payload.refCnt());
+        assertNull(inactive.readOutbound());
+    }
+
+    @Test
+    public void testPublishToActiveAndInactiveChannels() {
+        Singleton.INST.get(SubscribeRepository.class).add(Collections.singletonList("publish/+"), Arrays.asList(active, inactive));
+        final ByteBuf payload = publish("publish/both");
+        assertEquals(2, payload.refCnt());
+        active.runPendingTasks();
+        inactive.runPendingTasks();
+        assertEquals(0, payload.refCnt());
+        final ByteBuf written = active.readOutbound();
+        assertNotNull(written);
+        written.release();
+        assertNull(inactive.readOutbound());
+    }
+
+    @Test
+    public void testPublishWithoutSubscribers() {
+        final ByteBuf payload = publish("publish/none");
+        assertEquals(0, payload.refCnt());
+    }
+
+    private static ByteBuf publish(final String topic) {
+        final ByteBuf payload = Unpooled.copiedBuffer("message", StandardCharsets.UTF_8);
+        final MqttFixedHeader fixedHeader = new MqttFixedHeader(MqttMessageType.PUBLISH, false, MqttQoS.AT_MOST_ONCE, false, 0);
+        final MqttPublishMessage msg = new MqttPublishMessage(fixedHeader, new MqttPublishVariableHeader(topic, 1), payload);
+        new Publish().publish(mock(ChannelHandlerContext.class), msg);
+        return payload;
+    }
+}
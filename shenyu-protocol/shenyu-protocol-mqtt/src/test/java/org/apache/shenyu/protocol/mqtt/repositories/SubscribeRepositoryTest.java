@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.repositories;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.netty.handler.codec.mqtt.MqttTopicSubscription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link SubscribeRepository}.
+ */
+public final class SubscribeRepositoryTest {
+
+    private final SubscribeRepository repository = new SubscribeRepository();
+
+    private final EmbeddedChannel first = new EmbeddedChannel();
+
+    private final EmbeddedChannel second = new EmbeddedChannel();
+
+    @AfterEach
+    public void tearDown() {
+        first.finishAndReleaseAll();
+        second.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testAddAndGet() {
+        repository.add(first, Arrays.asList(new MqttTopicSubscription("sub/a/+", MqttQoS.AT_MOST_ONCE),
+                new MqttTopicSubscription("sub/a/#", MqttQoS.AT_MOST_ONCE)));
+        repository.add(Collections.singletonList("sub/a/b"), Collections.singletonList(second));
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), new HashSet<>(repository.get("sub/a/b")));
+        assertEquals(Collections.singletonList(first), repository.get(Arrays.asList("sub/a/c", "sub/a/c/d")));
+        assertTrue(repository.get("sub/b").isEmpty());
+    }
+
+    @Test
+    public void testInvalidFilterIgnored() {
+        repository.add(first, Collections.singletonList(new MqttTopicSubscription("invalid/a#", MqttQoS.AT_MOST_ONCE)));
+        assertTrue(repository.get("invalid/a#").isEmpty());
+    }
+
+    @Test
+    public void testOverlappingFiltersDeliverOnce() {
+        repository.add(Arrays.asList("once/a", "once/+", "once/#", "once/a/#"), Collections.singletonList(first));
+        assertEquals(Collections.singletonList(first), Arrays.asList(repository.get("once/a").toArray(new Channel[0])));
+    }
+
+    @Test
+    public void testRemoveTopicsOfChannel() {
+        repository.add(Arrays.asList("unsub/a", "unsub/+"), Arrays.asList(first, second));
+        repository.remove(Collections.singletonList("unsub/a"), first);
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), new HashSet<>(repository.get("unsub/a")));
+        repository.remove(Collections.singletonList("unsub/+"), first);
+        assertEquals(Collections.singletonList(second), Arrays.asList(repository.get("unsub/a").toArray(new Channel[0])));
+    }
+
+    @Test
+    public void testRemoveTopics() {
+        repository.add(Collections.singletonList("topic/a"), Arrays.asList(first, second));
+        repository.remove(Collections.singletonList("topic/a"));
+        assertTrue(repository.get("topic/a").isEmpty());
+    }
+
+    @Test
+    public void testRemoveOnClose() {
+        repository.add(Arrays.asList("close/a", "close/#"), Arrays.asList(first, second));
+        first.close().syncUninterruptibly();
+        assertEquals(Collections.singletonList(second), Arrays.asList(repository.get("close/a").toArray(new Channel[0])));
+        second.close().syncUninterruptibly();
+        assertTrue(repository.get("close/a").isEmpty());
+    }
+}
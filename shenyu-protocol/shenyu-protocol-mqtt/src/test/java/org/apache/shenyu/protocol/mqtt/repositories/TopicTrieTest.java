@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.protocol.mqtt.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link TopicTrie}.
+ */
+public final class TopicTrieTest {
+
+    @Test
+    public void testMatchExact() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        trie.subscribe("a/b", "s1");
+        assertMatch(trie, "a/b", "s1");
+        assertMatch(trie, "a");
+        assertMatch(trie, "a/b/c");
+        assertMatch(trie, "a/c");
+    }
+
+    @Test
+    public void testMatchSingleLevelWildcard() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        trie.subscribe("a/+/c", "s1");
+        trie.subscribe("+", "s2");
+        trie.subscribe("a/+", "s3");
+        assertMatch(trie, "a/b/c", "s1");
+        assertMatch(trie, "a/x/c", "s1");
+        assertMatch(trie, "a/b/d");
+        assertMatch(trie, "a/b/c/d");
+        assertMatch(trie, "a", "s2");
+        assertMatch(trie, "a/b", "s3");
+        assertMatch(trie, "a/", "s3");
+    }
+
+    @Test
+    public void testMatchMultiLevelWildcard() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        trie.subscribe("a/#", "s1");
+        trie.subscribe("#", "s2");
+        assertMatch(trie, "a/b/c", "s1", "s2");
+        assertMatch(trie, "a/b", "s1", "s2");
+        assertMatch(trie, "b", "s2");
+    }
+
+    @Test
+    public void testMultiLevelWildcardMatchesParent() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        trie.subscribe("a/b/#", "s1");
+        assertMatch(trie, "a/b", "s1");
+        assertMatch(trie, "a");
+    }
+
+    @Test
+    public void testDollarTopicsExcludedFromFirstLevelWildcards() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        trie.subscribe("#", "s1");
+        trie.subscribe("+/monitor", "s2");
+        trie.subscribe("$SYS/#", "s3");
+        trie.subscribe("$SYS/+", "s4");
+        assertMatch(trie, "$SYS/monitor", "s3", "s4");
+        assertMatch(trie, "SYS/monitor", "s1", "s2");
+    }
+
+    @Test
+    public void testInvalidFilters() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        for (String filter : Arrays.asList(null, "", "a/#/b", "a#", "a/b#", "a+", "a/+b", "#/a")) {
+            assertFalse(TopicTrie.isValidFilter(filter), String.valueOf(filter));
+            assertFalse(trie.subscribe(filter, "s1"), String.valueOf(filter));
+        }
+        assertTrue(trie.isEmpty());
+        for (String filter : Arrays.asList("a", "/", "a/b", "+", "#", "+/+", "a/+/#", "/a/")) {
+            assertTrue(TopicTrie.isValidFilter(filter), filter);
+        }
+    }
+
+    @Test
+    public void testOverlappingFiltersMatchOnce() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        trie.subscribe("a/b", "s1");
+        trie.subscribe("a/+", "s1");
+        trie.subscribe("a/#", "s1");
+        trie.subscribe("#", "s1");
+        trie.subscribe("a/+", "s2");
+        final Collection<String> matched = trie.match("a/b");
+        assertEquals(2, matched.size());
+        assertEquals(new HashSet<>(Arrays.asList("s1", "s2")), new HashSet<>(matched));
+    }
+
+    @Test
+    public void testUnsubscribePrunes() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        trie.subscribe("a/b/c", "s1");
+        trie.subscribe("a/b/c", "s2");
+        trie.subscribe("a/+/#", "s1");
+        trie.unsubscribe("a/b/c", "s1");
+        assertMatch(trie, "a/b/c", "s1", "s2");
+        trie.unsubscribe("a/+/#", "s1");
+        assertMatch(trie, "a/b/c", "s2");
+        assertFalse(trie.isEmpty());
+        trie.unsubscribe("a/b/c", "s2");
+        assertMatch(trie, "a/b/c");
+        assertTrue(trie.isEmpty());
+        trie.unsubscribe("x/y", "s1");
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    public void testRemovePrunes() {
+        final TopicTrie<String> trie = new TopicTrie<>();
+        trie.subscribe("a/b", "s1");
+        trie.subscribe("a/b", "s2");
+        trie.subscribe("a", "s3");
+        trie.remove("a/b");
+        assertMatch(trie, "a/b");
+        assertMatch(trie, "a", "s3");
+        trie.remove("a");
+        assertTrue(trie.isEmpty());
+    }
+
+    private static void assertMatch(final TopicTrie<String> trie, final String topic, final String... subscribers) {
+        final Collection<String> matched = trie.match(topic);
+        assertEquals(subscribers.length, matched.size(), topic);
+        assertEquals(new HashSet<>(Arrays.asList(subscribers)), new HashSet<>(matched), topic);
+    }
+}
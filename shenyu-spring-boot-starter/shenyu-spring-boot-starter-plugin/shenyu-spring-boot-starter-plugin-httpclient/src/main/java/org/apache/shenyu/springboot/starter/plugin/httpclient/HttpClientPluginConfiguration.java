@@ -24,10 +24,13 @@ import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
+import org.apache.shenyu.common.enums.HttpProtocolEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.httpclient.NettyHttpClientPlugin;
 import org.apache.shenyu.plugin.httpclient.WebClientPlugin;
 import org.apache.shenyu.plugin.httpclient.config.HttpClientProperties;
+import org.apache.shenyu.plugin.httpclient.metrics.ConnectionPoolMeterRegistrar;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -37,6 +40,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.resources.LoopResources;
@@ -85,14 +89,29 @@ public class HttpClientPluginConfiguration {
      *
      * @param properties the properties
      * @param provider   the loop resources bean provider
+     * @param registrar  the connection pool meter registrar provider
      * @return the http client
      */
     @Bean
     public HttpClient httpClient(final HttpClientProperties properties,
-                                 final ObjectProvider<LoopResources> provider) {
+                                 final ObjectProvider<LoopResources> provider,
+                                 final ObjectProvider<ConnectionProvider.MeterRegistrar> registrar) {
         // configure pool resources.
         HttpClientProperties.Pool pool = properties.getPool();
-        ConnectionProvider connectionProvider = buildConnectionProvider(pool);
+        ConnectionProvider connectionProvider = buildConnectionProvider(pool, registrar.getIfAvailable());
+        return buildHttpClient(properties, connectionProvider, provider.getIfAvailable());
+    }
+
+    /**
+     * build the http client on the connection provider.
+     *
+     * @param properties the properties
+     * @param connectionProvider the connection provider
+     * @param loopResources the loop resources, may be null
+     * @return the http client
+     */
+    static HttpClient buildHttpClient(final HttpClientProperties properties, final ConnectionProvider connectionProvider,
+                                      final LoopResources loopResources) {
         HttpClient httpClient = HttpClient.create(connectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeout());
         HttpClientProperties.Proxy proxy = properties.getProxy();
@@ -104,7 +123,6 @@ public class HttpClientPluginConfiguration {
             connection.addHandlerLast(new WriteTimeoutHandler(properties.getWriteTimeout(), TimeUnit.MILLISECONDS));
             connection.addHandlerLast(new ReadTimeoutHandler(properties.getReadTimeout(), TimeUnit.MILLISECONDS));
         });
-        final LoopResources loopResources = provider.getIfAvailable();
         if (Objects.nonNull(loopResources)) {
             httpClient.runOn(loopResources);
         }
@@ -128,7 +146,7 @@ public class HttpClientPluginConfiguration {
      * @param proxy proxy
      * @return HttpClient
      */
-    private HttpClient setHttpClientProxy(final HttpClient httpClient, final HttpClientProperties.Proxy proxy) {
+    private static HttpClient setHttpClientProxy(final HttpClient httpClient, final HttpClientProperties.Proxy proxy) {
         return httpClient.proxy(proxySpec -> {
             ProxyProvider.Builder builder = proxySpec
                     .type(ProxyProvider.Proxy.HTTP)
@@ -144,7 +162,7 @@ public class HttpClientPluginConfiguration {
         });
     }
 
-    private void setSsl(final SslProvider.SslContextSpec sslContextSpec, final HttpClientProperties.Ssl ssl) {
+    private static void setSsl(final SslProvider.SslContextSpec sslContextSpec, final HttpClientProperties.Ssl ssl) {
         SslProvider.ProtocolSslContextSpec spec = DefaultSslContextSpec.forClient()
                 .configure(sslContextBuilder -> {
                     X509Certificate[] trustedX509Certificates = ssl.getTrustedX509CertificatesForTrustManager();
@@ -162,19 +180,19 @@ public class HttpClientPluginConfiguration {
                 .closeNotifyReadTimeout(ssl.getCloseNotifyReadTimeout());
     }
 
-    private ConnectionProvider buildConnectionProvider(final HttpClientProperties.Pool pool) {
+    private ConnectionProvider buildConnectionProvider(final HttpClientProperties.Pool pool, final ConnectionProvider.MeterRegistrar registrar) {
         ConnectionProvider connectionProvider;
         if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
             connectionProvider = ConnectionProvider.newConnection();
         } else if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
             // reactor remove fixed pool by fixed method from 0.9.4
             // reason: https://github.com/reactor/reactor-netty/issues/1499 and https://github.com/reactor/reactor-netty/issues/1960
-            connectionProvider = buildFixedConnectionPool(pool.getName(), pool.getMaxConnections(), pool.getAcquireTimeout(), pool.getMaxIdleTime());
+            connectionProvider = buildFixedConnectionPool(pool.getName(), pool.getMaxConnections(), pool.getAcquireTimeout(), pool.getMaxIdleTime(), registrar);
         } else {
             // please see https://projectreactor.io/docs/netty/release/reference/index.html#_connection_pool_2
             // reactor remove elastic pool by elastic method from 0.9.4
             // reason: https://github.com/reactor/reactor-netty/issues/1499 and https://github.com/reactor/reactor-netty/issues/1960
-            connectionProvider = buildElasticConnectionPool(pool.getName(), pool.getMaxIdleTime());
+            connectionProvider = buildElasticConnectionPool(pool.getName(), pool.getMaxIdleTime(), registrar);
         }
         return connectionProvider;
     }
@@ -190,17 +208,36 @@ public class HttpClientPluginConfiguration {
      */
     public static ConnectionProvider buildFixedConnectionPool(final String poolName, final Integer maxConnections,
                                              final Long acquireTimeout, final Duration maxIdleTime) {
+        return buildFixedConnectionPool(poolName, maxConnections, acquireTimeout, maxIdleTime, null);
+    }
+
+    /**
+     * build fixed connection pool.
+     *
+     * @param poolName pool name
+     * @param maxConnections max connections
+     * @param acquireTimeout pending acquire timeout
+     * @param maxIdleTime max idle time
+     * @param registrar the meter registrar of the pool metrics, may be null
+     * @return {@link ConnectionProvider}
+     */
+    public static ConnectionProvider buildFixedConnectionPool(final String poolName, final Integer maxConnections,
+                                                              final Long acquireTimeout, final Duration maxIdleTime,
+                                                              final ConnectionProvider.MeterRegistrar registrar) {
         if (maxConnections <= 0) {
             throw new IllegalArgumentException("Max Connections value must be strictly positive");
         }
         if (acquireTimeout < 0) {
             throw new IllegalArgumentException("Acquire Timeout value must be positive");
         }
-        return ConnectionProvider.builder(poolName)
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(poolName)
                 .maxConnections(maxConnections)
                 .pendingAcquireTimeout(Duration.ofMillis(acquireTimeout))
-                .maxIdleTime(maxIdleTime)
-                .build();
+                .maxIdleTime(maxIdleTime);
+        if (Objects.nonNull(registrar)) {
+            builder.metrics(true, () -> registrar);
+        }
+        return builder.build();
     }
 
     /**
@@ -211,13 +248,29 @@ public class HttpClientPluginConfiguration {
      * @return {@link ConnectionProvider} elastic pool
      */
     public ConnectionProvider buildElasticConnectionPool(final String poolName, final Duration maxIdleTime) {
+        return buildElasticConnectionPool(poolName, maxIdleTime, null);
+    }
+
+    /**
+     * build elastic connection provider pool.
+     *
+     * @param poolName pool name
+     * @param maxIdleTime max idle time
+     * @param registrar the meter registrar of the pool metrics, may be null
+     * @return {@link ConnectionProvider} elastic pool
+     */
+    public ConnectionProvider buildElasticConnectionPool(final String poolName, final Duration maxIdleTime,
+                                                         final ConnectionProvider.MeterRegistrar registrar) {
         // about the args, please see https://projectreactor.io/docs/netty/release/reference/index.html#_connection_pool_2
-        return ConnectionProvider.builder(poolName)
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(poolName)
                 .maxConnections(Integer.MAX_VALUE)
                 .pendingAcquireTimeout(Duration.ofMillis(0))
                 .pendingAcquireMaxCount(-1)
-                .maxIdleTime(maxIdleTime)
-                .build();
+                .maxIdleTime(maxIdleTime);
+        if (Objects.nonNull(registrar)) {
+            builder.metrics(true, () -> registrar);
+        }
+        return builder.build();
     }
 
     /**
@@ -245,7 +298,9 @@ public class HttpClientPluginConfiguration {
                             .build())
                     .clientConnector(new ReactorClientHttpConnector(Objects.requireNonNull(httpClient.getIfAvailable())))
                     .build();
-            return new WebClientPlugin(webClient);
+            WebClientPlugin webClientPlugin = new WebClientPlugin(webClient);
+            webClientPlugin.setReplayMaxInMemorySize(properties.getReplayMaxInMemorySize() * 1024L);
+            return webClientPlugin;
         }
     }
 
@@ -259,12 +314,58 @@ public class HttpClientPluginConfiguration {
         /**
          * Netty http client plugin.
          *
+         * @param properties the properties
          * @param httpClient the http client
+         * @param provider   the loop resources bean provider
+         * @param registrar  the connection pool meter registrar provider
          * @return the shenyu plugin
          */
         @Bean
-        public ShenyuPlugin nettyHttpClientPlugin(final ObjectProvider<HttpClient> httpClient) {
-            return new NettyHttpClientPlugin(httpClient.getIfAvailable());
+        public ShenyuPlugin nettyHttpClientPlugin(final HttpClientProperties properties,
+                                                  final ObjectProvider<HttpClient> httpClient,
+                                                  final ObjectProvider<LoopResources> provider,
+                                                  final ObjectProvider<ConnectionProvider.MeterRegistrar> registrar) {
+            NettyHttpClientPlugin nettyHttpClientPlugin = new NettyHttpClientPlugin(httpClient.getIfAvailable(), rule -> {
+                HttpClient client = buildHttpClient(properties, buildRuleConnectionPool(properties.getPool(), rule, registrar.getIfAvailable()), provider.getIfAvailable());
+                switch (HttpProtocolEnum.acquireByName(rule.getHttpProtocol())) {
+                    case H2:
+                        // negotiated by ALPN on https, http upstreams keep using HTTP/1.1
+                        return client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+                    case H2C:
+                        return client.protocol(HttpProtocol.H2C);
+                    default:
+                        return client;
+                }
+            }, client -> {
+                NettyHttpClientPlugin.disposeConnectionProvider(client);
+                ConnectionProvider.MeterRegistrar meterRegistrar = registrar.getIfAvailable();
+                if (meterRegistrar instanceof ConnectionPoolMeterRegistrar) {
+                    ((ConnectionPoolMeterRegistrar) meterRegistrar).deRegisterMetrics(client.configuration().connectionProvider().name());
+                }
+            });
+            nettyHttpClientPlugin.setReplayMaxInMemorySize(properties.getReplayMaxInMemorySize() * 1024L);
+            return nettyHttpClientPlugin;
+        }
+
+        private static ConnectionProvider buildRuleConnectionPool(final HttpClientProperties.Pool pool, final DivideRuleHandle rule,
+                                                                  final ConnectionProvider.MeterRegistrar registrar) {
+            // the http2 pools multiplex the streams over max connections to each upstream
+            ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName() + "-" + rule.getMaxConnections()
+                    + "-" + rule.getPendingAcquireMaxCount() + "-" + rule.getMaxIdleTime() + "-" + rule.getHttpProtocol())
+                    .maxConnections(rule.getMaxConnections() > 0 ? rule.getMaxConnections() : pool.getMaxConnections())
+                    .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()));
+            if (rule.getPendingAcquireMaxCount() > 0) {
+                builder.pendingAcquireMaxCount(rule.getPendingAcquireMaxCount());
+            }
+            if (rule.getMaxIdleTime() > 0) {
+                builder.maxIdleTime(Duration.ofMillis(rule.getMaxIdleTime()));
+            } else {
+                builder.maxIdleTime(pool.getMaxIdleTime());
+            }
+            if (Objects.nonNull(registrar)) {
+                builder.metrics(true, () -> registrar);
+            }
+            return builder.build();
         }
     }
 }
@@ -19,8 +19,16 @@ package org.apache.shenyu.springboot.starter.plugin.metrics;
 
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.MatchDataCache;
+import org.apache.shenyu.plugin.base.hedge.HedgePolicy;
+import org.apache.shenyu.plugin.httpclient.metrics.ConnectionPoolMeterRegistrar;
 import org.apache.shenyu.plugin.metrics.MetricsPlugin;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+import org.apache.shenyu.plugin.metrics.reporter.MetricsReporter;
 import org.apache.shenyu.springboot.starter.plugin.metrics.boot.MetricsRunner;
+import org.apache.shenyu.springboot.starter.plugin.metrics.pool.PoolMetricsRegistrar;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -52,4 +60,68 @@ public class MetricsPluginConfiguration {
     public MetricsRunner metricsRunner(final ShenyuConfig shenyuConfig) {
         return new MetricsRunner(shenyuConfig.getMetrics());
     }
+    
+    /**
+     * The type Connection pool metrics configuration.
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"reactor.netty.resources.ConnectionProvider", "org.apache.shenyu.plugin.httpclient.metrics.ConnectionPoolMeterRegistrar"})
+    static class ConnectionPoolMetricsConfiguration {
+        
+        /**
+         * Connection pool meter registrar, reports the pools of the http client.
+         *
+         * @return the meter registrar
+         */
+        @Bean
+        public ConnectionPoolMeterRegistrar connectionPoolMeterRegistrar() {
+            return new PoolMetricsRegistrar();
+        }
+    }
+    
+    /**
+     * The type Hedge metrics configuration.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.apache.shenyu.plugin.base.hedge.HedgePolicy")
+    static class HedgeMetricsConfiguration {
+        
+        /**
+         * Hedge metrics binder, reports the hedged requests of the http client plugins.
+         *
+         * @return the smart initializing singleton
+         */
+        @Bean
+        public SmartInitializingSingleton hedgeMetricsBinder() {
+            return () -> {
+                MetricsReporter.counterBind(LabelNames.HTTP_HEDGE_REQUESTS, new String[0], HedgePolicy::getHedgedCount);
+                MetricsReporter.counterBind(LabelNames.HTTP_HEDGE_WINS, new String[0], HedgePolicy::getHedgeWinCount);
+            };
+        }
+    }
+    
+    /**
+     * The type Match cache metrics configuration.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.apache.shenyu.plugin.base.cache.MatchDataCache")
+    static class MatchCacheMetricsConfiguration {
+        
+        /**
+         * Match cache metrics binder, reports the hits, misses and evictions of the selector and rule match caches.
+         *
+         * @return the smart initializing singleton
+         */
+        @Bean
+        public SmartInitializingSingleton matchCacheMetricsBinder() {
+            return () -> {
+                MatchDataCache cache = MatchDataCache.getInstance();
+                MetricsReporter.counterBind(LabelNames.MATCH_CACHE_HITS, new String[]{"selector"}, cache::getSelectorHitCount);
+                MetricsReporter.counterBind(LabelNames.MATCH_CACHE_MISSES, new String[]{"selector"}, cache::getSelectorMissCount);
+                MetricsReporter.counterBind(LabelNames.MATCH_CACHE_HITS, new String[]{"rule"}, cache::getRuleHitCount);
+                MetricsReporter.counterBind(LabelNames.MATCH_CACHE_MISSES, new String[]{"rule"}, cache::getRuleMissCount);
+                MetricsReporter.counterBind(LabelNames.MATCH_CACHE_EVICTIONS, new String[0], cache::getEvictionCount);
+            };
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.springboot.starter.plugin.metrics.pool;
+
+import org.apache.shenyu.plugin.httpclient.metrics.ConnectionPoolMeterRegistrar;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+import org.apache.shenyu.plugin.metrics.reporter.MetricsReporter;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports the connection pools of the http client as gauges bound by pool and host,
+ * and unbinds them when the pool is disposed.
+ */
+public class PoolMetricsRegistrar implements ConnectionPoolMeterRegistrar {
+    
+    private static final String[] GAUGE_NAMES = {
+        LabelNames.HTTP_CLIENT_POOL_CONNECTIONS,
+        LabelNames.HTTP_CLIENT_POOL_ACTIVE_CONNECTIONS,
+        LabelNames.HTTP_CLIENT_POOL_IDLE_CONNECTIONS,
+        LabelNames.HTTP_CLIENT_POOL_PENDING_CONNECTIONS,
+    };
+    
+    /**
+     * pool name -> the hosts bound.
+     */
+    private final Map<String, Set<String>> hosts = new ConcurrentHashMap<>();
+    
+    @Override
+    public void registerMetrics(final String poolName, final String id, final SocketAddress remoteAddress, final ConnectionPoolMetrics metrics) {
+        String host = String.valueOf(remoteAddress);
+        hosts.computeIfAbsent(poolName, name -> ConcurrentHashMap.newKeySet()).add(host);
+        String[] labelValues = {poolName, host};
+        MetricsReporter.gaugeBind(LabelNames.HTTP_CLIENT_POOL_CONNECTIONS, labelValues, metrics::allocatedSize);
+        MetricsReporter.gaugeBind(LabelNames.HTTP_CLIENT_POOL_ACTIVE_CONNECTIONS, labelValues, metrics::acquiredSize);
+        MetricsReporter.gaugeBind(LabelNames.HTTP_CLIENT_POOL_IDLE_CONNECTIONS, labelValues, metrics::idleSize);
+        MetricsReporter.gaugeBind(LabelNames.HTTP_CLIENT_POOL_PENDING_CONNECTIONS, labelValues, metrics::pendingAcquireSize);
+    }
+    
+    /**
+     * De-register the metrics of the pool of a host, the signature of the callback of later reactor netty versions.
+     *
+     * @param poolName the name of the connection provider
+     * @param id the id of the pool
+     * @param remoteAddress the remote address of the pool
+     */
+    public void deRegisterMetrics(final String poolName, final String id, final SocketAddress remoteAddress) {
+        String host = String.valueOf(remoteAddress);
+        Optional.ofNullable(hosts.get(poolName)).ifPresent(poolHosts -> poolHosts.remove(host));
+        unbind(poolName, host);
+    }
+    
+    @Override
+    public void deRegisterMetrics(final String poolName) {
+        Optional.ofNullable(hosts.remove(poolName)).ifPresent(poolHosts -> poolHosts.forEach(host -> unbind(poolName, host)));
+    }
+    
+    private static void unbind(final String poolName, final String host) {
+        String[] labelValues = {poolName, host};
+        for (String name : GAUGE_NAMES) {
+            MetricsReporter.gaugeUnbind(name, labelValues);
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.shenyu.springboot.starter.plugin.ratelimiter;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.ratelimiter.RateLimiterPlugin;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -33,14 +34,36 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnProperty(value = {"shenyu.plugins.rate-limiter.enabled"}, havingValue = "true", matchIfMissing = true)
 public class RateLimiterPluginConfiguration {
     
+    /**
+     * Local rate limiter, closed with the context.
+     *
+     * @return the local rate limiter
+     */
+    @Bean(destroyMethod = "close")
+    public LocalRateLimiter localRateLimiter() {
+        return new LocalRateLimiter();
+    }
+    
+    /**
+     * Redis rate limiter, closed with the context.
+     *
+     * @return the redis rate limiter
+     */
+    @Bean(destroyMethod = "close")
+    public RedisRateLimiter redisRateLimiter() {
+        return new RedisRateLimiter();
+    }
+    
     /**
      * RateLimiter plugin.
      *
+     * @param redisRateLimiter the redis rate limiter
+     * @param localRateLimiter the local rate limiter
      * @return the shenyu plugin
      */
     @Bean
-    public ShenyuPlugin rateLimiterPlugin() {
-        return new RateLimiterPlugin(new RedisRateLimiter());
+    public ShenyuPlugin rateLimiterPlugin(final RedisRateLimiter redisRateLimiter, final LocalRateLimiter localRateLimiter) {
+        return new RateLimiterPlugin(redisRateLimiter, localRateLimiter);
     }
     
     /**
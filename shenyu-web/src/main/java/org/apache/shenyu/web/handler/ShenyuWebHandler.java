@@ -19,10 +19,13 @@ package org.apache.shenyu.web.handler;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.config.ShenyuConfig;
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.PluginHandlerEvent;
 import org.slf4j.Logger;
@@ -31,7 +34,9 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
+import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
@@ -55,6 +60,11 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
      */
     private volatile List<ShenyuPlugin> plugins;
 
+    /**
+     * the plugin arrays built from {@link #plugins}, replaced together with it.
+     */
+    private volatile ShenyuPluginChains chains;
+
     /**
      * source plugins, these plugins load from ShenyuPlugin, this filed can't change.
      */
@@ -73,6 +83,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
     public ShenyuWebHandler(final List<ShenyuPlugin> plugins, final ShenyuConfig shenyuConfig) {
         this.sourcePlugins = new ArrayList<>(plugins);
         this.plugins = new ArrayList<>(plugins);
+        this.chains = new ShenyuPluginChains(this.plugins);
         ShenyuConfig.Scheduler config = shenyuConfig.getScheduler();
         this.scheduled = config.getEnabled();
         if (scheduled) {
@@ -92,7 +103,8 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
      */
     @Override
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
-        Mono<Void> execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
+        final ShenyuPluginChains current = chains;
+        Mono<Void> execute = Mono.defer(() -> new DefaultShenyuPluginChain(current).execute(exchange));
         if (scheduled) {
             return execute.subscribeOn(scheduler);
         }
@@ -116,7 +128,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
             // copy new list
             List<ShenyuPlugin> newPluginList = new ArrayList<>(plugins);
             newPluginList.addAll(shenyuPlugins);
-            plugins = sortPlugins(newPluginList);
+            updatePlugins(sortPlugins(newPluginList));
         }
     }
     
@@ -140,7 +152,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                 break;
             case SORTED:
                 // copy a new one, or there will be concurrency problems
-                this.plugins = sortPlugins(new ArrayList<>(this.plugins));
+                updatePlugins(sortPlugins(new ArrayList<>(this.plugins)));
                 break;
             default:
                 throw new IllegalStateException("Unexpected value: " + event.getPluginStateEnums());
@@ -175,7 +187,7 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         // copy a new plugin list.
         List<ShenyuPlugin> newPluginList = new ArrayList<>(this.plugins);
         newPluginList.addAll(enabledPlugins);
-        this.plugins = sortPlugins(newPluginList);
+        updatePlugins(sortPlugins(newPluginList));
     }
 
     /**
@@ -186,22 +198,99 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         // copy a new plugin list.
         List<ShenyuPlugin> newPluginList = new ArrayList<>(this.plugins);
         newPluginList.removeIf(plugin -> plugin.named().equals(pluginData.getName()));
+        updatePlugins(newPluginList);
+    }
+
+    /**
+     * replace the plugins and rebuild the plugin arrays of every rpc type.
+     *
+     * @param newPluginList the new plugin list
+     */
+    private synchronized void updatePlugins(final List<ShenyuPlugin> newPluginList) {
+        this.chains = new ShenyuPluginChains(newPluginList);
         this.plugins = newPluginList;
     }
 
-    private static class DefaultShenyuPluginChain implements ShenyuPluginChain {
+    /**
+     * the immutable plugin arrays of one plugin list, one array for each rpc type.
+     */
+    private static final class ShenyuPluginChains {
+
+        private final ShenyuPlugin[] plugins;
+
+        private final ShenyuPlugin[][] rpcTypePlugins;
+
+        /**
+         * offsets[rpcType][i] is the index in rpcTypePlugins[rpcType] of the first plugin
+         * whose index in plugins is not less than i.
+         */
+        private final int[][] offsets;
+
+        ShenyuPluginChains(final List<ShenyuPlugin> pluginList) {
+            this.plugins = pluginList.toArray(new ShenyuPlugin[0]);
+            RpcTypeEnum[] rpcTypes = RpcTypeEnum.values();
+            this.rpcTypePlugins = new ShenyuPlugin[rpcTypes.length][];
+            this.offsets = new int[rpcTypes.length][];
+            for (RpcTypeEnum rpcType : rpcTypes) {
+                List<ShenyuPlugin> typePlugins = new ArrayList<>(plugins.length);
+                int[] offset = new int[plugins.length + 1];
+                for (int i = 0; i < plugins.length; i++) {
+                    offset[i] = typePlugins.size();
+                    if (!plugins[i].skipRpcType(rpcType)) {
+                        typePlugins.add(plugins[i]);
+                    }
+                }
+                offset[plugins.length] = typePlugins.size();
+                rpcTypePlugins[rpcType.ordinal()] = typePlugins.toArray(new ShenyuPlugin[0]);
+                offsets[rpcType.ordinal()] = offset;
+            }
+        }
+    }
+
+    /**
+     * the plugin chain of one request.
+     * it walks the plugins of all rpc types until the {@link ShenyuContext} tells the rpc type,
+     * and then only the plugins of that rpc type.
+     *
+     * <p>the assembly contract: while a plugin is assembling its {@code Mono} in
+     * {@link ShenyuPlugin#execute(ServerWebExchange, ShenyuPluginChain)}, {@link #execute(ServerWebExchange)}
+     * does not run the next plugin, it returns the chain itself as a deferred {@code Mono},
+     * so a hop does not allocate when the plugin calls the chain only once.
+     * the next plugin runs when that {@code Mono} is subscribed, so:
+     * <ul>
+     *     <li>the returned {@code Mono} is subscribed at most once, the chain keeps the position of one walk,
+     *     a second subscription would go on from the plugins after the first one;</li>
+     *     <li>calling the chain again with the same exchange returns the same {@code Mono},
+     *     with another exchange a {@code Mono} deferring its own walk;</li>
+     *     <li>the returned {@code Mono} belongs to the request and is never cached by a plugin.</li>
+     * </ul>
+     * the chain is not thread safe, a request walks it on one thread at a time as the reactor signals are serialized.
+     *
+     * <p>the plugins dropped from the chain of an rpc type by {@link ShenyuPlugin#skipRpcType(RpcTypeEnum)}
+     * are never asked {@link ShenyuPlugin#skip(ServerWebExchange)}, which derives from it by default.
+     */
+    private static final class DefaultShenyuPluginChain extends Mono<Void> implements ShenyuPluginChain {
+
+        private final ShenyuPluginChains chains;
+
+        private ShenyuPlugin[] plugins;
 
         private int index;
 
-        private final List<ShenyuPlugin> plugins;
+        private boolean resolved;
+
+        private boolean assembling;
+
+        private ServerWebExchange pending;
 
         /**
          * Instantiates a new Default shenyu plugin chain.
          *
-         * @param plugins the plugins
+         * @param chains the plugin chains
          */
-        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins) {
-            this.plugins = plugins;
+        DefaultShenyuPluginChain(final ShenyuPluginChains chains) {
+            this.chains = chains;
+            this.plugins = chains.plugins;
         }
 
         /**
@@ -212,17 +301,60 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
          */
         @Override
         public Mono<Void> execute(final ServerWebExchange exchange) {
-            return Mono.defer(() -> {
-                if (this.index < plugins.size()) {
-                    ShenyuPlugin plugin = plugins.get(this.index++);
-                    boolean skip = plugin.skip(exchange);
-                    if (skip) {
-                        return this.execute(exchange);
-                    }
+            if (!assembling) {
+                return proceed(exchange);
+            }
+            if (Objects.isNull(pending)) {
+                pending = exchange;
+                return this;
+            }
+            return pending == exchange ? this : Mono.defer(() -> proceed(exchange));
+        }
+
+        @Override
+        public void subscribe(@NonNull final CoreSubscriber<? super Void> actual) {
+            Mono<Void> next;
+            try {
+                next = proceed(pending);
+            } catch (Throwable e) {
+                Operators.error(actual, Operators.onOperatorError(e, actual.currentContext()));
+                return;
+            }
+            next.subscribe(actual);
+        }
+
+        private Mono<Void> proceed(final ServerWebExchange exchange) {
+            while (this.index < plugins.length) {
+                if (!resolved) {
+                    resolve(exchange);
+                }
+                ShenyuPlugin plugin = plugins[this.index++];
+                if (plugin.skip(exchange)) {
+                    continue;
+                }
+                final boolean outerAssembling = assembling;
+                pending = null;
+                assembling = true;
+                try {
                     return plugin.execute(exchange, this);
+                } finally {
+                    assembling = outerAssembling;
                 }
-                return Mono.empty();
-            });
+            }
+            return Mono.empty();
+        }
+
+        private void resolve(final ServerWebExchange exchange) {
+            ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+            if (Objects.isNull(shenyuContext) || Objects.isNull(shenyuContext.getRpcType())) {
+                return;
+            }
+            resolved = true;
+            RpcTypeEnum rpcType = RpcTypeEnum.findByName(shenyuContext.getRpcType());
+            if (Objects.nonNull(rpcType)) {
+                this.index = chains.offsets[rpcType.ordinal()][this.index];
+                this.plugins = chains.rpcTypePlugins[rpcType.ordinal()];
+            }
         }
     }
 }
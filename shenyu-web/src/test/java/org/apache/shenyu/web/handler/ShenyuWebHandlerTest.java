@@ -21,6 +21,7 @@ import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -36,11 +37,14 @@ import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -131,6 +135,105 @@ public final class ShenyuWebHandlerTest {
         assertEquals(pluginDataSorted.get(0), plugin2);
     }
 
+    @Test
+    public void testRpcTypeChain() {
+        final List<String> executed = new ArrayList<>();
+        final ShenyuPlugin contextPlugin = new RecordPlugin("context", executed, null);
+        final ShenyuPlugin httpPlugin = new RecordPlugin("http", executed, RpcTypeEnum.HTTP);
+        final ShenyuPlugin dubboPlugin = new RecordPlugin("dubbo", executed, RpcTypeEnum.DUBBO);
+        final ShenyuPlugin lastPlugin = new RecordPlugin("last", executed, null);
+        final ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(contextPlugin, httpPlugin, dubboPlugin, lastPlugin), new ShenyuConfig());
+
+        StepVerifier.create(handler.handle(exchange(RpcTypeEnum.DUBBO))).expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList("context", "dubbo", "last"), executed);
+
+        executed.clear();
+        StepVerifier.create(handler.handle(exchange(RpcTypeEnum.HTTP))).expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList("context", "http", "last"), executed);
+
+        executed.clear();
+        StepVerifier.create(handler.handle(exchange(null))).expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList("context", "last"), executed);
+
+        handler.onApplicationEvent(new PluginHandlerEvent(PluginHandlerEventEnum.DISABLED, PluginData.builder().name("dubbo").build()));
+        executed.clear();
+        StepVerifier.create(handler.handle(exchange(RpcTypeEnum.DUBBO))).expectSubscription().verifyComplete();
+        assertEquals(Arrays.asList("context", "last"), executed);
+    }
+
+    @Test
+    public void testChainErrorAndDeferredExecute() {
+        final List<String> executed = new ArrayList<>();
+        final ShenyuPlugin thenPlugin = new TestPlugin1() {
+            @Override
+            public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+                return Mono.fromRunnable(() -> executed.add("then")).then(chain.execute(exchange));
+            }
+        };
+        final ShenyuPlugin errorPlugin = new TestPlugin2() {
+            @Override
+            public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+                executed.add("error");
+                throw new IllegalStateException("error");
+            }
+        };
+        final ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(thenPlugin, errorPlugin), new ShenyuConfig());
+        StepVerifier.create(handler.handle(exchange(RpcTypeEnum.HTTP))).expectError(IllegalStateException.class).verify();
+        assertEquals(Arrays.asList("then", "error"), executed);
+    }
+
+    private static ServerWebExchange exchange(final RpcTypeEnum rpcType) {
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
+        final ShenyuContext context = new ShenyuContext();
+        context.setRpcType(Objects.isNull(rpcType) ? null : rpcType.getName());
+        exchange.getAttributes().put("rpcType", context);
+        return exchange;
+    }
+
+    static class RecordPlugin implements ShenyuPlugin {
+
+        private final String name;
+
+        private final List<String> executed;
+
+        private final RpcTypeEnum rpcType;
+
+        RecordPlugin(final String name, final List<String> executed, final RpcTypeEnum rpcType) {
+            this.name = name;
+            this.executed = executed;
+            this.rpcType = rpcType;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            executed.add(name);
+            if (Objects.isNull(rpcType)) {
+                exchange.getAttributes().putIfAbsent(Constants.CONTEXT, exchange.getAttribute("rpcType"));
+            }
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return name;
+        }
+
+        @Override
+        public boolean skipRpcType(final RpcTypeEnum rpcType) {
+            return Objects.nonNull(this.rpcType) && this.rpcType != rpcType;
+        }
+
+        @Override
+        public boolean skip(final ServerWebExchange exchange) {
+            return Objects.nonNull(rpcType) && skipExcept(exchange, rpcType);
+        }
+    }
+
     static class TestPlugin1 implements ShenyuPlugin {
 
         @Override